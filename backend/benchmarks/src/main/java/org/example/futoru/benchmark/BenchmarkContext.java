@@ -0,0 +1,59 @@
+package org.example.futoru.benchmark;
+
+import org.example.futoru.FutoruApplication;
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.service.UserService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * ベンチマーク用にアプリケーションを起動・停止するヘルパークラス。
+ * <p>
+ * Webサーバーは起動せず、組み込みのH2データベースに接続したSpringコンテキストだけを作成する。
+ * 各ベンチマークの {@code @Setup} で起動し、{@code @TearDown} で停止する。
+ * </p>
+ */
+final class BenchmarkContext implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkContext(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * アプリケーションを起動する。
+     *
+     * @return 起動したコンテキスト
+     */
+    static BenchmarkContext start() {
+        return new BenchmarkContext(SpringApplication.run(FutoruApplication.class));
+    }
+
+    /**
+     * 指定された型のBeanを取得する。
+     */
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * プロフィール設定済みのユーザーを新規登録する。
+     *
+     * @return 登録したユーザー名
+     */
+    String createUser() {
+        String username = "bench-" + UUID.randomUUID().toString().substring(0, 8);
+        UserService userService = getBean(UserService.class);
+        userService.registerUser(username, "password123");
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+        return username;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
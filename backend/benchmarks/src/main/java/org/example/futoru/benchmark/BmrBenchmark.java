@@ -0,0 +1,85 @@
+package org.example.futoru.benchmark;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.BmrRequest;
+import org.example.futoru.dto.BmrResponse;
+import org.example.futoru.dto.Gender;
+import org.example.futoru.entity.User;
+import org.example.futoru.service.AdaptiveTdeeModel;
+import org.example.futoru.service.BmrService;
+import org.example.futoru.service.EnergyExpenditureService;
+import org.example.futoru.service.HarrisBenedictModel;
+import org.example.futoru.service.KatchMcArdleModel;
+import org.example.futoru.service.MifflinStJeorModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基礎代謝・目標カロリー計算（{@link BmrService}、{@link EnergyExpenditureService}）のベンチマーク。
+ * <p>
+ * データベースを使用しない純粋な計算処理のため、Springコンテキストは起動しない。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BmrBenchmark {
+
+    private final BmrService bmrService = new BmrService();
+
+    // 適応型のユーザーは計測しないため、回帰状態を読み込むサービスは渡さない
+    private final EnergyExpenditureService energyExpenditureService = new EnergyExpenditureService(
+            List.of(new MifflinStJeorModel(), new HarrisBenedictModel(), new KatchMcArdleModel(), new AdaptiveTdeeModel()),
+            null);
+
+    private BmrRequest request;
+
+    private User user;
+
+    // プリミティブ版の入力（定数畳み込みを避けるためフィールドで保持する）
+    private double weight = 60.0;
+    private double height = 170.0;
+    private int age = 25;
+    private String gender = "MALE";
+    private String activityLevel = "MID";
+
+    @Setup
+    public void setUp() {
+        request = new BmrRequest();
+        request.setHeight(170.0);
+        request.setWeight(60.0);
+        request.setAge(25);
+        request.setGender(Gender.MALE);
+        request.setActivityLevel(ActivityLevel.MID);
+
+        user = new User();
+        user.setHeight(170.0);
+        user.setAge(25);
+        user.setGender("MALE");
+        user.setActivityLevel("MID");
+    }
+
+    /** 身体データから BMR・TDEE・目標カロリーを算出する */
+    @Benchmark
+    public BmrResponse calculate() {
+        return bmrService.calculate(request);
+    }
+
+    /** ユーザーエンティティから目標カロリーを算出する（文字列の性別・活動レベル・推定モデルの変換を含む） */
+    @Benchmark
+    public int calculateTargetCalories() {
+        return energyExpenditureService.calculateTargetCalories(user, 60.0);
+    }
+
+    /** プリミティブ値のみで目標カロリーを算出する（一括再計算で使用する割り当てのない計算カーネル） */
+    @Benchmark
+    public int calculateTargetCaloriesPrimitive() {
+        return BmrService.calculateTargetCalories(weight, height, age,
+                BmrService.isMale(gender), BmrService.activityMultiplier(activityLevel));
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.futoru.benchmark;
+
+import org.example.futoru.dto.DashboardViewDto;
+import org.example.futoru.dto.FoodUpdateResponse;
+import org.example.futoru.service.DashboardService;
+import org.example.futoru.service.FoodService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ダッシュボード表示（{@code WebController.index}）と、食事記録後の画面更新データ
+ * （{@code FoodApiController} の各操作の応答）の組み立てを計測するベンチマーク。
+ * <p>
+ * 当日の食事記録の件数を {@link #mealCount} で変え、件数に比例して処理時間が増えないかを確認する。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardBenchmark {
+
+    /** 当日の食事記録の件数 */
+    @Param({"5", "50"})
+    public int mealCount;
+
+    private BenchmarkContext context;
+
+    private DashboardService dashboardService;
+
+    private String username;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        dashboardService = context.getBean(DashboardService.class);
+        username = context.createUser();
+
+        FoodService foodService = context.getBean(FoodService.class);
+        for (int i = 0; i < mealCount; i++) {
+            foodService.recordManualMeal(username, "食事" + i, 300 + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** ダッシュボード画面の表示データ（目標・進捗・当日の履歴） */
+    @Benchmark
+    public DashboardViewDto buildDashboard() {
+        return dashboardService.buildDashboard(username);
+    }
+
+    /** 食事の追加・削除後に返却する画面更新データ */
+    @Benchmark
+    public FoodUpdateResponse buildFoodUpdateResponse() {
+        return dashboardService.buildFoodUpdateResponse(username);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.futoru.benchmark;
+
+import org.example.futoru.dto.FoodItemDto;
+import org.example.futoru.service.FoodCatalogImportService;
+import org.example.futoru.service.FoodCatalogService;
+import org.example.futoru.service.FoodSearchService;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 食品検索（{@link FoodSearchService}）と、食品リストのJSONシリアライズのベンチマーク。
+ * <p>
+ * システム標準食品を {@link #systemFoodCount} 件取り込んだ状態で、
+ * 検索APIの処理と、システム標準食品のスナップショット全体をJSONへ変換する処理を計測する。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FoodCatalogBenchmark {
+
+    /** システム標準食品の件数 */
+    @Param({"1000", "10000"})
+    public int systemFoodCount;
+
+    private BenchmarkContext context;
+
+    private FoodSearchService foodSearchService;
+
+    private FoodCatalogService foodCatalogService;
+
+    private ObjectMapper objectMapper;
+
+    private String username;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        foodSearchService = context.getBean(FoodSearchService.class);
+        foodCatalogService = context.getBean(FoodCatalogService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        username = context.createUser();
+
+        StringBuilder csv = new StringBuilder("name,calories,unit,type\n");
+        for (int i = 0; i < systemFoodCount; i++) {
+            csv.append(i % 10 == 0 ? "鶏むね肉" : "食品").append(i).append(',').append(100 + i % 400).append(",100g,INGREDIENT\n");
+        }
+        context.getBean(FoodCatalogImportService.class)
+                .importCsv(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** 部分一致の検索（メニュー選択モーダルの入力中の検索） */
+    @Benchmark
+    public List<FoodItemDto> searchByName() {
+        return foodSearchService.search(username, "鶏むね", 30);
+    }
+
+    /** 検索語なしの先頭候補の取得（モーダルを開いた直後） */
+    @Benchmark
+    public List<FoodItemDto> searchEmpty() {
+        return foodSearchService.search(username, "", 30);
+    }
+
+    /** システム標準食品のスナップショット全体をJSONへ変換する */
+    @Benchmark
+    public byte[] serializeCatalog() {
+        return objectMapper.writeValueAsBytes(foodCatalogService.getSystemFoods());
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.futoru.benchmark;
+
+import org.example.futoru.dto.FoodItemDto;
+import org.example.futoru.entity.User;
+import org.example.futoru.form.RecipeForm;
+import org.example.futoru.service.FoodCatalogService;
+import org.example.futoru.service.RecipeGraphResolver;
+import org.example.futoru.service.RecipeService;
+import org.example.futoru.service.UserService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 入れ子のレシピ（食材 → 料理 → セット）の合計カロリー解決（{@link RecipeGraphResolver}）のベンチマーク。
+ * <p>
+ * {@link #setCount} 個のセットそれぞれが {@value #DISHES_PER_SET} 品の料理を含み、
+ * 各料理が {@value #INGREDIENTS_PER_DISH} 種類の食材を含む構成を作成し、全セットの合計を一度に解決する。
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecipeResolutionBenchmark {
+
+    private static final int INGREDIENT_COUNT = 50;
+    private static final int DISHES_PER_SET = 4;
+    private static final int INGREDIENTS_PER_DISH = 8;
+
+    /** 一度に解決するセットの数 */
+    @Param({"1", "20"})
+    public int setCount;
+
+    private BenchmarkContext context;
+
+    private RecipeGraphResolver recipeGraphResolver;
+
+    private List<Long> setIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        recipeGraphResolver = context.getBean(RecipeGraphResolver.class);
+        RecipeService recipeService = context.getBean(RecipeService.class);
+        String username = context.createUser();
+
+        // 食材（手入力の材料だけで作った料理を食材の代わりに使う）
+        List<RecipeForm> ingredients = new ArrayList<>();
+        for (int i = 0; i < INGREDIENT_COUNT; i++) {
+            ingredients.add(recipe("食材" + i, "DISH", List.of(manual("素材" + i, 50 + i))));
+        }
+        recipeService.createRecipes(username, ingredients);
+        Map<String, Long> ids = ownFoodIds(username);
+
+        List<RecipeForm> dishes = new ArrayList<>();
+        for (int s = 0; s < setCount; s++) {
+            for (int d = 0; d < DISHES_PER_SET; d++) {
+                List<RecipeForm.IngredientDto> parts = new ArrayList<>();
+                for (int i = 0; i < INGREDIENTS_PER_DISH; i++) {
+                    parts.add(master(ids.get("食材" + ((s + d * INGREDIENTS_PER_DISH + i) % INGREDIENT_COUNT)), 1.5));
+                }
+                dishes.add(recipe("料理" + s + "-" + d, "DISH", parts));
+            }
+        }
+        recipeService.createRecipes(username, dishes);
+        ids = ownFoodIds(username);
+
+        List<RecipeForm> sets = new ArrayList<>();
+        for (int s = 0; s < setCount; s++) {
+            List<RecipeForm.IngredientDto> parts = new ArrayList<>();
+            for (int d = 0; d < DISHES_PER_SET; d++) {
+                parts.add(master(ids.get("料理" + s + "-" + d), 1.0));
+            }
+            sets.add(recipe("セット" + s, "MEAL_SET", parts));
+        }
+        recipeService.createRecipes(username, sets);
+        ids = ownFoodIds(username);
+
+        setIds = new ArrayList<>(setCount);
+        for (int s = 0; s < setCount; s++) {
+            setIds.add(ids.get("セット" + s));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /** 全セットの合計カロリーを、配下の料理・食材まで辿って解決する */
+    @Benchmark
+    public Map<Long, Integer> resolveCalories() {
+        return recipeGraphResolver.resolveCalories(setIds);
+    }
+
+    private Map<String, Long> ownFoodIds(String username) {
+        User user = context.getBean(UserService.class).getUserByUsername(username);
+        Map<String, Long> ids = new HashMap<>();
+        for (FoodItemDto food : context.getBean(FoodCatalogService.class).getUserFoods(user.getId())) {
+            ids.put(food.getName(), food.getId());
+        }
+        return ids;
+    }
+
+    private static RecipeForm recipe(String name, String type, List<RecipeForm.IngredientDto> ingredients) {
+        RecipeForm form = new RecipeForm();
+        form.setName(name);
+        form.setType(type);
+        form.setIngredients(ingredients);
+        return form;
+    }
+
+    private static RecipeForm.IngredientDto manual(String name, int calories) {
+        RecipeForm.IngredientDto dto = new RecipeForm.IngredientDto();
+        dto.setManualName(name);
+        dto.setManualCalories(calories);
+        dto.setAmount(1.0);
+        return dto;
+    }
+
+    private static RecipeForm.IngredientDto master(Long foodItemId, double amount) {
+        RecipeForm.IngredientDto dto = new RecipeForm.IngredientDto();
+        dto.setFoodItemId(foodItemId);
+        dto.setAmount(amount);
+        return dto;
+    }
+}
@@ -1,13 +1,78 @@
 package org.example.futoru;
 
+import lombok.extern.slf4j.Slf4j;
+import org.example.futoru.service.FoodCatalogImportService;
+import org.example.futoru.service.TargetCalorieRecalculationService;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.ConfigurableApplicationContext;
 
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+@Slf4j
 @SpringBootApplication
 public class FutoruApplication {
 
+    /** 食品マスタ一括取込モードの起動オプション（例: {@code --import-foods=/data/foods.csv}） */
+    private static final String IMPORT_FOODS_OPTION = "--import-foods=";
+
+    /** 全ユーザーの目標摂取カロリー一括再計算モードの起動オプション */
+    private static final String RECALCULATE_TARGETS_OPTION = "--recalculate-targets";
+
     public static void main(String[] args) {
+        Optional<String> importFile = Arrays.stream(args)
+                .filter(arg -> arg.startsWith(IMPORT_FOODS_OPTION))
+                .map(arg -> arg.substring(IMPORT_FOODS_OPTION.length()))
+                .findFirst();
+
+        if (importFile.isPresent()) {
+            System.exit(importFoods(Path.of(importFile.get()), args));
+        }
+        if (Arrays.asList(args).contains(RECALCULATE_TARGETS_OPTION)) {
+            System.exit(recalculateTargets(args));
+        }
         SpringApplication.run(FutoruApplication.class, args);
     }
 
+    /**
+     * Webサーバーを起動せずにアプリケーションを立ち上げ、食品マスタの一括取込だけを行って終了する。
+     *
+     * @param file 取込ファイルのパス
+     * @param args 起動引数（DB接続先などの設定の上書きに使用）
+     * @return 終了コード（成功時は 0）
+     */
+    private static int importFoods(Path file, String[] args) {
+        SpringApplication application = new SpringApplication(FutoruApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            context.getBean(FoodCatalogImportService.class).importFile(file);
+            return 0;
+        } catch (RuntimeException e) {
+            log.error("Food import failed: file={}", file, e);
+            return 1;
+        }
+    }
+
+    /**
+     * Webサーバーを起動せずにアプリケーションを立ち上げ、全ユーザーの目標摂取カロリーを再計算して終了する。
+     *
+     * @param args 起動引数（DB接続先などの設定の上書きに使用）
+     * @return 終了コード（成功時は 0）
+     */
+    private static int recalculateTargets(String[] args) {
+        SpringApplication application = new SpringApplication(FutoruApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            context.getBean(TargetCalorieRecalculationService.class).recalculateAll();
+            return 0;
+        } catch (RuntimeException e) {
+            log.error("Target calorie recalculation failed", e);
+            return 1;
+        }
+    }
 }
@@ -0,0 +1,27 @@
+package org.example.futoru.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * 現在日時の取得に使用する {@link Clock} の設定クラス。
+ * <p>
+ * ダッシュボードの表示日と、条件付きリクエストの {@code ETag} に含める日付を同じ時計から求める。
+ * テストでは日付の切り替わりを再現するため、この Bean を差し替える。
+ * </p>
+ */
+@Configuration
+public class ClockConfig {
+
+    /**
+     * システムのタイムゾーンの時計を登録する。
+     *
+     * @return システムの時計
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
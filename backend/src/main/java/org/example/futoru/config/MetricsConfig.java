@@ -0,0 +1,116 @@
+package org.example.futoru.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+/**
+ * メトリクス（Micrometer）の計測設定クラス。
+ * <p>
+ * 以下はSpring Bootの自動設定で計測され、{@code /actuator/prometheus} から取得できる：
+ * <ul>
+ * <li>{@code http.server.requests}: コントローラーの各エンドポイントの処理時間・件数</li>
+ * <li>{@code futoru.service}: {@code @Timed} を付与したサービスの各メソッドの処理時間・件数</li>
+ * <li>{@code spring.data.repository.invocations}: リポジトリの各クエリの処理時間・件数</li>
+ * <li>{@code hikaricp.*}: コネクションプールの使用状況</li>
+ * <li>{@code hibernate.*}: Hibernateの統計情報（発行SQL数、エンティティのロード数など。{@code HIBERNATE_STATISTICS=true} の場合のみ）</li>
+ * </ul>
+ * 本クラスでは、自動設定にない「リポジトリのクエリが返した件数」の計測を追加する。
+ * </p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    /** リポジトリのクエリが返した件数のメトリクス名 */
+    static final String REPOSITORY_ROWS = "futoru.repository.rows";
+
+    /**
+     * 全リポジトリのプロキシに、戻り値の件数を記録するインターセプターを追加する。
+     * <p>
+     * リポジトリの生成時に適用する必要があるため、{@link BeanPostProcessor} として登録する
+     * （MeterRegistry は最初の呼び出し時に取得し、Bean の早期初期化を避ける）。
+     * </p>
+     *
+     * @param meterRegistry メトリクスの登録先
+     * @return リポジトリのファクトリーを拡張する BeanPostProcessor
+     */
+    @Bean
+    static BeanPostProcessor repositoryRowsMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new RepositoryRowsInterceptor(
+                                    meterRegistry, information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * リポジトリのメソッドの戻り値から件数を求め、メソッドごとの分布として記録するインターセプター。
+     * <p>
+     * 件数・真偽値・更新件数を返すメソッドや、{@code Stream} を返すメソッド（件数は読み進めるまで不明）は記録しない。
+     * </p>
+     */
+    private record RepositoryRowsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String repository)
+            implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            Class<?> returnType = invocation.getMethod().getReturnType();
+            long rows = countRows(result, returnType);
+            if (rows >= 0) {
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                if (registry != null) {
+                    DistributionSummary.builder(REPOSITORY_ROWS)
+                            .description("Number of rows returned by a repository query")
+                            .baseUnit("rows")
+                            .tag("repository", repository)
+                            .tag("method", invocation.getMethod().getName())
+                            .publishPercentileHistogram()
+                            .register(registry)
+                            .record(rows);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * 戻り値の件数を求める（記録対象外の場合は -1）。
+         */
+        private static long countRows(Object result, Class<?> returnType) {
+            if (returnType == void.class || returnType.isPrimitive()
+                    || Number.class.isAssignableFrom(returnType) || Boolean.class == returnType) {
+                return -1;
+            }
+            if (result == null) {
+                return 0;
+            }
+            return switch (result) {
+                case Collection<?> collection -> collection.size();
+                case Map<?, ?> map -> map.size();
+                case Slice<?> slice -> slice.getNumberOfElements();
+                case Optional<?> optional -> optional.isPresent() ? 1 : 0;
+                case Iterable<?> ignored -> -1;
+                case BaseStream<?, ?> ignored -> -1;
+                default -> 1;
+            };
+        }
+    }
+}
@@ -31,6 +31,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // ログイン、登録、静的リソースは認証なしでアクセス許可
                         .requestMatchers("/login", "/register", "/css/**", "/js/**").permitAll()
+                        // 死活監視・メトリクス収集用（管理用ポートでのみ公開される）
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         // その他のリクエストは全て認証が必要
                         .anyRequest().authenticated()
                 )
@@ -3,6 +3,7 @@ package org.example.futoru.controller;
 import org.example.futoru.entity.User;
 import org.example.futoru.service.UserService;
 import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.EnergyModel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -86,13 +87,14 @@ public class ProfileController {
         User user = userService.getUserByUsername(username);
 
         model.addAttribute("user", user);
+        model.addAttribute("energyModels", EnergyModel.values());
         return "profile";
     }
 
     /**
      * プロフィールの更新処理を行う。
      * <p>
-     * 身長、年齢、活動レベルなどの基本情報を更新する。
+     * 身長、年齢、活動レベルなどの基本情報と、TDEEの推定モデル・体脂肪率を更新する。
      * 体重に関しては日々のログ機能（WeightLog）で管理するため、ここでの更新対象からは除外している。
      * </p>
      *
@@ -100,6 +102,8 @@ public class ProfileController {
      * @param age                年齢
      * @param gender             性別
      * @param activityLevel      活動レベル
+     * @param energyModel        TDEEの推定モデル（未指定の場合は標準の式）
+     * @param bodyFatPercentage  体脂肪率（任意）
      * @param principal          認証情報
      * @param redirectAttributes 完了メッセージをリダイレクト先に渡すためのオブジェクト
      * @return プロフィール画面へのリダイレクトパス
@@ -110,10 +114,13 @@ public class ProfileController {
             @RequestParam Integer age,
             @RequestParam String gender,
             @RequestParam ActivityLevel activityLevel,
+            @RequestParam(defaultValue = "MIFFLIN_ST_JEOR") EnergyModel energyModel,
+            @RequestParam(required = false) Double bodyFatPercentage,
             Principal principal,
             RedirectAttributes redirectAttributes
     ) {
-        userService.updateProfile(principal.getName(), height, age, gender, activityLevel);
+        userService.updateProfile(principal.getName(), height, age, gender, activityLevel,
+                energyModel, bodyFatPercentage);
 
         // フラッシュメッセージを設定
         redirectAttributes.addFlashAttribute("successMessage", "プロフィールを更新しました！");
@@ -2,7 +2,6 @@ package org.example.futoru.controller;
 
 import lombok.RequiredArgsConstructor;
 import org.example.futoru.form.RecipeForm;
-import org.example.futoru.service.FoodService;
 import org.example.futoru.service.RecipeService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,6 +9,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -23,25 +23,20 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class RecipeController {
 
-    private final FoodService foodService;
     private final RecipeService recipeService;
 
     /**
      * レシピ作成画面を表示する。
      * <p>
-     * 画面左側のリスト（ドラッグ＆ドロップ用）に表示するため、
-     * 利用可能な全食材データを取得してModelに格納する。
+     * 画面左側の食材リストは、画面側から検索API（/api/food/search）で取得するため、
+     * ここでは食材データをModelに格納しない。
      * </p>
      *
-     * @param model       画面にデータを渡すためのModel
-     * @param userDetails ログイン中のユーザー情報
+     * @param model 画面にデータを渡すためのModel
      * @return テンプレートパス ("recipe/create")
      */
     @GetMapping("/create")
-    public String showCreatePage(Model model, @AuthenticationPrincipal UserDetails userDetails) {
-        // 左側のリストに表示するために、全食材を取得して渡す
-        model.addAttribute("foodList", foodService.getAvailableFoods(userDetails.getUsername()));
-
+    public String showCreatePage(Model model) {
         // アクティブなタブ指定（ナビゲーションバーの強調表示用）
         model.addAttribute("activePage", "recipe");
 
@@ -71,4 +66,26 @@ public class RecipeController {
         // クライアント側（JS）に成功したことを伝える
         return Map.of("status", "success");
     }
-}
\ No newline at end of file
+
+    /**
+     * 複数のレシピを一括で作成する（AJAX・外部データ取込用）。
+     * <p>
+     * JSON配列で受け取った {@link RecipeForm} のリストを1つのトランザクションで保存する。
+     * いずれかのレシピで材料が見つからない場合は、全件が作成されず 400 Bad Request となる。
+     * </p>
+     *
+     * @param forms       作成するレシピのリスト（JSONから変換）
+     * @param userDetails ログイン中のユーザー情報
+     * @return クライアントへのレスポンス（成功ステータスと作成件数を含むMap）
+     */
+    @PostMapping("/import")
+    @ResponseBody
+    public Map<String, Object> importRecipes(
+            @RequestBody List<RecipeForm> forms,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        int created = recipeService.createRecipes(userDetails.getUsername(), forms);
+
+        return Map.of("status", "success", "created", created);
+    }
+}
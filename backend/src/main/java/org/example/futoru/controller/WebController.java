@@ -1,11 +1,12 @@
 package org.example.futoru.controller;
 
 import lombok.RequiredArgsConstructor;
-import org.example.futoru.dto.DashboardDto;
-import org.example.futoru.entity.MealLog;
-import org.example.futoru.service.FoodService;
-import org.example.futoru.service.UserService;
+import org.example.futoru.dto.DashboardViewDto;
+import org.example.futoru.service.DashboardService;
+import org.example.futoru.service.UserDataVersionService;
 import org.example.futoru.service.WeightLogService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
@@ -13,9 +14,10 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.util.List;
 
 /**
  * アプリケーションのメイン画面（ダッシュボード）や共通の画面遷移を制御するコントローラークラス。
@@ -28,62 +30,58 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WebController {
 
-    private final FoodService foodService;
-    private final UserService userService;
+    private final DashboardService dashboardService;
     private final WeightLogService weightLogService;
+    private final UserDataVersionService userDataVersionService;
+    private final Clock clock;
 
     /**
      * ダッシュボード画面（トップページ）を表示する。
      * <p>
-     * 画面表示に必要な全てのデータ（食事履歴、カロリー進捗、体重グラフなど）を一括して取得する。
+     * 画面表示に必要なデータ（食事履歴、カロリー進捗など）を
+     * {@link DashboardService} から一括して取得する。
      * また、ユーザーがプロフィール（身長・体重など）を未設定の場合は、初期設定画面へ強制リダイレクトする制御もここで行う。
      * </p>
+     * <p>
+     * 応答には {@link UserDataVersionService} の版数から生成した {@code ETag} / {@code Last-Modified} を付け、
+     * 前回の表示から食事・体重・プロフィールが変わっていなければ、データベースにアクセスせずに
+     * {@code 304 Not Modified} を返す。表示内容は当日の記録とセッション（画面に埋め込むCSRFトークン）にも依存するため、
+     * 日付が変わった場合や再ログインした場合も再描画する。
+     * </p>
      *
      * @param model       画面表示用データモデル
      * @param userDetails Spring Securityによって注入される認証済みユーザー情報
-     * @return テンプレート名 ("index") または リダイレクトパス
+     * @param webRequest  条件付きリクエストの判定に使用するリクエスト
+     * @return テンプレート名 ("index")、リダイレクトパス、または変更がない場合は null
      */
     @GetMapping("/")
-    public String index(Model model, @AuthenticationPrincipal UserDetails userDetails) {
+    public String index(Model model, @AuthenticationPrincipal UserDetails userDetails, ServletWebRequest webRequest) {
         String username = userDetails.getUsername();
-
-        if (!userService.isProfileCompleted(username)) {
-            return "redirect:/profile/init";
+        LocalDate today = LocalDate.now(clock);
+        UserDataVersionService.DataVersion version = userDataVersionService.current(username);
+        String session = webRequest.getSessionId();
+
+        long lastModified = Math.max(version.lastModified(), Math.max(
+                today.atStartOfDay(clock.getZone()).toInstant().toEpochMilli(),
+                webRequest.getRequest().getSession().getCreationTime()));
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.noCache().cachePrivate().getHeaderValue());
+        if (webRequest.checkNotModified(version.eTag(today, Integer.toHexString(session.hashCode())), lastModified)) {
+            return null;
         }
 
-        var user = userService.getUserByUsername(username);
-
-        model.addAttribute("activePage", "home");
-
-        List<MealLog> todayLogs = foodService.getTodayMealLogs(username);
-
-        int currentCalories = todayLogs.stream()
-                .mapToInt(MealLog::getCalories)
-                .sum();
-
-        int targetCalories = user.getTargetCalories();
+        DashboardViewDto view = dashboardService.buildDashboard(username);
 
-        DashboardDto dashboard = new DashboardDto(
-                targetCalories,
-                currentCalories,
-                targetCalories - currentCalories
-        );
-        model.addAttribute("dashboard", dashboard);
-
-        // プログレスバーの進捗率計算（最大100%に制限）
-        int progress = 0;
-        if (targetCalories > 0) {
-            progress = (int) ((double) currentCalories / targetCalories * 100);
-            progress = Math.min(progress, 100);
+        if (!view.isProfileCompleted()) {
+            return "redirect:/profile/init";
         }
-        model.addAttribute("progress", progress);
 
-        model.addAttribute("history", todayLogs);
-        model.addAttribute("foodList", foodService.getAvailableFoods(username));
+        model.addAttribute("activePage", "home");
+        model.addAttribute("dashboard", view.getDashboard());
+        model.addAttribute("progress", view.getProgress());
+        model.addAttribute("history", view.getHistory());
 
-        // Chart.js 用データ
-        model.addAttribute("weightDates", weightLogService.getGraphLabels(username));
-        model.addAttribute("weightValues", weightLogService.getGraphValues(username));
+        // 体重グラフのデータは画面表示後に /api/weight/series から取得する
 
         return "index";
     }
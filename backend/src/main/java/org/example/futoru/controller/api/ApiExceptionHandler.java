@@ -0,0 +1,33 @@
+package org.example.futoru.controller.api;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.futoru.controller.RecipeController;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * APIコントローラー（{@code controller.api} パッケージ）共通の例外ハンドラー。
+ * JSONで応答するレシピの作成・取込（{@link RecipeController}）も対象とする。
+ * <p>
+ * サービス層は不正な入力（期間の指定、CSVのヘッダー、出力形式など）を {@link IllegalArgumentException} で通知するため、
+ * これを {@code 400 Bad Request} の {@link ProblemDetail} に変換する（未処理のままでは {@code 500} となるため）。
+ * </p>
+ */
+@Slf4j
+@RestControllerAdvice(basePackageClasses = ApiExceptionHandler.class, assignableTypes = RecipeController.class)
+public class ApiExceptionHandler {
+
+    /**
+     * 不正な入力を {@code 400 Bad Request} として返却する。
+     *
+     * @param e 発生した例外
+     * @return エラー内容
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException e) {
+        log.debug("Bad API request: {}", e.getMessage());
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+}
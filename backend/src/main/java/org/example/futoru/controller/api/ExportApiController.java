@@ -0,0 +1,86 @@
+package org.example.futoru.controller.api;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.ExportFormat;
+import org.example.futoru.service.ExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+
+/**
+ * ユーザーの全履歴をダウンロードするためのAPIコントローラー。
+ * <p>
+ * 結果をレスポンスの出力ストリームへ直接書き込むため、件数に関わらずメモリ使用量は一定となる。
+ * </p>
+ * <p>
+ * 出力中はストリームクエリのためにDB接続を保持し続け、ダウンロードが遅いクライアントの場合は長時間に及ぶ。
+ * 他のリクエストがコネクションプールを使えなくならないよう、同時に実行する出力を {@value #MAX_CONCURRENT_EXPORTS} 件に制限し、
+ * 超えた場合はDB接続を取得する前に {@code 429 Too Many Requests} を返す。
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportApiController {
+
+    /** 同時に実行する出力の上限 */
+    static final int MAX_CONCURRENT_EXPORTS = 4;
+
+    /** 再試行までの待機時間の目安（秒） */
+    private static final String RETRY_AFTER_SECONDS = "30";
+
+    private final Semaphore exportPermits = new Semaphore(MAX_CONCURRENT_EXPORTS);
+
+    private final ExportService exportService;
+
+    /**
+     * 食事記録または体重記録の全履歴をファイルとして出力する。
+     *
+     * @param type        エクスポート対象（"meals" または "weights"）
+     * @param format      出力形式（"csv" または "ndjson"）
+     * @param userDetails 認証済みユーザー情報
+     * @param response    書き込み先のレスポンス
+     * @throws IOException             書き込みに失敗した場合
+     * @throws ResponseStatusException 同時に実行中の出力が上限に達している場合（429）
+     */
+    @GetMapping
+    public void export(
+            @RequestParam(defaultValue = ExportService.MEALS) String type,
+            @RequestParam(defaultValue = "csv") String format,
+            @AuthenticationPrincipal UserDetails userDetails,
+            HttpServletResponse response
+    ) throws IOException {
+        // ヘッダー送信後はエラーを返せないため、書き込み前にパラメータを検証する
+        ExportFormat exportFormat = ExportFormat.from(format);
+        ExportService.validateTarget(type);
+
+        if (!exportPermits.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent exports");
+        }
+        try {
+            response.setContentType(exportFormat.getContentType());
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename("futoru-" + type + "." + exportFormat.getExtension())
+                    .build()
+                    .toString());
+
+            exportService.export(userDetails.getUsername(), type, exportFormat, response.getOutputStream());
+        } finally {
+            exportPermits.release();
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package org.example.futoru.controller.api;
 
 import lombok.RequiredArgsConstructor;
-import org.example.futoru.dto.DashboardDto;
+import org.example.futoru.dto.FoodItemDto;
 import org.example.futoru.dto.FoodUpdateResponse;
-import org.example.futoru.entity.MealLog;
-import org.example.futoru.service.UserService;
+import org.example.futoru.form.MealBatchForm;
+import org.example.futoru.service.DashboardService;
+import org.example.futoru.service.FoodSearchService;
 import org.example.futoru.service.FoodService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,7 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 /**
- * 食事記録（MealLog）の追加・削除を行うAPIコントローラー。
+ * 食事記録（MealLog）の追加・削除、および食品検索を行うAPIコントローラー。
  * <p>
  * AJAXリクエストを受け付け、食事データの更新を行うとともに、
  * 画面（プログレスバーや履歴リスト）の再描画に必要な最新データを返却する。
@@ -25,7 +26,8 @@ import java.util.List;
 public class FoodApiController {
 
     private final FoodService foodService;
-    private final UserService userService;
+    private final DashboardService dashboardService;
+    private final FoodSearchService foodSearchService;
 
     /**
      * マスタデータ（既存の食材・レシピ）から食事記録を追加する。
@@ -43,7 +45,7 @@ public class FoodApiController {
     ) {
         String username = userDetails.getUsername();
         foodService.recordMealFromMaster(username, foodItemId, amount);
-        return createResponse(username);
+        return dashboardService.buildFoodUpdateResponse(username);
     }
 
     /**
@@ -65,7 +67,29 @@ public class FoodApiController {
     ) {
         String username = userDetails.getUsername();
         foodService.recordManualMeal(username, name, calories);
-        return createResponse(username);
+        return dashboardService.buildFoodUpdateResponse(username);
+    }
+
+    /**
+     * 複数の食事をまとめて記録する。
+     * <p>
+     * 定食など複数品目の食事を1回のリクエストで記録し、画面更新用データも1回だけ生成して返す。
+     * リクエストボディはJSON形式（{@link MealBatchForm}）で受け取る。
+     * 1回に記録できるのは {@value FoodService#MAX_BATCH_ENTRIES} 件までで、超えた場合は 400 Bad Request となる。
+     * </p>
+     *
+     * @param form        記録する食事のリスト
+     * @param userDetails 認証済みユーザー情報
+     * @return 更新後のダッシュボード情報および食事履歴
+     */
+    @PostMapping("/batch")
+    public FoodUpdateResponse addBatch(
+            @RequestBody MealBatchForm form,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        String username = userDetails.getUsername();
+        foodService.recordMeals(username, form.getEntries());
+        return dashboardService.buildFoodUpdateResponse(username);
     }
 
     /**
@@ -82,39 +106,46 @@ public class FoodApiController {
     ) {
         String username = userDetails.getUsername();
         foodService.deleteMealLog(id, username);
-        return createResponse(username);
+        return dashboardService.buildFoodUpdateResponse(username);
     }
 
     /**
-     * クライアントへのレスポンスデータを生成するヘルパーメソッド。
+     * My食品のカロリーを変更する。
      * <p>
-     * 最新の食事履歴を取得し、摂取カロリーの合計や目標に対する進捗率を再計算して、
-     * 画面更新用DTOに詰め込んで返却する。
+     * その食品を材料として使用しているレシピの合計カロリーも再計算される。
      * </p>
      *
-     * @param username 対象ユーザー名
-     * @return 画面更新用DTO（FoodUpdateResponse）
+     * @param id          変更対象の食品ID
+     * @param calories    新しいカロリー
+     * @param userDetails 認証済みユーザー情報
      */
-    private FoodUpdateResponse createResponse(String username) {
-        var user = userService.getUserByUsername(username);
-
-        List<MealLog> history = foodService.getTodayMealLogs(username);
-
-        int currentCalories = history.stream().mapToInt(MealLog::getCalories).sum();
-        int targetCalories = user.getTargetCalories();
-
-        DashboardDto dashboard = new DashboardDto(
-                targetCalories,
-                currentCalories,
-                targetCalories - currentCalories
-        );
-
-        int progress = 0;
-        if (targetCalories > 0) {
-            progress = (int) ((double) currentCalories / targetCalories * 100);
-            progress = Math.min(progress, 100);
-        }
+    @PostMapping("/items/{id}/calories")
+    public void updateCalories(
+            @PathVariable Long id,
+            @RequestParam int calories,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        foodService.updateFoodCalories(userDetails.getUsername(), id, calories);
+    }
 
-        return new FoodUpdateResponse(dashboard, progress, history);
+    /**
+     * 食品名で食品（My食品およびシステム標準食品）を検索する。
+     * <p>
+     * メニュー選択モーダルやレシピ作成画面の検索欄から呼び出される。
+     * 全食品を画面に埋め込む代わりに、入力に応じて上位の候補だけを返却する。
+     * </p>
+     *
+     * @param q           検索語（空の場合はMy食品を優先した先頭の候補を返す）
+     * @param limit       最大件数
+     * @param userDetails 認証済みユーザー情報
+     * @return 一致した食品のリスト
+     */
+    @GetMapping("/search")
+    public List<FoodItemDto> search(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "30") int limit,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return foodSearchService.search(userDetails.getUsername(), q, limit);
     }
-}
\ No newline at end of file
+}
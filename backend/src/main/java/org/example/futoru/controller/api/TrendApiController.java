@@ -0,0 +1,50 @@
+package org.example.futoru.controller.api;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.CalorieTrendDto;
+import org.example.futoru.dto.TrendPeriod;
+import org.example.futoru.service.CalorieRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 摂取カロリーの推移（週・月単位）を提供するAPIコントローラー。
+ * <p>
+ * 食事記録の追加・削除時に更新される週・月単位の集計行を返すため、
+ * 長期間を指定しても食事記録の全件集計は発生しない。
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/trends")
+@RequiredArgsConstructor
+public class TrendApiController {
+
+    private final CalorieRollupService calorieRollupService;
+
+    /**
+     * 週または月ごとの合計・平均摂取カロリー、記録日数、目標達成率を取得する。
+     *
+     * @param period      集計単位（"week" または "month"）
+     * @param from        開始日（形式: "yyyy-MM-dd"、省略時は直近12期間）
+     * @param to          終了日（形式: "yyyy-MM-dd"、省略時は今日）
+     * @param userDetails 認証済みユーザー情報
+     * @return 開始日の古い順の推移リスト
+     */
+    @GetMapping
+    public List<CalorieTrendDto> getTrends(
+            @RequestParam(defaultValue = "week") String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        return calorieRollupService.getTrends(userDetails.getUsername(), TrendPeriod.from(period), from, to);
+    }
+}
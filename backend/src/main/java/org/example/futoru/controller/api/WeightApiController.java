@@ -1,16 +1,31 @@
 package org.example.futoru.controller.api;
 
 import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.WeightImportResult;
+import org.example.futoru.dto.WeightPointDto;
+import org.example.futoru.service.UserDataVersionService;
+import org.example.futoru.service.WeightImportService;
 import org.example.futoru.service.WeightLogService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -25,26 +40,37 @@ import java.util.Map;
 public class WeightApiController {
 
     private final WeightLogService weightLogService;
+    private final WeightImportService weightImportService;
+    private final UserDataVersionService userDataVersionService;
+    private final Clock clock;
 
     /**
      * 指定された日付の体重データを取得する。
      * <p>
      * クライアントから日付を受け取り、該当する体重記録が存在すればその値を返す。
      * カレンダーの日付クリック時などに、既存の記録を表示するために使用される。
+     * 前回の取得から記録が変わっていなければ、データベースにアクセスせずに {@code 304 Not Modified} を返す。
      * </p>
      *
      * @param dateStr     日付文字列 (形式: "yyyy-MM-dd")
      * @param userDetails 認証済みユーザー情報
-     * @return 体重データを含むMap（キー: "weight", 値: Double または null）
+     * @param webRequest  条件付きリクエストの判定に使用するリクエスト
+     * @return 体重データを含むMap（キー: "weight", 値: Double または null）。変更がない場合は null
      */
     @GetMapping
     public Map<String, Object> getWeight(
             @RequestParam("date") String dateStr,
-            @AuthenticationPrincipal UserDetails userDetails
+            @AuthenticationPrincipal UserDetails userDetails,
+            ServletWebRequest webRequest
     ) {
         LocalDate date = LocalDate.parse(dateStr);
         String username = userDetails.getUsername();
 
+        UserDataVersionService.DataVersion version = userDataVersionService.current(username);
+        if (checkNotModified(webRequest, version.eTag(), version.lastModified())) {
+            return null;
+        }
+
         Double weight = weightLogService.getWeightByDate(username, date);
 
         Map<String, Object> response = new HashMap<>();
@@ -52,4 +78,77 @@ public class WeightApiController {
 
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * グラフ表示用の体重推移を、最大 {@code maxPoints} 点に間引いて取得する。
+     * <p>
+     * ダッシュボードのグラフは画面表示後にこのAPIから遅延して読み込む。
+     * 記録が多い場合でも、グラフの形（増減のピーク）を保ったまま点数を抑えて返す。
+     * 前回の取得から記録が変わっていなければ（終了日を省略した場合は日付も変わっていなければ）、
+     * データベースにアクセスせずに {@code 304 Not Modified} を返す。
+     * </p>
+     *
+     * @param from        期間の開始日（形式: "yyyy-MM-dd"、省略時は最初の記録から）
+     * @param to          期間の終了日（形式: "yyyy-MM-dd"、省略時は今日まで）
+     * @param maxPoints   最大点数
+     * @param userDetails 認証済みユーザー情報
+     * @param webRequest  条件付きリクエストの判定に使用するリクエスト
+     * @return 日付昇順の体重データリスト。変更がない場合は null
+     */
+    @GetMapping("/series")
+    public List<WeightPointDto> getSeries(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "120") int maxPoints,
+            @AuthenticationPrincipal UserDetails userDetails,
+            ServletWebRequest webRequest
+    ) {
+        String username = userDetails.getUsername();
+        UserDataVersionService.DataVersion version = userDataVersionService.current(username);
+        String eTag = version.eTag();
+        long lastModified = version.lastModified();
+        if (to == null) {
+            // ETagに含めた日付と同じ日までを返す
+            to = LocalDate.now(clock);
+            eTag = version.eTag(to);
+            lastModified = Math.max(lastModified, to.atStartOfDay(clock.getZone()).toInstant().toEpochMilli());
+        }
+        if (checkNotModified(webRequest, eTag, lastModified)) {
+            return null;
+        }
+        return weightLogService.getWeightSeries(username, from, to, maxPoints);
+    }
+
+    /**
+     * 体組成計などから出力した体重のCSVを一括で取り込む。
+     * <p>
+     * 1行目のヘッダーに {@code date} / {@code weight} で始まる列が必要で、他の列は無視する。
+     * 既に記録がある日付は上書きされる。
+     * </p>
+     *
+     * @param file        取り込むCSVファイル（UTF-8）
+     * @param userDetails 認証済みユーザー情報
+     * @return 処理結果の件数
+     */
+    @PostMapping("/import")
+    public WeightImportResult importCsv(
+            @RequestParam("file") MultipartFile file,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        try (InputStream in = file.getInputStream()) {
+            return weightImportService.importCsv(userDetails.getUsername(), in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read uploaded file", e);
+        }
+    }
+
+    /**
+     * 応答をブラウザ・リバースプロキシが保存できるよう（利用のたびに再検証する）キャッシュ制御ヘッダーを付け、
+     * 条件付きリクエストがETag・最終更新日時と一致するかを判定する（一致する場合は304が設定される）。
+     */
+    private static boolean checkNotModified(ServletWebRequest webRequest, String eTag, long lastModified) {
+        webRequest.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                CacheControl.noCache().cachePrivate().getHeaderValue());
+        return webRequest.checkNotModified(eTag, lastModified);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.futoru.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 1日分の食事記録の集計結果（合計カロリーと件数）と、その日の目標カロリーを保持するDTOクラス。
+ * <p>
+ * 日別集計行の値をJPQLのコンストラクタ式で受け取るために使用する。
+ * </p>
+ */
+@Data
+@AllArgsConstructor
+public class CalorieTotalDto {
+
+    /** 合計カロリー (kcal) */
+    private Long totalCalories;
+
+    /** 記録件数 */
+    private Long entryCount;
+
+    /** その日の目標カロリー (kcal)。未設定の場合は null */
+    private Integer targetCalories;
+}
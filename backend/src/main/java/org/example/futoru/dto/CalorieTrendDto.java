@@ -0,0 +1,45 @@
+package org.example.futoru.dto;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * 週・月単位の摂取カロリー推移の1期間分を返却する読み取り専用DTOクラス。
+ * <p>
+ * 集計行の値をJPQLのコンストラクタ式で受け取り、平均値と達成率はこのクラスで算出する。
+ * </p>
+ */
+@Value
+public class CalorieTrendDto {
+
+    /** 期間の開始日（週の場合は月曜日、月の場合は1日） */
+    LocalDate periodStart;
+
+    /** 期間内の合計摂取カロリー (kcal) */
+    Long totalCalories;
+
+    /** 期間内で食事を記録した日数 */
+    Integer daysLogged;
+
+    /** 期間内で目標カロリーを達成した日数 */
+    Integer daysOnTarget;
+
+    /**
+     * 記録した日の1日あたり平均摂取カロリーを取得する。
+     *
+     * @return 平均摂取カロリー (kcal)。記録がない場合は 0
+     */
+    public long getAverageCalories() {
+        return daysLogged > 0 ? Math.round((double) totalCalories / daysLogged) : 0;
+    }
+
+    /**
+     * 記録した日のうち、目標カロリーを達成した日の割合を取得する。
+     *
+     * @return 達成率（%、0〜100）。記録がない場合は 0
+     */
+    public int getAdherenceRate() {
+        return daysLogged > 0 ? (int) Math.round(daysOnTarget * 100.0 / daysLogged) : 0;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.futoru.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 1日分の食事記録の集計結果（日付・合計カロリー・件数）を保持するDTOクラス。
+ * <p>
+ * 週・月単位の集計行を作成する際に、期間内の食事記録を日ごとにDB側で集計した結果を受け取るために使用する。
+ * </p>
+ */
+@Data
+@AllArgsConstructor
+public class DailyTotalDto {
+
+    /** 対象日 */
+    private LocalDate date;
+
+    /** 合計カロリー (kcal) */
+    private Long totalCalories;
+
+    /** 記録件数 */
+    private Long entryCount;
+}
@@ -0,0 +1,42 @@
+package org.example.futoru.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * ダッシュボード画面（トップページ）の描画に必要なデータ一式を保持するDTOクラス。
+ * <p>
+ * {@link org.example.futoru.service.DashboardService} が1回のユーザー検索と最小限のクエリで構築し、
+ * コントローラーはこの内容をそのままModelへ詰め替える。
+ * </p>
+ */
+@Data
+@AllArgsConstructor
+public class DashboardViewDto {
+
+    /**
+     * プロフィール初期設定が完了しているか。
+     * false の場合、その他の項目は設定されない（初期設定画面へリダイレクトするため）。
+     */
+    private boolean profileCompleted;
+
+    /** カロリー摂取状況（目標、現在値、残り） */
+    private DashboardDto dashboard;
+
+    /** 目標カロリーに対する進捗率（%、最大100） */
+    private int progress;
+
+    /** 今日の食事履歴 */
+    private List<MealLogDto> history;
+
+    /**
+     * プロフィール未設定ユーザー向けの空の結果を生成する。
+     *
+     * @return profileCompleted が false のDTO
+     */
+    public static DashboardViewDto incomplete() {
+        return new DashboardViewDto(false, null, 0, List.of());
+    }
+}
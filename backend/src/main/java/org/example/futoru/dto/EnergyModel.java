@@ -0,0 +1,61 @@
+package org.example.futoru.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * TDEE（総エネルギー消費量）の推定モデル。
+ * ユーザーごとに選択でき、目標摂取カロリーの算出に使用される。
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EnergyModel {
+
+    /**
+     * Mifflin-St Jeor式（既定）。
+     * 身長・体重・年齢・性別から基礎代謝を求め、活動レベルの係数を掛ける。
+     */
+    MIFFLIN_ST_JEOR("Mifflin-St Jeor式（標準）"),
+
+    /**
+     * Harris-Benedict式（Roza-Shizgal改訂版）。
+     * 係数の異なる古典的な推定式で、活動レベルの係数を掛ける。
+     */
+    HARRIS_BENEDICT("Harris-Benedict式"),
+
+    /**
+     * Katch-McArdle式。
+     * 体脂肪率から求めた除脂肪体重で基礎代謝を推定する（体脂肪率が未設定の場合は標準の式で計算）。
+     */
+    KATCH_MCARDLE("Katch-McArdle式（体脂肪率を使用）"),
+
+    /**
+     * 実測値に基づく適応型の推定。
+     * 実際の摂取カロリーと体重の推移からTDEEを逆算する（記録が少ない間は標準の式で計算）。
+     */
+    ADAPTIVE("記録から推定（適応型）");
+
+    /** {@code values()} の呼び出しごとの配列コピーを避けるため保持する */
+    private static final EnergyModel[] VALUES = values();
+
+    /** 画面表示用の名称 */
+    private final String label;
+
+    /**
+     * DB保存値(String)から推定モデルを取得する。
+     * nullまたは不正値の場合は既定の {@link #MIFFLIN_ST_JEOR} を返す。
+     *
+     * @param value DB保存値
+     * @return 推定モデル
+     */
+    public static EnergyModel from(String value) {
+        if (value != null) {
+            for (EnergyModel model : VALUES) {
+                if (model.name().equals(value)) {
+                    return model;
+                }
+            }
+        }
+        return MIFFLIN_ST_JEOR;
+    }
+}
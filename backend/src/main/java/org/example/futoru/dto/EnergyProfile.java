@@ -0,0 +1,35 @@
+package org.example.futoru.dto;
+
+import lombok.Value;
+import org.example.futoru.entity.AdaptiveEnergyState;
+
+/**
+ * TDEE推定モデル（{@link org.example.futoru.service.EnergyExpenditureModel}）へ渡す入力値を保持する読み取り専用DTOクラス。
+ * <p>
+ * ユーザーの身体データと現在の体重を、各モデルが直接使える形（性別は真偽値、活動レベルは係数）に変換済みで保持する。
+ * </p>
+ */
+@Value
+public class EnergyProfile {
+
+    /** 現在の体重 (kg) */
+    double weight;
+
+    /** 身長 (cm) */
+    double height;
+
+    /** 年齢 */
+    int age;
+
+    /** 男性の場合 true */
+    boolean male;
+
+    /** 活動レベルの係数 */
+    double activityMultiplier;
+
+    /** 体脂肪率 (%)。未設定の場合は null */
+    Double bodyFatPercentage;
+
+    /** 適応型モデルの回帰状態。適応型以外のユーザー、または状態が未作成の場合は null */
+    AdaptiveEnergyState adaptiveState;
+}
@@ -0,0 +1,48 @@
+package org.example.futoru.dto;
+
+import java.util.Locale;
+
+/**
+ * 履歴エクスポートの出力形式を表す列挙型。
+ */
+public enum ExportFormat {
+
+    /** CSV（1行目がヘッダー。Excelで文字化けしないようBOM付きUTF-8で出力する） */
+    CSV("text/csv", "csv"),
+
+    /** NDJSON（1行に1件のJSONオブジェクト） */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /** レスポンスの Content-Type（文字コードは含まない） */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /** ダウンロードファイルの拡張子 */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * リクエストパラメータの文字列（大文字・小文字は区別しない）から出力形式を取得する。
+     *
+     * @param value "csv" または "ndjson"
+     * @return 対応する出力形式
+     * @throws IllegalArgumentException 未対応の形式の場合
+     */
+    public static ExportFormat from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + value);
+        }
+    }
+}
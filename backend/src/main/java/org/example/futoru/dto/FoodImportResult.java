@@ -0,0 +1,34 @@
+package org.example.futoru.dto;
+
+import lombok.Value;
+
+/**
+ * 食品マスタ一括取込の処理結果（件数の集計）を表すDTOクラス。
+ */
+@Value
+public class FoodImportResult {
+
+    /** ファイルから読み込んだ行数（ヘッダー行を除く） */
+    long read;
+
+    /** 新規に登録した件数 */
+    long inserted;
+
+    /** 既存の食品を更新した件数 */
+    long updated;
+
+    /** 既存の食品と内容が同じだったため更新しなかった件数 */
+    long unchanged;
+
+    /** ファイル内で同じ名前が重複していたため、後の行で上書きした件数 */
+    long duplicates;
+
+    /** 検証エラーで読み飛ばした件数 */
+    long skipped;
+
+    /** カロリー変更に伴って再計算したレシピの件数 */
+    long recipesRecalculated;
+
+    /** 処理時間（ミリ秒） */
+    long elapsedMillis;
+}
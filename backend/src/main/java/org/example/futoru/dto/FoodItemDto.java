@@ -0,0 +1,30 @@
+package org.example.futoru.dto;
+
+import lombok.Value;
+
+/**
+ * 食品リスト表示用の軽量な読み取り専用DTOクラス。
+ * <p>
+ * 食品カタログのキャッシュ（{@link org.example.futoru.service.FoodCatalogService}）に保持され、
+ * 複数のリクエスト・スレッドから共有されるため、不変（イミュータブル）としている。
+ * エンティティと異なり作成ユーザーへの関連を持たないため、取得時に users テーブルを参照しない。
+ * </p>
+ */
+@Value
+public class FoodItemDto {
+
+    /** 食品ID */
+    Long id;
+
+    /** 食品名 */
+    String name;
+
+    /** 1単位あたりの基準カロリー (kcal) */
+    Integer calories;
+
+    /** 単位 (例: "個", "皿", "g") */
+    String unit;
+
+    /** 区分 (INGREDIENT / DISH / MEAL_SET) */
+    String type;
+}
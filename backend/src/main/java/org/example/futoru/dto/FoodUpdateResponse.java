@@ -2,7 +2,6 @@ package org.example.futoru.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
-import org.example.futoru.entity.MealLog;
 
 import java.util.List;
 
@@ -33,6 +32,7 @@ public class FoodUpdateResponse {
     /**
      * 更新後の食事履歴リスト。
      * 画面下部の履歴一覧を再描画するために使用する。
+     * エンティティではなく表示に必要な項目だけを持つDTOとし、関連エンティティをJSONに含めない。
      */
-    private List<MealLog> history;
+    private List<MealLogDto> history;
 }
\ No newline at end of file
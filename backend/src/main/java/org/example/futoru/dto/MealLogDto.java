@@ -0,0 +1,32 @@
+package org.example.futoru.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * 食事履歴の1件分を表示・返却するための軽量な読み取り専用DTOクラス。
+ * <p>
+ * JPQLのコンストラクタ式で必要な列だけを直接取得するため、MealLogエンティティや
+ * 関連するUser（パスワードハッシュを含む）・FoodItemがロードされることはない。
+ * AJAXレスポンスのJSONにもこの項目だけが出力される。
+ * </p>
+ */
+@Value
+public class MealLogDto {
+
+    /** 食事記録ID（削除時に使用） */
+    Long id;
+
+    /** 記録時点での食品名 */
+    String name;
+
+    /** 記録時点での合計摂取カロリー (kcal) */
+    Integer calories;
+
+    /** 摂取量（倍率） */
+    Double amount;
+
+    /** 食事をした日時 */
+    LocalDateTime eatenAt;
+}
@@ -0,0 +1,33 @@
+package org.example.futoru.dto;
+
+import lombok.Value;
+
+/**
+ * レシピグラフの辺（親料理 → 材料）1件分を表す読み取り専用DTOクラス。
+ * <p>
+ * 再帰CTEでレシピの部分グラフを一括取得する際に使用する。
+ * 材料がマスタ食品の場合は {@code childFoodId} と、その食品に保存されているカロリーを保持し、
+ * 手入力の材料の場合は {@code manualCalories} を保持する。
+ * </p>
+ */
+@Value
+public class RecipeEdgeDto {
+
+    /** レシピ構成ID */
+    Long id;
+
+    /** 親となる料理の食品ID */
+    Long parentFoodId;
+
+    /** 材料の食品ID（手入力の場合は null） */
+    Long childFoodId;
+
+    /** 材料の食品に保存されているカロリー（手入力の場合は null） */
+    Integer childCalories;
+
+    /** 手入力時のカロリー（マスタ参照の場合は null） */
+    Integer manualCalories;
+
+    /** 使用量（倍率） */
+    Double amount;
+}
@@ -0,0 +1,66 @@
+package org.example.futoru.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * 摂取カロリーの推移（トレンド）を集計する期間の単位。
+ */
+public enum TrendPeriod {
+
+    /** 週単位（月曜日始まり） */
+    WEEK,
+
+    /** 月単位（1日始まり） */
+    MONTH;
+
+    /**
+     * 指定日を含む期間の開始日を求める。
+     *
+     * @param date 対象日
+     * @return 期間の開始日（週の場合は月曜日、月の場合は1日）
+     */
+    public LocalDate startOf(LocalDate date) {
+        return this == WEEK
+                ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : date.withDayOfMonth(1);
+    }
+
+    /**
+     * 指定された期間の次の期間の開始日を求める。
+     *
+     * @param periodStart 期間の開始日
+     * @return 次の期間の開始日
+     */
+    public LocalDate next(LocalDate periodStart) {
+        return this == WEEK ? periodStart.plusWeeks(1) : periodStart.plusMonths(1);
+    }
+
+    /**
+     * 指定された期間の {@code count} 個前の期間の開始日を求める。
+     *
+     * @param periodStart 期間の開始日
+     * @param count       遡る期間の数
+     * @return 遡った期間の開始日
+     */
+    public LocalDate minus(LocalDate periodStart, int count) {
+        return this == WEEK ? periodStart.minusWeeks(count) : periodStart.minusMonths(count);
+    }
+
+    /**
+     * リクエストパラメータの文字列（大文字・小文字は区別しない）から期間の単位を取得する。
+     *
+     * @param value "week" または "month"
+     * @return 対応する期間の単位
+     * @throws IllegalArgumentException 未対応の値の場合
+     */
+    public static TrendPeriod from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported trend period: " + value);
+        }
+    }
+}
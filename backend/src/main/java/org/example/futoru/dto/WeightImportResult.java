@@ -0,0 +1,25 @@
+package org.example.futoru.dto;
+
+import lombok.Value;
+
+/**
+ * 体重記録の一括取込の処理結果（件数の集計）を表すDTOクラス。
+ */
+@Value
+public class WeightImportResult {
+
+    /** ファイルから読み込んだ行数（ヘッダー行を除く） */
+    long read;
+
+    /** 登録・上書きした日数 */
+    long imported;
+
+    /** ファイル内で同じ日付が重複していたため、後の行で上書きした件数 */
+    long duplicates;
+
+    /** 日付・体重が解釈できない、または範囲外のため読み飛ばした件数 */
+    long skipped;
+
+    /** 処理時間（ミリ秒） */
+    long elapsedMillis;
+}
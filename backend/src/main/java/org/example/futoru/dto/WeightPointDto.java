@@ -0,0 +1,24 @@
+package org.example.futoru.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 体重グラフの1点分（日付と体重）を保持するDTOクラス。
+ * <p>
+ * JPQLのコンストラクタ式で直接生成し、WeightLogエンティティを経由せずに
+ * グラフ描画に必要な列だけを取得するために使用する。
+ * </p>
+ */
+@Data
+@AllArgsConstructor
+public class WeightPointDto {
+
+    /** 記録日 */
+    private LocalDate date;
+
+    /** 体重 (kg) */
+    private Double weight;
+}
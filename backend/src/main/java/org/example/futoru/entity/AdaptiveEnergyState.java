@@ -0,0 +1,73 @@
+package org.example.futoru.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * 適応型TDEE推定モデルの回帰状態を、ユーザーごとに保持するエンティティクラス。
+ * <p>
+ * 体重の推移（日付に対する体重の回帰直線の傾き）と、記録日の平均摂取カロリーを求めるための累積和を保持する。
+ * 体重・食事の記録のたびに差分を加算して更新するため、推定のたびに履歴を走査する必要がない。
+ * </p>
+ * <p>
+ * 各記録には、記録日が新しいほど大きくなる指数減衰の重み
+ * （{@link org.example.futoru.service.AdaptiveEnergyService#decayWeight} 参照）を掛けて加算する。
+ * これにより、古い記録の影響は半減期ごとに半分になり、最近の傾向が推定に反映される。
+ * 時刻 t は基準日からの経過日数を表す。
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "adaptive_energy_states",
+        uniqueConstraints = @UniqueConstraint(name = "uk_adaptive_energy_states_user", columnNames = "user_id"))
+public class AdaptiveEnergyState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** どのユーザーの状態か */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User user;
+
+    /** 体重の記録件数 */
+    @Column(name = "weight_count", nullable = false)
+    private Integer weightCount;
+
+    /** 体重の記録の重みの和 Σa */
+    @Column(name = "weight_sum", nullable = false)
+    private Double weightSum;
+
+    /** 体重の記録の重み付き時刻の和 Σa·t */
+    @Column(name = "weight_sum_t", nullable = false)
+    private Double weightSumT;
+
+    /** 体重の記録の重み付き時刻の二乗和 Σa·t² */
+    @Column(name = "weight_sum_tt", nullable = false)
+    private Double weightSumTt;
+
+    /** 重み付き体重の和 Σa·y */
+    @Column(name = "weight_sum_y", nullable = false)
+    private Double weightSumY;
+
+    /** 重み付き時刻×体重の和 Σa·t·y */
+    @Column(name = "weight_sum_ty", nullable = false)
+    private Double weightSumTy;
+
+    /** 食事を記録した日数 */
+    @Column(name = "intake_days", nullable = false)
+    private Integer intakeDays;
+
+    /** 食事を記録した日の重みの和 */
+    @Column(name = "intake_sum", nullable = false)
+    private Double intakeSum;
+
+    /** 重み付き摂取カロリーの和 */
+    @Column(name = "intake_sum_calories", nullable = false)
+    private Double intakeSumCalories;
+}
@@ -0,0 +1,60 @@
+package org.example.futoru.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * ユーザーごと・週（月）ごとの摂取カロリー集計を管理するエンティティクラス。
+ * <p>
+ * 日別集計（DailyCalorieSummary）と同様に、食事記録の追加・削除時に差分で更新される。
+ * 長期間の推移を表示する際に、食事記録を全件集計する代わりに期間数分の行だけを参照する。
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "calorie_rollups",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_calorie_rollups_user_period",
+                columnNames = {"user_id", "period_type", "period_start"}))
+public class CalorieRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** どのユーザーの集計か */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private User user;
+
+    /** 集計単位（"WEEK" または "MONTH"。{@link org.example.futoru.dto.TrendPeriod} の名前） */
+    @Column(name = "period_type", nullable = false, length = 10)
+    private String periodType;
+
+    /** 期間の開始日（週の場合は月曜日、月の場合は1日） */
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    /** 期間内の合計摂取カロリー (kcal) */
+    @Column(name = "total_calories", nullable = false)
+    private Long totalCalories;
+
+    /** 期間内で食事を記録した日数 */
+    @Column(name = "days_logged", nullable = false)
+    private Integer daysLogged;
+
+    /**
+     * 期間内で目標カロリーを達成した日数。
+     * <p>
+     * 各日の判定には、その日の食事記録を更新した時点のユーザーの目標カロリーを使用する。
+     * </p>
+     */
+    @Column(name = "days_on_target", nullable = false)
+    private Integer daysOnTarget;
+}
@@ -0,0 +1,53 @@
+package org.example.futoru.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * ユーザーごと・日ごとの摂取カロリー集計を管理するエンティティクラス。
+ * <p>
+ * 食事記録（MealLog）の追加・削除時に差分で更新される集計テーブル。
+ * ダッシュボード表示のたびに当日の全食事記録を合計する代わりに、この1行を参照する。
+ * </p>
+ */
+@Entity
+@Data
+@Table(name = "daily_calorie_summaries",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_daily_calorie_summaries_user_date",
+                columnNames = {"user_id", "summary_date"}))
+public class DailyCalorieSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** どのユーザーの集計か */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** 集計対象日 */
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    /** その日の合計摂取カロリー (kcal) */
+    @Column(name = "total_calories", nullable = false)
+    private Integer totalCalories;
+
+    /** その日の食事記録件数 */
+    @Column(name = "entry_count", nullable = false)
+    private Integer entryCount;
+
+    /**
+     * その日の目標カロリー (kcal)。
+     * <p>
+     * その日の最初の食事を記録した時点のユーザーの目標カロリーを保存し、以降は変更しない。
+     * 週・月単位の目標達成日数は、この値で各日を判定する（目標が後から変わっても集計がずれない）。
+     * </p>
+     */
+    @Column(name = "target_calories")
+    private Integer targetCalories;
+}
@@ -2,13 +2,16 @@ package org.example.futoru.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * 食品マスタデータを管理するエンティティ。
  * ユーザーが食事記録をつける際に参照する「食品の辞書」となるデータ。
  */
 @Entity
-@Table(name = "food_items")
+@Table(name = "food_items",
+        indexes = @Index(name = "idx_food_items_user_name", columnList = "user_id, name"))
 @Data
 public class FoodItem {
 
@@ -20,9 +23,12 @@ public class FoodItem {
      * この食品を作成したユーザー。
      * nullの場合、全ユーザーが利用可能な「システム標準食品」として扱われる。
      * 値がある場合、そのユーザー専用の「My食品」となる。
+     * 所有者の判定は外部キー（user.id）だけで足りるため、遅延ロードとする。
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     /** 食品名 (例: 白米, 鶏胸肉) */
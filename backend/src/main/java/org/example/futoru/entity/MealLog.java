@@ -2,6 +2,8 @@ package org.example.futoru.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import java.time.LocalDateTime;
 
 /**
@@ -13,26 +15,41 @@ import java.time.LocalDateTime;
  * </p>
  */
 @Entity
-@Table(name = "meal_logs")
+@Table(name = "meal_logs",
+        indexes = @Index(name = "idx_meal_logs_user_eaten_at", columnList = "user_id, eaten_at"))
 @Data
 public class MealLog {
 
+    /**
+     * ID。
+     * IDENTITY方式ではINSERTごとに採番結果を取得する必要がありJDBCバッチが無効になるため、
+     * シーケンス（MySQLではテーブルで代替）から50件単位でまとめて採番する。
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meal_logs_seq")
+    @SequenceGenerator(name = "meal_logs_seq", sequenceName = "meal_logs_seq", allocationSize = 50)
     private Long id;
 
-    /** この記録を作成したユーザー */
-    @ManyToOne
+    /**
+     * この記録を作成したユーザー。
+     * 遅延ロードとし、必要な検索メソッドでのみエンティティグラフで同時取得する。
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User user;
 
     /**
      * 参照元の食品マスタ。
      * マスタリストから選択した場合はIDが入る。
      * 手入力で記録した場合や、参照元が削除された場合はNULLとなる可能性がある。
+     * 表示には記録時のスナップショット（name, calories）を使うため、遅延ロードとする。
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "food_item_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private FoodItem foodItem;
 
     /**
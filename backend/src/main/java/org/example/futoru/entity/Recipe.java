@@ -13,12 +13,19 @@ import lombok.Data;
  * </p>
  */
 @Entity
-@Table(name = "recipes")
+@Table(name = "recipes",
+        indexes = @Index(name = "idx_recipes_child_parent", columnList = "child_food_id, parent_food_id"))
 @Data
 public class Recipe {
 
+    /**
+     * ID。
+     * 1つのレシピの構成要素をJDBCバッチでまとめてINSERTできるよう、
+     * シーケンス（MySQLではテーブルで代替）から50件単位でまとめて採番する。
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recipes_seq")
+    @SequenceGenerator(name = "recipes_seq", sequenceName = "recipes_seq", allocationSize = 50)
     private Long id;
 
     /** 親となる料理（完成品）。例: 「カレーセット」 */
@@ -90,9 +97,26 @@ public class Recipe {
      * @return この材料の合計カロリー
      */
     public int getCalculatedCalories() {
-        if (childFood != null) {
+        return calculateCalories(childFood != null ? childFood.getCalories() : null, amount, manualCalories);
+    }
+
+    /**
+     * 材料1つ分のカロリーを計算する。
+     * <p>
+     * 子食品のカロリーが与えられた場合は「子食品のカロリー × 量」を、
+     * そうでない場合は手入力カロリーを返す。
+     * 子食品がレシピの場合は、解決済みの合計カロリーを渡すこと（{@code RecipeGraphResolver} を参照）。
+     * </p>
+     *
+     * @param childCalories  子食品のカロリー（手入力の場合は null）
+     * @param amount         使用量（null の場合は 1.0 として扱う）
+     * @param manualCalories 手入力カロリー（null の場合は 0 として扱う）
+     * @return この材料の合計カロリー
+     */
+    public static int calculateCalories(Integer childCalories, Double amount, Integer manualCalories) {
+        if (childCalories != null) {
             // マスタのカロリー × 倍率
-            return (int) Math.round(childFood.getCalories() * amount);
+            return (int) Math.round(childCalories * (amount != null ? amount : 1.0));
         }
         // 手入力カロリー（nullの場合は0として扱う）
         return manualCalories != null ? manualCalories : 0;
@@ -6,6 +6,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -55,6 +56,22 @@ public class User implements UserDetails {
      */
     private Integer targetCalories;
 
+    /**
+     * TDEEの推定モデル（{@link org.example.futoru.dto.EnergyModel} の名前）。
+     * NULLの場合は既定の Mifflin-St Jeor式を使用する。
+     */
+    private String energyModel;
+
+    /** 体脂肪率 (%)。Katch-McArdle式で使用する（任意項目） */
+    private Double bodyFatPercentage;
+
+    /**
+     * 目標カロリーの再計算を要求した日時（再計算が済んでいる場合は NULL）。
+     * {@link org.example.futoru.repository.UserRepository} の専用の更新文だけで変更し、エンティティの保存では書き込まない。
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime targetCaloriesStaleSince;
+
     /**
      * ユーザーに付与された権限リストを返却する。
      *
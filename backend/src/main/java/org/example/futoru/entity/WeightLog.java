@@ -14,7 +14,8 @@ import java.time.LocalDate;
  */
 @Entity
 @Data
-@Table(name = "weight_logs")
+@Table(name = "weight_logs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_weight_logs_user_date", columnNames = {"user_id", "date"}))
 public class WeightLog {
 
     @Id
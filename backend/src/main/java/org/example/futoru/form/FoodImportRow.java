@@ -0,0 +1,31 @@
+package org.example.futoru.form;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 食品マスタ一括取込ファイル（CSV / JSON）の1行分を受け取るクラス。
+ * <p>
+ * CSVの場合はヘッダー行の列名（name, calories, unit, type）、
+ * JSONの場合はオブジェクトのキーで各項目に対応付ける。
+ * 取込時に検証し、不正な行は読み飛ばす。
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FoodImportRow {
+
+    /** 食品名（必須。システム標準食品の中での重複判定に使用） */
+    private String name;
+
+    /** 1単位あたりのカロリー (kcal)（必須。小数は四捨五入する） */
+    private Double calories;
+
+    /** 単位（省略時は "100g"） */
+    private String unit;
+
+    /** 区分（省略時は "INGREDIENT"） */
+    private String type;
+}
@@ -0,0 +1,42 @@
+package org.example.futoru.form;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 複数の食事をまとめて記録する際の入力データを受け取るフォームクラス。
+ * <p>
+ * 定食や複数品目の食事を1回のリクエストで記録するために使用される。
+ * 各項目はマスタデータの選択、または手入力のいずれかで指定する。
+ * </p>
+ */
+@Data
+public class MealBatchForm {
+
+    /** 記録する食事のリスト */
+    private List<MealEntryDto> entries;
+
+    /**
+     * 食事1件分のデータを保持する内部クラス。
+     * <p>
+     * {@code foodItemId} が存在する（非null）場合はマスタデータを参照し、
+     * 存在しない（null）場合は {@code name} および {@code calories} を使用する。
+     * </p>
+     */
+    @Data
+    public static class MealEntryDto {
+
+        /** マスタデータの食品ID（手入力の場合は null） */
+        private Long foodItemId;
+
+        /** 摂取量（マスタの単位に対する倍率。省略時は 1.0） */
+        private Double amount;
+
+        /** 手入力時の食品名 */
+        private String name;
+
+        /** 手入力時の合計カロリー (kcal) */
+        private Integer calories;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.futoru.repository;
+
+import org.example.futoru.entity.AdaptiveEnergyState;
+import org.example.futoru.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 適応型TDEE推定モデルの回帰状態（AdaptiveEnergyState）へのデータベースアクセスを行うリポジトリ。
+ */
+public interface AdaptiveEnergyStateRepository extends JpaRepository<AdaptiveEnergyState, Long> {
+
+    /**
+     * 指定されたユーザーの回帰状態を取得する。
+     *
+     * @param user 対象ユーザー
+     * @return 回帰状態のOptional（未作成の場合はEmpty）
+     */
+    Optional<AdaptiveEnergyState> findByUser(User user);
+
+    /**
+     * 指定されたユーザーIDの回帰状態をまとめて取得する（目標カロリーの一括再計算用）。
+     *
+     * @param userIds ユーザーIDのリスト
+     * @return 回帰状態のリスト（未作成のユーザーの分は含まれない）
+     */
+    @Query("SELECT s FROM AdaptiveEnergyState s WHERE s.user.id IN :userIds")
+    List<AdaptiveEnergyState> findByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 体重の記録1件分の差分を回帰状態へ加算する。
+     * <p>
+     * 読み込み・書き戻しを行わずUPDATE文1回で加算するため、同時更新でも値が失われない。
+     * </p>
+     *
+     * @param user       対象ユーザー
+     * @param countDelta 加算する記録件数（新規記録は 1、既存記録の更新は 0）
+     * @param sumDelta   Σa への加算値
+     * @param sumTDelta  Σa·t への加算値
+     * @param sumTtDelta Σa·t² への加算値
+     * @param sumYDelta  Σa·y への加算値
+     * @param sumTyDelta Σa·t·y への加算値
+     * @return 更新された行数（回帰状態が未作成の場合は 0）
+     */
+    @Modifying
+    @Query("UPDATE AdaptiveEnergyState s "
+            + "SET s.weightCount = s.weightCount + :countDelta, "
+            + "s.weightSum = s.weightSum + :sumDelta, "
+            + "s.weightSumT = s.weightSumT + :sumTDelta, "
+            + "s.weightSumTt = s.weightSumTt + :sumTtDelta, "
+            + "s.weightSumY = s.weightSumY + :sumYDelta, "
+            + "s.weightSumTy = s.weightSumTy + :sumTyDelta "
+            + "WHERE s.user = :user")
+    int applyWeightDelta(@Param("user") User user,
+                         @Param("countDelta") int countDelta,
+                         @Param("sumDelta") double sumDelta,
+                         @Param("sumTDelta") double sumTDelta,
+                         @Param("sumTtDelta") double sumTtDelta,
+                         @Param("sumYDelta") double sumYDelta,
+                         @Param("sumTyDelta") double sumTyDelta);
+
+    /**
+     * 1日分の摂取カロリーの変更を回帰状態へ加算する。
+     *
+     * @param user          対象ユーザー
+     * @param daysDelta     加算する記録日数（その日の記録が 0件⇔1件以上 に変わった場合のみ ±1）
+     * @param sumDelta      記録日の重みの和への加算値
+     * @param caloriesDelta 重み付き摂取カロリーの和への加算値
+     * @return 更新された行数（回帰状態が未作成の場合は 0）
+     */
+    @Modifying
+    @Query("UPDATE AdaptiveEnergyState s "
+            + "SET s.intakeDays = s.intakeDays + :daysDelta, "
+            + "s.intakeSum = s.intakeSum + :sumDelta, "
+            + "s.intakeSumCalories = s.intakeSumCalories + :caloriesDelta "
+            + "WHERE s.user = :user")
+    int applyIntakeDelta(@Param("user") User user,
+                         @Param("daysDelta") int daysDelta,
+                         @Param("sumDelta") double sumDelta,
+                         @Param("caloriesDelta") double caloriesDelta);
+
+    /**
+     * 指定されたユーザーの回帰状態を削除する。
+     *
+     * @param user 対象ユーザー
+     */
+    @Modifying
+    @Query("DELETE FROM AdaptiveEnergyState s WHERE s.user = :user")
+    void deleteByUser(@Param("user") User user);
+}
@@ -0,0 +1,68 @@
+package org.example.futoru.repository;
+
+import org.example.futoru.dto.CalorieTrendDto;
+import org.example.futoru.entity.CalorieRollup;
+import org.example.futoru.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 週・月単位のカロリー集計（CalorieRollup）へのデータベースアクセスを行うリポジトリ。
+ */
+public interface CalorieRollupRepository extends JpaRepository<CalorieRollup, Long> {
+
+    /**
+     * 集計行に差分を加算する。集計行が未作成の場合は、差分をそのまま初期値として作成する。
+     * <p>
+     * 日別集計と同様に、一意制約 (user_id, period_type, period_start) を利用した
+     * {@code INSERT ... ON DUPLICATE KEY UPDATE} の1文で行うため、
+     * 同時更新でも値が失われず、同じ期間の最初の記録が同時に行われても一意制約違反にならない。
+     * 期間内に日別集計がある場合は必ず集計行が存在する前提（V10で日別集計から作り直し済み）のため、
+     * 集計行がない期間の変更前の値は 0 とみなせる。
+     * </p>
+     *
+     * @param userId            対象ユーザーのID
+     * @param periodType        集計単位（"WEEK" または "MONTH"）
+     * @param periodStart       期間の開始日
+     * @param caloriesDelta     加算するカロリー（削除時は負の値）
+     * @param daysLoggedDelta   加算する記録日数
+     * @param daysOnTargetDelta 加算する目標達成日数
+     */
+    @Modifying
+    @Query(value = "INSERT INTO calorie_rollups "
+            + "(user_id, period_type, period_start, total_calories, days_logged, days_on_target) "
+            + "VALUES (:userId, :periodType, :periodStart, :caloriesDelta, :daysLoggedDelta, :daysOnTargetDelta) "
+            + "ON DUPLICATE KEY UPDATE total_calories = total_calories + :caloriesDelta, "
+            + "days_logged = days_logged + :daysLoggedDelta, "
+            + "days_on_target = days_on_target + :daysOnTargetDelta", nativeQuery = true)
+    void upsertDelta(@Param("userId") Long userId,
+                     @Param("periodType") String periodType,
+                     @Param("periodStart") LocalDate periodStart,
+                     @Param("caloriesDelta") long caloriesDelta,
+                     @Param("daysLoggedDelta") int daysLoggedDelta,
+                     @Param("daysOnTargetDelta") int daysOnTargetDelta);
+
+    /**
+     * 指定された期間範囲の集計行を、推移表示用のDTOとして開始日の古い順に取得する。
+     * 一意制約 (user_id, period_type, period_start) のインデックスで範囲検索される。
+     *
+     * @param user       対象ユーザー
+     * @param periodType 集計単位（"WEEK" または "MONTH"）
+     * @param from       取得する最初の期間の開始日
+     * @param to         取得する最後の期間の開始日
+     * @return 集計行のリスト（記録のない期間の行は含まれない）
+     */
+    @Query("SELECT new org.example.futoru.dto.CalorieTrendDto(r.periodStart, r.totalCalories, r.daysLogged, r.daysOnTarget) "
+            + "FROM CalorieRollup r "
+            + "WHERE r.user = :user AND r.periodType = :periodType AND r.periodStart BETWEEN :from AND :to "
+            + "ORDER BY r.periodStart")
+    List<CalorieTrendDto> findTrends(@Param("user") User user,
+                                     @Param("periodType") String periodType,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+}
@@ -0,0 +1,64 @@
+package org.example.futoru.repository;
+
+import org.example.futoru.dto.CalorieTotalDto;
+import org.example.futoru.entity.DailyCalorieSummary;
+import org.example.futoru.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * 日別カロリー集計（DailyCalorieSummary）へのデータベースアクセスを行うリポジトリ。
+ */
+public interface DailyCalorieSummaryRepository extends JpaRepository<DailyCalorieSummary, Long> {
+
+    /** 指定されたユーザーと日付の集計行を取得する。 */
+    Optional<DailyCalorieSummary> findByUserAndSummaryDate(User user, LocalDate summaryDate);
+
+    /**
+     * 指定されたユーザーと日付の集計値（合計カロリー・件数・その日の目標カロリー）を取得する。
+     * <p>
+     * {@link #upsertDelta} の直後でも最新の値を得られるよう、エンティティではなくDTOとして直接取得する。
+     * </p>
+     *
+     * @param user        対象ユーザー
+     * @param summaryDate 対象日
+     * @return 集計値（集計行が未作成の場合は空）
+     */
+    @Query("SELECT new org.example.futoru.dto.CalorieTotalDto("
+            + "CAST(s.totalCalories AS Long), CAST(s.entryCount AS Long), s.targetCalories) "
+            + "FROM DailyCalorieSummary s WHERE s.user = :user AND s.summaryDate = :summaryDate")
+    Optional<CalorieTotalDto> findTotalByUserAndSummaryDate(@Param("user") User user,
+                                                            @Param("summaryDate") LocalDate summaryDate);
+
+    /**
+     * 集計行に差分を加算する。集計行が未作成の場合は、差分を初期値として作成する。
+     * <p>
+     * {@code (user_id, summary_date)} の一意制約を利用した {@code INSERT ... ON DUPLICATE KEY UPDATE} の1文で行うため、
+     * その日の最初の食事が同時に記録されても一意制約違反にならず、加算も失われない。
+     * 食事記録のある日には必ず集計行が存在する前提（V9で既存の記録から補完済み）のため、
+     * 集計行がない日の変更前の値は 0 とみなせる。
+     * その日の目標カロリーは集計行の作成時にのみ設定し、既存の集計行では変更しない。
+     * </p>
+     *
+     * @param userId         対象ユーザーのID
+     * @param summaryDate    対象日
+     * @param caloriesDelta  加算するカロリー（削除時は負の値）
+     * @param countDelta     加算する件数（削除時は負の値）
+     * @param targetCalories 集計行を作成する場合に保存する、その日の目標カロリー
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_calorie_summaries (user_id, summary_date, total_calories, entry_count, target_calories) "
+            + "VALUES (:userId, :summaryDate, :caloriesDelta, :countDelta, :targetCalories) "
+            + "ON DUPLICATE KEY UPDATE total_calories = total_calories + :caloriesDelta, "
+            + "entry_count = entry_count + :countDelta", nativeQuery = true)
+    void upsertDelta(@Param("userId") Long userId,
+                     @Param("summaryDate") LocalDate summaryDate,
+                     @Param("caloriesDelta") int caloriesDelta,
+                     @Param("countDelta") int countDelta,
+                     @Param("targetCalories") Integer targetCalories);
+}
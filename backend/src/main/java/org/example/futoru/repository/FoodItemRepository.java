@@ -1,11 +1,13 @@
 package org.example.futoru.repository;
 
+import org.example.futoru.dto.FoodItemDto;
 import org.example.futoru.entity.FoodItem;
 import org.example.futoru.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,20 +15,6 @@ import java.util.List;
  */
 public interface FoodItemRepository extends JpaRepository<FoodItem, Long> {
 
-    /**
-     * 指定されたユーザーが利用可能なすべての食品リストを取得する。
-     * <p>
-     * 以下の2パターンのデータを結合して取得するカスタムクエリ：
-     * 1. ユーザー自身が登録した「My食品」 (f.user = :user)
-     * 2. 全ユーザー共通の「システム標準食品」 (f.user IS NULL)
-     * </p>
-     *
-     * @param user 対象のユーザーエンティティ
-     * @return 利用可能な食品のリスト
-     */
-    @Query("SELECT f FROM FoodItem f WHERE f.user = :user OR f.user IS NULL")
-    List<FoodItem> findAllAvailable(@Param("user") User user);
-
     /**
      * 特定のユーザーが独自に作成した食品（My食品）のみを検索する。
      * システム標準の食品は含まれない。
@@ -35,4 +23,36 @@ public interface FoodItemRepository extends JpaRepository<FoodItem, Long> {
      * @return そのユーザーが所有する食品リスト
      */
     List<FoodItem> findByUser(User user);
-}
\ No newline at end of file
+
+    /**
+     * 全ユーザー共通の「システム標準食品」を表示用DTOとして取得する。
+     * 食品カタログキャッシュの共有スナップショット構築に使用する。
+     *
+     * @return ID昇順のシステム標準食品リスト
+     */
+    @Query("SELECT new org.example.futoru.dto.FoodItemDto(f.id, f.name, f.calories, f.unit, f.type) "
+            + "FROM FoodItem f WHERE f.user IS NULL ORDER BY f.id")
+    List<FoodItemDto> findSystemFoodDtos();
+
+    /**
+     * 指定されたユーザーの「My食品」を表示用DTOとして取得する。
+     * 外部キー列で直接絞り込むため、users テーブルとの結合は発生しない。
+     *
+     * @param userId 対象ユーザーのID
+     * @return ID昇順のMy食品リスト
+     */
+    @Query("SELECT new org.example.futoru.dto.FoodItemDto(f.id, f.name, f.calories, f.unit, f.type) "
+            + "FROM FoodItem f WHERE f.user.id = :userId ORDER BY f.id")
+    List<FoodItemDto> findOwnFoodDtos(@Param("userId") Long userId);
+
+    /**
+     * 指定された食品の所有者（ユーザーID）を重複なしで取得する。
+     * システム標準食品が含まれる場合、結果に {@code null} が含まれる。
+     * 食品カタログキャッシュの無効化対象を決めるために使用する。
+     *
+     * @param ids 食品IDのリスト
+     * @return 所有者のユーザーIDリスト
+     */
+    @Query("SELECT DISTINCT u.id FROM FoodItem f LEFT JOIN f.user u WHERE f.id IN :ids")
+    List<Long> findOwnerIdsByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,17 +1,33 @@
 package org.example.futoru.repository;
 
+import org.example.futoru.dto.DailyTotalDto;
+import org.example.futoru.dto.MealLogDto;
 import org.example.futoru.entity.MealLog;
 import org.example.futoru.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 食事記録データ(MealLog)へのデータベースアクセスを行うリポジトリ。
  */
 public interface MealLogRepository extends JpaRepository<MealLog, Long> {
 
+    /**
+     * IDを指定して食事記録を取得する。所有者（User）も同じSQLで結合して取得する。
+     * 削除時の所有者チェックなど、ユーザー情報が必ず必要な場面で使用する。
+     *
+     * @param id 食事記録ID
+     * @return 所有者がロード済みの食事記録
+     */
+    @EntityGraph(attributePaths = "user")
+    Optional<MealLog> findWithUserById(Long id);
+
     /**
      * 指定されたユーザーの、指定期間内における食事記録を検索する。
      * ダッシュボードでの「今日の食事」表示などで使用される。
@@ -22,4 +38,39 @@ public interface MealLogRepository extends JpaRepository<MealLog, Long> {
      * @return 指定期間内に記録された食事ログのリスト
      */
     List<MealLog> findByUserAndEatenAtBetween(User user, LocalDateTime start, LocalDateTime end);
-}
\ No newline at end of file
+
+    /**
+     * 指定されたユーザーの、指定期間内における食事履歴を表示用DTOとして取得する。
+     * <p>
+     * 画面表示・APIレスポンスに必要な列だけを取得するため、
+     * エンティティの生成や関連（User, FoodItem）の解決が発生しない。
+     * </p>
+     *
+     * @param user  検索対象のユーザー
+     * @param start 検索開始日時
+     * @param end   検索終了日時
+     * @return 食事日時の昇順に並んだ食事履歴のリスト
+     */
+    @Query("SELECT new org.example.futoru.dto.MealLogDto(m.id, m.name, m.calories, m.amount, m.eatenAt) "
+            + "FROM MealLog m WHERE m.user = :user AND m.eatenAt BETWEEN :start AND :end "
+            + "ORDER BY m.eatenAt, m.id")
+    List<MealLogDto> findHistoryByUserAndEatenAtBetween(@Param("user") User user,
+                                                        @Param("start") LocalDateTime start,
+                                                        @Param("end") LocalDateTime end);
+
+    /**
+     * 指定期間の食事記録を日ごとにDB側で集計する。
+     * 週・月単位の集計行を新規作成する際に、期間内の各日の合計を求めるために使用する。
+     *
+     * @param user  対象ユーザー
+     * @param start 期間の開始日時（この日時を含む）
+     * @param end   期間の終了日時（この日時を含まない）
+     * @return 日付の古い順の日別集計リスト（記録のない日は含まれない）
+     */
+    @Query("SELECT new org.example.futoru.dto.DailyTotalDto(CAST(m.eatenAt AS LocalDate), SUM(m.calories), COUNT(m)) "
+            + "FROM MealLog m WHERE m.user = :user AND m.eatenAt >= :start AND m.eatenAt < :end "
+            + "GROUP BY CAST(m.eatenAt AS LocalDate) ORDER BY CAST(m.eatenAt AS LocalDate)")
+    List<DailyTotalDto> sumDailyCaloriesByUserAndEatenAtRange(@Param("user") User user,
+                                                               @Param("start") LocalDateTime start,
+                                                               @Param("end") LocalDateTime end);
+}
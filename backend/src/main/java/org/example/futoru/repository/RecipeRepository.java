@@ -1,11 +1,67 @@
 package org.example.futoru.repository;
 
+import org.example.futoru.dto.RecipeEdgeDto;
 import org.example.futoru.entity.Recipe;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * レシピ構成データ(Recipe)へのデータベースアクセスを行うリポジトリ。
  * 料理と食材の結びつき情報の検索に使用する。
  */
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
-}
\ No newline at end of file
+
+    /**
+     * 指定された食品を起点に、配下のレシピ構成をまとめて取得する。
+     * <p>
+     * 再帰CTEで「親 → 材料 → 材料の材料 …」と辿り、1回のクエリで部分グラフ全体の辺を返す。
+     * 再帰部分を {@code UNION}（重複除去）で結合するため、同じ料理が複数の経路から参照されていても
+     * 各辺は1回しか展開されず、経路の数に比例して行が増えることはない。
+     * データに循環がある場合も、新しい辺が得られなくなった時点で探索が終了する
+     * （循環の検出は {@code RecipeGraphResolver} で行う）。
+     * 再帰部分で重複を除去しないデータベース（テストで使用するH2）でも辺が重複しないよう、最後にも重複を除去する。
+     * </p>
+     *
+     * @param rootIds 起点となる食品IDのリスト
+     * @return 部分グラフに含まれる全ての辺（レシピID順）
+     */
+    @Query(value = "WITH RECURSIVE graph (id, parent_food_id, child_food_id, child_calories, manual_calories, amount) AS ("
+            + " SELECT r.id, r.parent_food_id, r.child_food_id, f.calories, r.manual_calories, r.amount"
+            + " FROM recipes r LEFT JOIN food_items f ON f.id = r.child_food_id"
+            + " WHERE r.parent_food_id IN (:rootIds)"
+            + " UNION"
+            + " SELECT r.id, r.parent_food_id, r.child_food_id, f.calories, r.manual_calories, r.amount"
+            + " FROM graph g JOIN recipes r ON r.parent_food_id = g.child_food_id"
+            + " LEFT JOIN food_items f ON f.id = r.child_food_id"
+            + ")"
+            + " SELECT DISTINCT g.id, g.parent_food_id, g.child_food_id, g.child_calories, g.manual_calories, g.amount"
+            + " FROM graph g ORDER BY g.id",
+            nativeQuery = true)
+    List<RecipeEdgeDto> findSubgraphEdges(@Param("rootIds") Collection<Long> rootIds);
+
+    /**
+     * 指定された食品を材料として（直接・間接に）使用しているレシピの食品IDをすべて取得する。
+     * <p>
+     * 食品のカロリーが変更された際に、再計算が必要な親レシピだけを特定するための逆引きクエリ。
+     * {@code recipes (child_food_id, parent_food_id)} インデックスで「子 → 親」を再帰的に辿る。
+     * {@link #findSubgraphEdges} と同様に再帰部分を {@code UNION} で結合するため、各レシピは1回しか展開されず、
+     * データに循環がある場合も新しいレシピが得られなくなった時点で探索が終了する。
+     * </p>
+     *
+     * @param childIds 変更された食品IDのリスト
+     * @return 影響を受けるレシピの食品IDリスト（重複なし）
+     */
+    @Query(value = "WITH RECURSIVE ancestors (food_id) AS ("
+            + " SELECT r.parent_food_id FROM recipes r WHERE r.child_food_id IN (:childIds)"
+            + " UNION"
+            + " SELECT r.parent_food_id"
+            + " FROM ancestors a JOIN recipes r ON r.child_food_id = a.food_id"
+            + ")"
+            + " SELECT DISTINCT a.food_id FROM ancestors a",
+            nativeQuery = true)
+    List<Long> findAncestorIds(@Param("childIds") Collection<Long> childIds);
+}
@@ -2,8 +2,12 @@ package org.example.futoru.repository;
 
 import org.example.futoru.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -21,4 +25,65 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return 該当するユーザーのOptional（存在しない場合はEmpty）
      */
     Optional<User> findByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * 目標カロリーだけを更新する。
+     * <p>
+     * キャッシュから取得した（永続化コンテキストに属さない）ユーザーを merge すると、
+     * 他の項目までキャッシュ時点の値で上書きしてしまうため、対象の列だけをUPDATE文1回で更新する。
+     * </p>
+     *
+     * @param id             対象ユーザーのID
+     * @param targetCalories 新しい目標カロリー
+     * @return 更新された行数
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.targetCalories = :targetCalories WHERE u.id = :id")
+    int updateTargetCalories(@Param("id") Long id, @Param("targetCalories") Integer targetCalories);
+
+    /**
+     * ユーザーの行を排他ロックする（トランザクションの終了まで保持される）。
+     * <p>
+     * ユーザーごとに1行だけ存在する派生データ（適応型TDEE推定モデルの回帰状態など）の作成・更新を、
+     * 同じユーザーの同時リクエスト間で直列化するために使用する。エンティティは読み込まない。
+     * </p>
+     *
+     * @param id 対象ユーザーのID
+     * @return ユーザーのID（存在しない場合は null）
+     */
+    @Query(value = "SELECT id FROM users WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("id") Long id);
+
+    /**
+     * 目標カロリーの再計算が必要であることを記録する。
+     * <p>
+     * 再計算の要求のきっかけとなった更新と同じトランザクションで実行し、コミットと同時に永続化する。
+     * </p>
+     *
+     * @param username 対象のユーザー名
+     * @return 更新された行数
+     */
+    @Modifying
+    @Query(value = "UPDATE users SET target_calories_stale_since = CURRENT_TIMESTAMP WHERE username = :username",
+            nativeQuery = true)
+    int markTargetCaloriesStale(@Param("username") String username);
+
+    /**
+     * 目標カロリーの再計算待ちの記録を消す。
+     *
+     * @param id 対象ユーザーのID
+     * @return 更新された行数
+     */
+    @Modifying
+    @Query(value = "UPDATE users SET target_calories_stale_since = NULL WHERE id = :id", nativeQuery = true)
+    int clearTargetCaloriesStale(@Param("id") Long id);
+
+    /**
+     * 目標カロリーの再計算を待っているユーザー名を、要求の古い順に取得する。
+     *
+     * @return ユーザー名のリスト
+     */
+    @Query(value = "SELECT username FROM users WHERE target_calories_stale_since IS NOT NULL "
+            + "ORDER BY target_calories_stale_since", nativeQuery = true)
+    List<String> findTargetCaloriesStaleUsernames();
+}
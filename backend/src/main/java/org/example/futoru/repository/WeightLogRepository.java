@@ -1,8 +1,14 @@
 package org.example.futoru.repository;
 
+import jakarta.persistence.LockModeType;
+import org.example.futoru.dto.WeightPointDto;
 import org.example.futoru.entity.User;
 import org.example.futoru.entity.WeightLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,12 +23,68 @@ import java.util.Optional;
  */
 public interface WeightLogRepository extends JpaRepository<WeightLog, Long> {
 
-    /** 指定されたユーザーの体重記録を日付の昇順で取得する（グラフ表示用）。 */
-    List<WeightLog> findByUserOrderByDateAsc(User user);
-
     /** 指定されたユーザーと日付に一致する体重記録を取得する（重複チェックや更新用）。 */
     Optional<WeightLog> findByUserAndDate(User user, LocalDate date);
 
+    /**
+     * 指定されたユーザーと日付に一致する体重記録を、行ロックを取得して取得する。
+     * <p>
+     * 更新前の値が必要な場合（適応型TDEE推定モデルの差分更新）に使用する。
+     * 記録が存在しない場合も一意インデックスの範囲がロックされるため、同じ日付の同時登録は直列化される。
+     * </p>
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<WeightLog> findLockedByUserAndDate(User user, LocalDate date);
+
+    /**
+     * {@link #upsert} のSQL。一括取込（{@code WeightImportService}）でも、同じSQLをJDBCバッチで使用する。
+     * <p>
+     * 更新値の参照に {@code VALUES(weight)} を使用している。MySQL 8.0.20 以降では非推奨（警告のみ）で、
+     * 行エイリアス（{@code VALUES (...) AS new ... weight = new.weight}）への置き換えが推奨されているが、
+     * テストで使用するH2のMySQL互換モードは行エイリアスに対応していないため、両方で動く書き方としている。
+     * </p>
+     */
+    String UPSERT_SQL = "INSERT INTO weight_logs (user_id, date, weight) VALUES (:userId, :date, :weight) "
+            + "ON DUPLICATE KEY UPDATE weight = VALUES(weight)";
+
+    /**
+     * 体重を登録する。同じユーザー・日付の記録が既にある場合は体重を上書きする。
+     * <p>
+     * {@code (user_id, date)} の一意制約を利用した {@code INSERT ... ON DUPLICATE KEY UPDATE} のため、
+     * 既存行の検索と保存を1文で行い、同時に登録されても同じ日付の行が重複しない。
+     * </p>
+     *
+     * @param userId 対象ユーザーのID
+     * @param date   記録日
+     * @param weight 体重 (kg)
+     */
+    @Modifying
+    @Query(value = UPSERT_SQL, nativeQuery = true)
+    void upsert(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("weight") double weight);
+
     /** 最新の体重を取得（日付の新しい順に並べて、最初の1件を取る）。 */
     Optional<WeightLog> findFirstByUserOrderByDateDesc(User user);
-}
\ No newline at end of file
+
+    /** 指定されたユーザーの体重記録が1件以上あるかを判定する（プロフィール完了判定用）。 */
+    boolean existsByUser(User user);
+
+    /**
+     * 指定されたユーザー・期間の体重推移を日付の昇順で取得する（グラフ表示用）。
+     * <p>
+     * エンティティではなく日付と体重の2列のみをDTOとして取得するため、
+     * 永続化コンテキストへの登録やUserの関連解決が発生しない。
+     * {@code (user_id, date)} の一意制約のインデックスを範囲走査するため、ソートも発生しない。
+     * </p>
+     *
+     * @param user 対象のユーザー
+     * @param from 期間の開始日（この日を含む）
+     * @param to   期間の終了日（この日を含む）
+     * @return 日付昇順の体重データリスト
+     */
+    @Query("SELECT new org.example.futoru.dto.WeightPointDto(w.date, w.weight) "
+            + "FROM WeightLog w WHERE w.user = :user AND w.date BETWEEN :from AND :to AND w.weight IS NOT NULL "
+            + "ORDER BY w.date ASC")
+    List<WeightPointDto> findPointsByUserAndDateBetween(@Param("user") User user,
+                                                        @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to);
+}
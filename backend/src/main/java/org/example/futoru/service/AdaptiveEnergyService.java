@@ -0,0 +1,215 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.DailyTotalDto;
+import org.example.futoru.dto.EnergyModel;
+import org.example.futoru.dto.WeightPointDto;
+import org.example.futoru.entity.AdaptiveEnergyState;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.AdaptiveEnergyStateRepository;
+import org.example.futoru.repository.MealLogRepository;
+import org.example.futoru.repository.UserRepository;
+import org.example.futoru.repository.WeightLogRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * 適応型TDEE推定モデルの回帰状態（AdaptiveEnergyState）を管理するサービスクラス。
+ * <p>
+ * 適応型（{@link EnergyModel#ADAPTIVE}）を選択したユーザーについて、体重・食事の記録時に
+ * 同一トランザクション内で回帰状態へ差分を加算する。推定時は回帰状態1行を参照するだけで済み、履歴を走査しない。
+ * 回帰状態が存在しない場合（適応型へ切り替えた直後など）のみ、履歴から1回だけ作成する。
+ * 回帰状態の更新・作成の前にはユーザーの行をロックし、同じユーザーの記録が同時に行われても
+ * 回帰状態の作成が競合しない（一意制約違反やデッドロックにならない）ようにする。
+ * </p>
+ * <p>
+ * 各記録の重みは {@link #decayWeight} の指数減衰で、記録日が {@value #HALF_LIFE_DAYS} 日古くなるごとに半分になる。
+ * 重みは固定の基準日 {@link #EPOCH} からの経過日数で決まるため、新しい記録を加えても既存の累積和を掛け直す必要はない
+ * （推定時に重みの和で割って正規化する）。
+ * 重みが倍精度浮動小数点数の範囲に収まるよう、{@link #LATEST_DATE} より後の日付の記録は対象外とする。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class AdaptiveEnergyService {
+
+    /** 経過日数の基準日 */
+    static final LocalDate EPOCH = LocalDate.of(2025, 1, 1);
+
+    /** 重みが半分になる日数 */
+    static final double HALF_LIFE_DAYS = 30.0;
+
+    /** 回帰状態に加算する記録日の上限（重みの桁あふれを防ぐため） */
+    static final LocalDate LATEST_DATE = LocalDate.of(2099, 12, 31);
+
+    /** 履歴から回帰状態を作成する際の、記録日の下限 */
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1900, 1, 1);
+
+    private final AdaptiveEnergyStateRepository stateRepository;
+    private final WeightLogRepository weightLogRepository;
+    private final MealLogRepository mealLogRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * 指定された日の記録に掛ける重みを求める。
+     * <p>
+     * 重みは基準日から {@value #HALF_LIFE_DAYS} 日ごとに2倍に増え続ける（{@link #LATEST_DATE} で約 2<sup>900</sup>）。
+     * 累積和（Σa·t² など）が倍精度浮動小数点数の上限（約 2<sup>1024</sup>）を超えないよう、
+     * 上限日より後の記録は回帰状態に加算せず、推定に使用されない（プロフィール画面にも記載している）。
+     * 上限日を延ばす場合は、基準日を進めて保存済みの累積和を掛け直すこと。
+     * </p>
+     *
+     * @param t 基準日からの経過日数（{@link #daysSinceEpoch}）
+     * @return 重み（基準日で 1、{@value #HALF_LIFE_DAYS} 日ごとに2倍）
+     */
+    public static double decayWeight(long t) {
+        return Math.pow(2.0, t / HALF_LIFE_DAYS);
+    }
+
+    /**
+     * 基準日からの経過日数を求める。
+     *
+     * @param date 記録日
+     * @return 経過日数（基準日より前の場合は負の値）
+     */
+    static long daysSinceEpoch(LocalDate date) {
+        return date.toEpochDay() - EPOCH.toEpochDay();
+    }
+
+    /**
+     * 体重の記録（新規・更新）を回帰状態へ反映する。
+     * 適応型を選択していないユーザーの場合は何もしない。
+     *
+     * @param user           対象ユーザー
+     * @param date           記録日
+     * @param previousWeight 更新前の体重（新規記録の場合は null）
+     * @param weight         記録した体重 (kg)
+     */
+    public void applyWeightChange(User user, LocalDate date, Double previousWeight, double weight) {
+        if (!isAdaptive(user) || date.isAfter(LATEST_DATE)) {
+            return;
+        }
+        long t = daysSinceEpoch(date);
+        double a = decayWeight(t);
+
+        userRepository.lockById(user.getId());
+        int updated;
+        if (previousWeight == null) {
+            updated = stateRepository.applyWeightDelta(user, 1, a, a * t, a * t * t, a * weight, a * t * weight);
+        } else {
+            double delta = weight - previousWeight;
+            updated = stateRepository.applyWeightDelta(user, 0, 0, 0, 0, a * delta, a * t * delta);
+        }
+        if (updated == 0) {
+            createFromHistory(user);
+        }
+    }
+
+    /**
+     * 1日分の摂取カロリーの変更を回帰状態へ反映する。
+     * 適応型を選択していないユーザーの場合は何もしない。
+     *
+     * @param user          対象ユーザー
+     * @param date          対象日
+     * @param caloriesDelta その日の合計摂取カロリーの差分
+     * @param daysDelta     記録日数の差分（その日の記録が 0件⇔1件以上 に変わった場合のみ ±1）
+     */
+    public void applyIntakeChange(User user, LocalDate date, long caloriesDelta, int daysDelta) {
+        if (!isAdaptive(user) || date.isAfter(LATEST_DATE)) {
+            return;
+        }
+        double a = decayWeight(daysSinceEpoch(date));
+
+        userRepository.lockById(user.getId());
+        int updated = stateRepository.applyIntakeDelta(user, daysDelta, a * daysDelta, a * caloriesDelta);
+        if (updated == 0) {
+            createFromHistory(user);
+        }
+    }
+
+    /**
+     * 推定モデルの変更に合わせて回帰状態を作り直す。
+     * <p>
+     * 既存の回帰状態は削除し、適応型を選択している場合のみ履歴から作成し直す
+     * （適応型以外の間は差分が反映されないため、古い状態を残さない）。
+     * </p>
+     *
+     * @param user 推定モデルを変更したユーザー
+     */
+    public void reset(User user) {
+        userRepository.lockById(user.getId());
+        stateRepository.deleteByUser(user);
+        if (isAdaptive(user)) {
+            createFromHistory(user);
+        }
+    }
+
+    /**
+     * 指定されたユーザーの回帰状態を取得する。
+     *
+     * @param user 対象ユーザー
+     * @return 回帰状態のOptional（未作成の場合はEmpty）
+     */
+    @Transactional(readOnly = true)
+    public Optional<AdaptiveEnergyState> findState(User user) {
+        return stateRepository.findByUser(user);
+    }
+
+    /**
+     * 体重記録と日ごとの摂取カロリーの全履歴から回帰状態を作成する。
+     * （呼び出し元の変更は集計時に自動フラッシュされ反映済み）
+     */
+    private void createFromHistory(User user) {
+        AdaptiveEnergyState state = new AdaptiveEnergyState();
+        state.setUser(user);
+
+        int weightCount = 0;
+        double sum = 0, sumT = 0, sumTt = 0, sumY = 0, sumTy = 0;
+        for (WeightPointDto point : weightLogRepository.findPointsByUserAndDateBetween(user, EARLIEST_DATE, LATEST_DATE)) {
+            long t = daysSinceEpoch(point.getDate());
+            double a = decayWeight(t);
+            double y = point.getWeight();
+            weightCount++;
+            sum += a;
+            sumT += a * t;
+            sumTt += a * t * t;
+            sumY += a * y;
+            sumTy += a * t * y;
+        }
+        state.setWeightCount(weightCount);
+        state.setWeightSum(sum);
+        state.setWeightSumT(sumT);
+        state.setWeightSumTt(sumTt);
+        state.setWeightSumY(sumY);
+        state.setWeightSumTy(sumTy);
+
+        int intakeDays = 0;
+        double intakeSum = 0, intakeSumCalories = 0;
+        for (DailyTotalDto day : mealLogRepository.sumDailyCaloriesByUserAndEatenAtRange(
+                user, EARLIEST_DATE.atStartOfDay(), LATEST_DATE.plusDays(1).atStartOfDay())) {
+            if (day.getEntryCount() > 0) {
+                double a = decayWeight(daysSinceEpoch(day.getDate()));
+                intakeDays++;
+                intakeSum += a;
+                intakeSumCalories += a * day.getTotalCalories();
+            }
+        }
+        state.setIntakeDays(intakeDays);
+        state.setIntakeSum(intakeSum);
+        state.setIntakeSumCalories(intakeSumCalories);
+
+        stateRepository.save(state);
+    }
+
+    /**
+     * ユーザーが適応型の推定モデルを選択しているかを判定する。
+     * 適応型以外のユーザーでは、回帰状態の更新に必要な値（更新前の体重など）の取得を省略できる。
+     */
+    public static boolean isAdaptive(User user) {
+        return EnergyModel.from(user.getEnergyModel()) == EnergyModel.ADAPTIVE;
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.EnergyModel;
+import org.example.futoru.dto.EnergyProfile;
+import org.example.futoru.entity.AdaptiveEnergyState;
+import org.springframework.stereotype.Component;
+
+/**
+ * 実際の記録からTDEEを逆算する適応型の推定モデル。
+ * <p>
+ * エネルギー収支（摂取 - 消費 = 体重変化 × {@value #KCAL_PER_KG} kcal/kg）から、
+ * TDEE = 平均摂取カロリー - {@value #KCAL_PER_KG} × 体重の傾き (kg/日) として推定する。
+ * 体重の傾きは日付に対する重み付き最小二乗法の回帰直線で求め、
+ * 平均摂取カロリーは食事を記録した日の重み付き平均とする（記録のない日は摂取 0 ではなく不明として扱う）。
+ * 必要な累積和は {@link AdaptiveEnergyService} が記録のたびに更新しており、ここでは回帰状態1行から計算するだけで済む。
+ * </p>
+ * <p>
+ * 記録が少ない間や、推定値が明らかに不自然な場合は推定できない（{@link Double#NaN} を返す）。
+ * </p>
+ */
+@Component
+public class AdaptiveTdeeModel implements EnergyExpenditureModel {
+
+    /** 体脂肪1kgあたりのエネルギー量 (kcal) */
+    static final double KCAL_PER_KG = 7700.0;
+
+    /** 推定に必要な体重の記録件数 */
+    static final int MIN_WEIGHT_COUNT = 5;
+
+    /** 推定に必要な食事の記録日数 */
+    static final int MIN_INTAKE_DAYS = 7;
+
+    /** 推定に必要な記録日の（重み付き）分散。記録が数日に固まっている場合は傾きが不安定なため推定しない */
+    static final double MIN_DAY_VARIANCE = 25.0;
+
+    /** 推定値として採用するTDEEの範囲 (kcal) */
+    static final double MIN_TDEE = 800.0;
+    static final double MAX_TDEE = 6000.0;
+
+    @Override
+    public EnergyModel getType() {
+        return EnergyModel.ADAPTIVE;
+    }
+
+    @Override
+    public double estimateTdee(EnergyProfile profile) {
+        AdaptiveEnergyState state = profile.getAdaptiveState();
+        if (state == null
+                || state.getWeightCount() < MIN_WEIGHT_COUNT
+                || state.getIntakeDays() < MIN_INTAKE_DAYS) {
+            return Double.NaN;
+        }
+
+        // 重みの和で正規化した平均・分散・共分散から回帰直線の傾きを求める
+        double meanT = state.getWeightSumT() / state.getWeightSum();
+        double meanY = state.getWeightSumY() / state.getWeightSum();
+        double varianceT = state.getWeightSumTt() / state.getWeightSum() - meanT * meanT;
+        double covariance = state.getWeightSumTy() / state.getWeightSum() - meanT * meanY;
+        if (!(varianceT >= MIN_DAY_VARIANCE)) {
+            return Double.NaN;
+        }
+        double slope = covariance / varianceT;
+
+        double averageIntake = state.getIntakeSumCalories() / state.getIntakeSum();
+        double tdee = averageIntake - KCAL_PER_KG * slope;
+        return tdee >= MIN_TDEE && tdee <= MAX_TDEE ? tdee : Double.NaN;
+    }
+}
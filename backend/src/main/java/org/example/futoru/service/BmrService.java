@@ -5,7 +5,6 @@ import org.example.futoru.dto.ActivityLevel;
 import org.example.futoru.dto.BmrRequest;
 import org.example.futoru.dto.BmrResponse;
 import org.example.futoru.dto.Gender;
-import org.example.futoru.entity.User;
 import org.springframework.stereotype.Service;
 
 /**
@@ -33,36 +32,42 @@ public class BmrService {
     private static final int MALE_OFFSET = 5;
     private static final int FEMALE_OFFSET = -161;
 
+    /** 活動レベルの一覧（{@code values()} の呼び出しごとの配列コピーを避けるため保持する） */
+    private static final ActivityLevel[] ACTIVITY_LEVELS = ActivityLevel.values();
+
     /**
-     * ユーザー情報と体重を受け取り、目標摂取カロリーを計算する。
+     * プリミティブ値のみで目標摂取カロリーを計算する。
      * <p>
-     * データの取得（DBアクセス）は呼び出し元で行い、このメソッドには
-     * 確定した User エンティティと 現在の体重 を渡すこと。
+     * 一括再計算のように大量のユーザーを処理する経路向けの計算カーネルで、
+     * DTOやEnumの変換を行わずオブジェクトを一切生成しない。
+     * 結果は {@link #calculate(BmrRequest)} の目標カロリー（小数点第1位で四捨五入）を整数に切り捨てた値と一致する。
      * </p>
      *
-     * @param user          ユーザーエンティティ
-     * @param currentWeight 現在の体重 (kg)
+     * @param weight             体重 (kg)
+     * @param height             身長 (cm)
+     * @param age                年齢
+     * @param male               男性の場合 true
+     * @param activityMultiplier 活動レベルの係数（{@link #activityMultiplier(String)} で求める）
      * @return 1日の目標摂取カロリー (kcal)
      */
-    public int calculateTargetCalories(User user, Double currentWeight) {
-        if (currentWeight == null) {
-            throw new IllegalStateException("体重データが存在しません。ユーザー: " + user.getUsername());
-        }
-        if (user.getHeight() == null || user.getAge() == null) {
-            throw new IllegalStateException("プロフィール情報（身長・年齢）が不足しています。ユーザー: " + user.getUsername());
-        }
-
-        // 計算用リクエストDTOの構築
-        BmrRequest request = new BmrRequest();
-        request.setHeight(user.getHeight());
-        request.setWeight(currentWeight);
-        request.setAge(user.getAge());
-        request.setGender(convertGender(user.getGender()));
-        request.setActivityLevel(convertActivityLevel(user.getActivityLevel()));
-
-        BmrResponse response = calculate(request);
+    public static int calculateTargetCalories(double weight, double height, int age, boolean male,
+                                              double activityMultiplier) {
+        return toTargetCalories(bmr(weight, height, age, male) * activityMultiplier);
+    }
 
-        return (int) response.getTargetCalories();
+    /**
+     * TDEEに増量用の余剰カロリーを上乗せし、目標摂取カロリーに換算する。
+     * <p>
+     * 小数点第1位で四捨五入した値を整数に切り捨てる。
+     * 推定モデル（{@link EnergyExpenditureModel}）に関わらず、目標カロリーはすべてこの規則で求める。
+     * </p>
+     *
+     * @param tdee TDEE (kcal)
+     * @return 1日の目標摂取カロリー (kcal)
+     */
+    public static int toTargetCalories(double tdee) {
+        double targetCalories = tdee + SURPLUS_CALORIES_FOR_GAIN;
+        return (int) (Math.round(targetCalories * 10.0) / 10.0);
     }
 
     /**
@@ -77,7 +82,8 @@ public class BmrService {
      * @return 計算結果を含むレスポンスDTO
      */
     public BmrResponse calculate(BmrRequest request) {
-        double bmr = calculateBmr(request);
+        double bmr = bmr(request.getWeight(), request.getHeight(), request.getAge(),
+                request.getGender() == Gender.MALE);
         double tdee = calculateTdee(bmr, request.getActivityLevel());
         double targetCalories = tdee + SURPLUS_CALORIES_FOR_GAIN;
 
@@ -95,19 +101,18 @@ public class BmrService {
      * <br>
      * 計算式: (10 × 体重kg) + (6.25 × 身長cm) - (5 × 年齢) + 性別補正値
      *
-     * @param req 身体データ
+     * @param weight 体重 (kg)
+     * @param height 身長 (cm)
+     * @param age    年齢
+     * @param male   男性の場合 true
      * @return 基礎代謝量 (kcal)
      */
-    private double calculateBmr(BmrRequest req) {
-        double baseResult = (WEIGHT_MULTIPLIER * req.getWeight())
-                + (HEIGHT_MULTIPLIER * req.getHeight())
-                - (AGE_MULTIPLIER * req.getAge());
-
-        if (req.getGender() == Gender.MALE) {
-            return baseResult + MALE_OFFSET;
-        } else {
-            return baseResult + FEMALE_OFFSET;
-        }
+    static double bmr(double weight, double height, int age, boolean male) {
+        double baseResult = (WEIGHT_MULTIPLIER * weight)
+                + (HEIGHT_MULTIPLIER * height)
+                - (AGE_MULTIPLIER * age);
+
+        return baseResult + (male ? MALE_OFFSET : FEMALE_OFFSET);
     }
 
     /**
@@ -129,27 +134,36 @@ public class BmrService {
     }
 
     /**
-     * DB保存値(String)をGender Enumに変換する。
-     * nullまたは不正値の場合はデフォルトでMALEを返す。
+     * DB保存値(String)の性別が男性かどうかを判定する。
+     * nullまたは不正値の場合はデフォルトで男性として扱う（従来の Gender 変換と同じ規則）。
+     *
+     * @param genderStr DB保存値（"MALE" / "FEMALE" / "男性" など）
+     * @return 男性として計算する場合 true
      */
-    private Gender convertGender(String genderStr) {
-        if (genderStr == null) return Gender.MALE;
-        if (genderStr.equalsIgnoreCase("MALE") || genderStr.equals("男性")) {
-            return Gender.MALE;
-        }
-        return Gender.FEMALE;
+    public static boolean isMale(String genderStr) {
+        if (genderStr == null) return true;
+        return genderStr.equalsIgnoreCase("MALE") || genderStr.equals("男性");
     }
 
     /**
-     * DB保存値(String)をActivityLevel Enumに変換する。
-     * 変換失敗時はデフォルトでLOWを返す。
+     * DB保存値(String)の活動レベルに対応する係数を返す。
+     * <p>
+     * 大文字・小文字を区別せずに {@link ActivityLevel} の名前と照合する。
+     * 文字列の変換や例外の生成を伴わないため、一括処理の1行ごとに呼び出しても割り当てが発生しない。
+     * nullまたは不正値の場合はLOWの係数を返す。
+     * </p>
+     *
+     * @param levelStr DB保存値（"LOW" / "MID" / "HIGH"）
+     * @return 活動レベルの係数
      */
-    private ActivityLevel convertActivityLevel(String levelStr) {
-        if (levelStr == null) return ActivityLevel.LOW;
-        try {
-            return ActivityLevel.valueOf(levelStr.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            return ActivityLevel.LOW;
+    public static double activityMultiplier(String levelStr) {
+        if (levelStr != null) {
+            for (ActivityLevel level : ACTIVITY_LEVELS) {
+                if (level.name().equalsIgnoreCase(levelStr)) {
+                    return level.getMultiplier();
+                }
+            }
         }
+        return ActivityLevel.LOW.getMultiplier();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,111 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.CalorieTotalDto;
+import org.example.futoru.dto.CalorieTrendDto;
+import org.example.futoru.dto.TrendPeriod;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.CalorieRollupRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 週・月単位の摂取カロリー集計（CalorieRollup）を管理するサービスクラス。
+ * <p>
+ * 日別集計の変更（変更前・変更後の値）を受け取り、その日を含む週と月の集計行へ差分を反映する。
+ * 推移の表示では、食事記録を全件集計する代わりに、表示する期間数分の集計行だけを参照する。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CalorieRollupService {
+
+    /** 期間の指定がない場合に返却する期間数 */
+    static final int DEFAULT_PERIOD_COUNT = 12;
+
+    /** 1回のリクエストで返却する最大の期間数 */
+    static final int MAX_PERIOD_COUNT = 520;
+
+    private final CalorieRollupRepository rollupRepository;
+    private final UserService userService;
+    private final Clock clock;
+
+    /**
+     * 1日分の集計値の変更を、その日を含む週・月の集計へ反映する。
+     * <p>
+     * 記録日数・目標達成日数は、変更前後でその日の状態が変わった場合のみ増減する。
+     * 目標達成の判定には、日別集計に保存されたその日の目標カロリーを使用する
+     * （現在の目標カロリーで判定すると、目標の変更後に過去の日の判定が変わり、集計がずれるため）。
+     * </p>
+     *
+     * @param user   対象ユーザー
+     * @param date   対象日
+     * @param before 変更前のその日の集計値
+     * @param after  変更後のその日の集計値
+     */
+    public void applyDayChange(User user, LocalDate date, CalorieTotalDto before, CalorieTotalDto after) {
+        long caloriesDelta = after.getTotalCalories() - before.getTotalCalories();
+        int daysLoggedDelta = (after.getEntryCount() > 0 ? 1 : 0) - (before.getEntryCount() > 0 ? 1 : 0);
+        int daysOnTargetDelta = (isOnTarget(after) ? 1 : 0) - (isOnTarget(before) ? 1 : 0);
+
+        for (TrendPeriod period : TrendPeriod.values()) {
+            rollupRepository.upsertDelta(user.getId(), period.name(), period.startOf(date),
+                    caloriesDelta, daysLoggedDelta, daysOnTargetDelta);
+        }
+    }
+
+    /**
+     * 指定ユーザーの週・月単位の摂取カロリー推移を取得する。
+     * <p>
+     * 期間の範囲が省略された場合は、今日を含む期間までの直近 {@value #DEFAULT_PERIOD_COUNT} 期間を返す。
+     * 記録のない期間も、値が 0 の要素として含める（グラフの横軸が途切れないようにするため）。
+     * </p>
+     *
+     * @param username 対象ユーザー名
+     * @param period   集計単位
+     * @param from     開始日（この日を含む期間から。null の場合は {@code to} から遡って決定）
+     * @param to       終了日（この日を含む期間まで。null の場合は今日）
+     * @return 開始日の古い順の推移リスト
+     * @throws IllegalArgumentException 開始日が終了日より後の場合、期間数が上限を超える場合
+     */
+    @Transactional(readOnly = true)
+    public List<CalorieTrendDto> getTrends(String username, TrendPeriod period, LocalDate from, LocalDate to) {
+        LocalDate last = period.startOf(to != null ? to : LocalDate.now(clock));
+        LocalDate first = from != null ? period.startOf(from) : period.minus(last, DEFAULT_PERIOD_COUNT - 1);
+        if (first.isAfter(last)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (!period.minus(last, MAX_PERIOD_COUNT).isBefore(first)) {
+            throw new IllegalArgumentException("Too many periods requested (max " + MAX_PERIOD_COUNT + ")");
+        }
+
+        User user = userService.getUserByUsername(username);
+        Map<LocalDate, CalorieTrendDto> rows = rollupRepository.findTrends(user, period.name(), first, last).stream()
+                .collect(Collectors.toMap(CalorieTrendDto::getPeriodStart, Function.identity()));
+
+        List<CalorieTrendDto> trends = new ArrayList<>();
+        for (LocalDate start = first; !start.isAfter(last); start = period.next(start)) {
+            CalorieTrendDto row = rows.get(start);
+            trends.add(row != null ? row : new CalorieTrendDto(start, 0L, 0, 0));
+        }
+        return trends;
+    }
+
+    /**
+     * 1日分の集計値が目標カロリーを達成しているか判定する。
+     * 増量を目的とするため、記録があり合計が目標以上であれば達成とみなす。
+     */
+    private static boolean isOnTarget(CalorieTotalDto day) {
+        Integer target = day.getTargetCalories();
+        return day.getEntryCount() > 0 && target != null && day.getTotalCalories() >= target;
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.CalorieTotalDto;
+import org.example.futoru.entity.DailyCalorieSummary;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.DailyCalorieSummaryRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+/**
+ * 日別の摂取カロリー集計（DailyCalorieSummary）を管理するサービスクラス。
+ * <p>
+ * 食事記録の追加・削除時に呼び出され、集計行へ差分（カロリー・件数）を反映する。
+ * 読み取り側は当日の全食事記録を合計する代わりに、集計行1件を参照するだけで済む。
+ * 集計行が存在しない日は記録がないものとして扱う（機能導入前の記録の集計行はマイグレーションで補完済み）。
+ * 日別集計の変更は、同一トランザクション内で週・月単位の集計（{@link CalorieRollupService}）と、
+ * 適応型TDEE推定モデルの回帰状態（{@link AdaptiveEnergyService}）にも反映する。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CalorieSummaryService {
+
+    private final DailyCalorieSummaryRepository summaryRepository;
+    private final CalorieRollupService calorieRollupService;
+    private final AdaptiveEnergyService adaptiveEnergyService;
+    private final UserDataVersionService userDataVersionService;
+
+    /**
+     * 食事記録の追加・削除による差分を日別集計へ反映する。
+     * <p>
+     * 集計行への加算（未作成の場合は作成）は {@link DailyCalorieSummaryRepository#upsertDelta} の1文で行い、
+     * 同じ日の最初の食事が同時に記録されても失敗しない。
+     * </p>
+     *
+     * @param user          対象ユーザー
+     * @param date          食事をした日
+     * @param caloriesDelta カロリーの差分（削除時は負の値）
+     * @param countDelta    件数の差分（追加時は 1、削除時は -1）
+     */
+    public void applyMealDelta(User user, LocalDate date, int caloriesDelta, int countDelta) {
+        summaryRepository.upsertDelta(user.getId(), date, caloriesDelta, countDelta, user.getTargetCalories());
+        CalorieTotalDto after = summaryRepository.findTotalByUserAndSummaryDate(user, date)
+                .orElseThrow(() -> new IllegalStateException("Daily summary not found: " + date));
+
+        // 変更前の値は変更後の値から差分を引いて求め、週・月単位の集計へ反映する
+        CalorieTotalDto before = new CalorieTotalDto(
+                after.getTotalCalories() - caloriesDelta, after.getEntryCount() - countDelta, after.getTargetCalories());
+        calorieRollupService.applyDayChange(user, date, before, after);
+        adaptiveEnergyService.applyIntakeChange(user, date, caloriesDelta,
+                (after.getEntryCount() > 0 ? 1 : 0) - (before.getEntryCount() > 0 ? 1 : 0));
+        userDataVersionService.markModified(user.getUsername());
+    }
+
+    /**
+     * 指定日の合計摂取カロリーを取得する。
+     * 集計行がない日は、食事の記録がないため 0 を返す。
+     *
+     * @param user 対象ユーザー
+     * @param date 対象日
+     * @return 合計摂取カロリー (kcal)
+     */
+    @Transactional(readOnly = true)
+    public int getDailyCalories(User user, LocalDate date) {
+        return summaryRepository.findByUserAndSummaryDate(user, date)
+                .map(DailyCalorieSummary::getTotalCalories)
+                .orElse(0);
+    }
+}
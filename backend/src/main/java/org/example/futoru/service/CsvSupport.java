@@ -0,0 +1,54 @@
+package org.example.futoru.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSVの取込処理で共通して使用する、1行分の分割などの補助メソッド。
+ * <p>
+ * ダブルクォートで囲まれた値（カンマや {@code ""} を含む値）に対応するが、値の中の改行には対応しない。
+ * </p>
+ */
+final class CsvSupport {
+
+    private CsvSupport() {
+    }
+
+    /**
+     * UTF-8のBOM付きで保存されたファイルの場合、先頭行からBOMを取り除く。
+     */
+    static String stripBom(String line) {
+        return line.startsWith("\uFEFF") ? line.substring(1) : line;
+    }
+
+    /**
+     * 1行をカンマ区切りで値のリストに分割する。
+     */
+    static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    sb.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    sb.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(sb.toString());
+                sb.setLength(0);
+            } else {
+                sb.append(c);
+            }
+        }
+        values.add(sb.toString());
+        return values;
+    }
+}
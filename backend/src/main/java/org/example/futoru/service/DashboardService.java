@@ -0,0 +1,145 @@
+package org.example.futoru.service;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.DashboardDto;
+import org.example.futoru.dto.DashboardViewDto;
+import org.example.futoru.dto.FoodUpdateResponse;
+import org.example.futoru.dto.MealLogDto;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.MealLogRepository;
+import org.example.futoru.repository.WeightLogRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * ダッシュボード画面（トップページ）の表示データを構築する読み取り専用サービスクラス。
+ * <p>
+ * 従来はコントローラーが複数のサービスを呼び分けており、その都度ユーザー検索や
+ * 体重履歴の全件取得が重複していた。本サービスではユーザーを1回だけ検索し、
+ * 当日の食事履歴とカロリー摂取状況を取得して画面モデルを組み立てる。
+ * 食品リストや体重推移は画面に埋め込まず、それぞれ検索API（/api/food/search）・
+ * 体重推移API（/api/weight/series）から必要な分だけ取得させる。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Timed(value = "futoru.service", histogram = true)
+@Transactional(readOnly = true)
+public class DashboardService {
+
+    private final UserService userService;
+    private final CalorieSummaryService calorieSummaryService;
+    private final MealLogRepository mealLogRepository;
+    private final WeightLogRepository weightLogRepository;
+    private final TargetCalorieWorker targetCalorieWorker;
+    private final Clock clock;
+
+    /**
+     * ダッシュボード画面の表示データを一括で構築する。
+     * <p>
+     * プロフィール完了判定（体重ログが1件以上あるか）は存在確認のクエリのみで行い、体重履歴は読み込まない。
+     * プロフィールが未完了の場合は以降のクエリを実行せずに返却する。
+     * </p>
+     *
+     * @param username 対象ユーザー名
+     * @return ダッシュボード表示用DTO
+     */
+    public DashboardViewDto buildDashboard(String username) {
+        User user = userService.getUserByUsername(username);
+
+        if (user.getHeight() == null || !weightLogRepository.existsByUser(user)) {
+            return DashboardViewDto.incomplete();
+        }
+
+        List<MealLogDto> todayLogs = findTodayHistory(user);
+        DashboardDto dashboard = buildCalorieStatus(user);
+
+        return new DashboardViewDto(
+                true,
+                dashboard,
+                calculateProgress(dashboard),
+                todayLogs
+        );
+    }
+
+    /**
+     * 食事記録の追加・削除APIに返却する、画面の部分更新用データを構築する。
+     * <p>
+     * 摂取カロリーは日別集計から取得し、食事履歴は一覧の再描画用にのみ取得する。
+     * </p>
+     *
+     * @param username 対象ユーザー名
+     * @return 画面更新用DTO
+     */
+    public FoodUpdateResponse buildFoodUpdateResponse(String username) {
+        User user = userService.getUserByUsername(username);
+
+        List<MealLogDto> history = findTodayHistory(user);
+        DashboardDto dashboard = buildCalorieStatus(user);
+
+        return new FoodUpdateResponse(dashboard, calculateProgress(dashboard), history);
+    }
+
+    /**
+     * 当日の食事履歴を表示用DTOとして取得する。
+     */
+    private List<MealLogDto> findTodayHistory(User user) {
+        // 当日の範囲を設定 (例: 2025-01-01 00:00:00 ～ 23:59:59)
+        LocalDate today = LocalDate.now(clock);
+        LocalDateTime start = today.atStartOfDay();
+        LocalDateTime end = today.atTime(LocalTime.MAX);
+        return mealLogRepository.findHistoryByUserAndEatenAtBetween(user, start, end);
+    }
+
+    /**
+     * 当日のカロリー摂取状況（目標、現在値、残り）を構築する。
+     * 現在値は食事記録を合計せず、日別集計の1行から取得する。
+     * 目標値の再計算が未完了の場合は、保存済みの値の代わりにその場で計算した最新の値を使用する。
+     */
+    private DashboardDto buildCalorieStatus(User user) {
+        int currentCalories = calorieSummaryService.getDailyCalories(user, LocalDate.now(clock));
+        int targetCalories = currentTargetCalories(user);
+
+        return new DashboardDto(
+                targetCalories,
+                currentCalories,
+                targetCalories - currentCalories
+        );
+    }
+
+    /**
+     * 表示する目標カロリーを取得する。
+     * 再計算が未完了（{@link TargetCalorieWorker#isPending}）の場合のみ、最新の体重から計算し直す。
+     */
+    private int currentTargetCalories(User user) {
+        if (targetCalorieWorker.isPending(user.getUsername())) {
+            Integer fresh = userService.calculateCurrentTargetCalories(user);
+            if (fresh != null) {
+                return fresh;
+            }
+        }
+        return user.getTargetCalories();
+    }
+
+    /**
+     * 目標カロリーに対する進捗率を計算する（最大100%に制限）。
+     *
+     * @param dashboard カロリー摂取状況
+     * @return 進捗率 (%)
+     */
+    private int calculateProgress(DashboardDto dashboard) {
+        int targetCalories = dashboard.getTargetCalories();
+        if (targetCalories <= 0) {
+            return 0;
+        }
+        int progress = (int) ((double) dashboard.getCurrentCalories() / targetCalories * 100);
+        return Math.min(progress, 100);
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.EnergyModel;
+import org.example.futoru.dto.EnergyProfile;
+
+/**
+ * TDEE（総エネルギー消費量）の推定モデルを表すインターフェース。
+ * <p>
+ * 実装クラスはSpringのBeanとして登録し、{@link EnergyExpenditureService} がユーザーの選択
+ * （{@code User.energyModel}）に応じて使い分ける。
+ * 推定に必要なデータが不足している場合は {@link Double#NaN} を返し、
+ * 呼び出し元は既定の Mifflin-St Jeor式で計算し直す。
+ * </p>
+ */
+public interface EnergyExpenditureModel {
+
+    /**
+     * このモデルの種類を返す。
+     *
+     * @return 推定モデルの種類
+     */
+    EnergyModel getType();
+
+    /**
+     * TDEEを推定する。
+     *
+     * @param profile ユーザーの身体データと現在の体重
+     * @return TDEE (kcal)。推定できない場合は {@link Double#NaN}
+     */
+    double estimateTdee(EnergyProfile profile);
+}
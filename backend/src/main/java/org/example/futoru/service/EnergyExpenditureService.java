@@ -0,0 +1,97 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.EnergyModel;
+import org.example.futoru.dto.EnergyProfile;
+import org.example.futoru.entity.AdaptiveEnergyState;
+import org.example.futoru.entity.User;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ユーザーが選択したTDEE推定モデルで目標摂取カロリーを計算するサービスクラス。
+ * <p>
+ * 推定モデル（{@link EnergyExpenditureModel} の実装Bean）を {@link EnergyModel} ごとに保持し、
+ * {@code User.energyModel} に応じて使い分ける。選択したモデルで推定できない場合
+ * （体脂肪率が未設定、適応型の記録が不足しているなど）は、既定の Mifflin-St Jeor式で計算する。
+ * 目標カロリーへの換算（余剰カロリーの上乗せと丸め）は {@link BmrService#toTargetCalories} に統一する。
+ * </p>
+ */
+@Service
+@Transactional(readOnly = true)
+public class EnergyExpenditureService {
+
+    private final Map<EnergyModel, EnergyExpenditureModel> models = new EnumMap<>(EnergyModel.class);
+    private final AdaptiveEnergyService adaptiveEnergyService;
+
+    public EnergyExpenditureService(List<EnergyExpenditureModel> models, AdaptiveEnergyService adaptiveEnergyService) {
+        for (EnergyExpenditureModel model : models) {
+            this.models.put(model.getType(), model);
+        }
+        for (EnergyModel type : EnergyModel.values()) {
+            if (!this.models.containsKey(type)) {
+                throw new IllegalStateException("No energy expenditure model for " + type);
+            }
+        }
+        this.adaptiveEnergyService = adaptiveEnergyService;
+    }
+
+    /**
+     * ユーザー情報と体重を受け取り、ユーザーが選択した推定モデルで目標摂取カロリーを計算する。
+     * <p>
+     * 適応型を選択している場合は、回帰状態を1行だけ読み込んで推定する。
+     * </p>
+     *
+     * @param user          ユーザーエンティティ
+     * @param currentWeight 現在の体重 (kg)
+     * @return 1日の目標摂取カロリー (kcal)
+     * @throws IllegalStateException 体重、または身長・年齢が未設定の場合
+     */
+    public int calculateTargetCalories(User user, Double currentWeight) {
+        if (currentWeight == null) {
+            throw new IllegalStateException("体重データが存在しません。ユーザー: " + user.getUsername());
+        }
+        if (user.getHeight() == null || user.getAge() == null) {
+            throw new IllegalStateException("プロフィール情報（身長・年齢）が不足しています。ユーザー: " + user.getUsername());
+        }
+
+        EnergyModel model = EnergyModel.from(user.getEnergyModel());
+        AdaptiveEnergyState state = model == EnergyModel.ADAPTIVE
+                ? adaptiveEnergyService.findState(user).orElse(null)
+                : null;
+
+        return calculateTargetCalories(model, profileOf(user, currentWeight, state));
+    }
+
+    /**
+     * 変換済みの入力値から、指定された推定モデルで目標摂取カロリーを計算する。
+     *
+     * @param model   推定モデル
+     * @param profile 身体データと現在の体重
+     * @return 1日の目標摂取カロリー (kcal)
+     */
+    public int calculateTargetCalories(EnergyModel model, EnergyProfile profile) {
+        double tdee = models.get(model).estimateTdee(profile);
+        if (Double.isNaN(tdee)) {
+            tdee = models.get(EnergyModel.MIFFLIN_ST_JEOR).estimateTdee(profile);
+        }
+        return BmrService.toTargetCalories(tdee);
+    }
+
+    /**
+     * ユーザーエンティティと体重から、推定モデルへの入力値を作成する。
+     *
+     * @param user          ユーザーエンティティ（身長・年齢が設定済みであること）
+     * @param currentWeight 現在の体重 (kg)
+     * @param state         適応型モデルの回帰状態（ない場合は null）
+     * @return 推定モデルへの入力値
+     */
+    public static EnergyProfile profileOf(User user, double currentWeight, AdaptiveEnergyState state) {
+        return new EnergyProfile(currentWeight, user.getHeight(), user.getAge(),
+                BmrService.isMale(user.getGender()), BmrService.activityMultiplier(user.getActivityLevel()),
+                user.getBodyFatPercentage(), state);
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.ExportFormat;
+import org.example.futoru.dto.MealLogDto;
+import org.example.futoru.dto.WeightPointDto;
+import org.example.futoru.entity.User;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * ユーザーの全履歴（食事記録・体重記録）をファイルとして出力するサービスクラス。
+ * <p>
+ * ストリームクエリで1件ずつ読み込み、そのまま出力先へ書き込むため、
+ * 何年分の記録であってもヒープ上に全件が載ることはない。
+ * MySQLではこの2つのクエリだけを行単位のストリーミング（{@link #streamingFetchSize(Connection)}）で実行し、
+ * コネクションプール全体の設定は変更しない。
+ * ストリームはトランザクション内でのみ読み込めるため、出力処理全体を読み取り専用トランザクションで実行する
+ * （その間DB接続を保持するため、同時に実行する数は呼び出し元の {@code ExportApiController} で制限する）。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ExportService {
+
+    /** エクスポート対象: 食事記録 */
+    public static final String MEALS = "meals";
+
+    /** エクスポート対象: 体重記録 */
+    public static final String WEIGHTS = "weights";
+
+    /** MySQL以外のデータベースで1回に読み込む行数 */
+    static final int FETCH_SIZE = 500;
+
+    /** 食事記録の全件（日時の古い順）。DTOとして取得するため永続化コンテキストにも蓄積されない */
+    private static final String SELECT_MEALS = """
+            SELECT id, name, calories, amount, eaten_at
+            FROM meal_logs
+            WHERE user_id = ?
+            ORDER BY eaten_at, id
+            """;
+
+    /** 体重記録の全件（日付の古い順） */
+    private static final String SELECT_WEIGHTS = """
+            SELECT date, weight
+            FROM weight_logs
+            WHERE user_id = ?
+            ORDER BY date
+            """;
+
+    private static final RowMapper<MealLogDto> MEAL_ROW = (rs, rowNum) -> new MealLogDto(rs.getLong(1),
+            rs.getString(2), rs.getObject(3, Integer.class), rs.getObject(4, Double.class),
+            rs.getObject(5, LocalDateTime.class));
+
+    private static final RowMapper<WeightPointDto> WEIGHT_ROW = (rs, rowNum) -> new WeightPointDto(
+            rs.getObject(1, LocalDate.class), rs.getObject(2, Double.class));
+
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 指定されたユーザーの履歴を、指定された形式で出力先へ書き込む。
+     * <p>
+     * 出力先はこのメソッド内で閉じない（レスポンスの出力ストリームはコンテナが管理するため）。
+     * </p>
+     *
+     * @param username 対象のユーザー名
+     * @param target   エクスポート対象（{@link #MEALS} または {@link #WEIGHTS}）
+     * @param format   出力形式
+     * @param out      出力先
+     * @throws IOException              書き込みに失敗した場合（クライアントの切断など）
+     * @throws IllegalArgumentException 未対応のエクスポート対象の場合
+     */
+    public void export(String username, String target, ExportFormat format, OutputStream out) throws IOException {
+        validateTarget(target);
+        User user = userService.getUserByUsername(username);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (MEALS.equals(target)) {
+            try (Stream<MealLogDto> rows = jdbcTemplate.queryForStream(streaming(SELECT_MEALS, user), MEAL_ROW)) {
+                writeMeals(rows.iterator(), format, writer);
+            }
+        } else {
+            try (Stream<WeightPointDto> rows = jdbcTemplate.queryForStream(streaming(SELECT_WEIGHTS, user), WEIGHT_ROW)) {
+                writeWeights(rows.iterator(), format, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * エクスポート対象の文字列を検証する。
+     * （トランザクションを開始してDB接続を取得することのないよう、静的メソッドとしている）
+     *
+     * @param target エクスポート対象
+     * @throws IllegalArgumentException 未対応のエクスポート対象の場合
+     */
+    public static void validateTarget(String target) {
+        if (!MEALS.equals(target) && !WEIGHTS.equals(target)) {
+            throw new IllegalArgumentException("Unsupported export target: " + target);
+        }
+    }
+
+    /**
+     * ユーザーIDを条件とするクエリを、ストリーミング用のフェッチサイズを指定して作成する。
+     */
+    private static PreparedStatementCreator streaming(String sql, User user) {
+        return con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(streamingFetchSize(con));
+            ps.setLong(1, user.getId());
+            return ps;
+        };
+    }
+
+    /**
+     * ストリームクエリのフェッチサイズを求める。
+     * <p>
+     * MySQL Connector/J は通常、結果全体をクライアントのメモリに読み込む。{@link Integer#MIN_VALUE} を指定した
+     * ステートメントだけは1行ずつ受信するため、接続全体に {@code useCursorFetch}（全クエリがサーバー側の
+     * プリペアドステートメントになる）を設定せずに済む。読み込み中は同じ接続で他のクエリを実行できないが、
+     * エクスポートはストリームを閉じるまで他のクエリを発行しない。
+     * それ以外のデータベース（テストのH2など）では負の値を受け付けないため、通常のフェッチサイズとする。
+     * </p>
+     */
+    static int streamingFetchSize(Connection con) throws SQLException {
+        return "MySQL".equals(con.getMetaData().getDatabaseProductName()) ? Integer.MIN_VALUE : FETCH_SIZE;
+    }
+
+    private void writeMeals(Iterator<MealLogDto> rows, ExportFormat format, Writer writer) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write('\uFEFF');
+            writer.write("id,eaten_at,name,calories,amount\n");
+        }
+        while (rows.hasNext()) {
+            MealLogDto meal = rows.next();
+            if (format == ExportFormat.CSV) {
+                writer.write(meal.getId() + "," + meal.getEatenAt() + "," + csv(meal.getName()) + ","
+                        + nullToEmpty(meal.getCalories()) + "," + nullToEmpty(meal.getAmount()) + "\n");
+            } else {
+                writer.write(objectMapper.writeValueAsString(meal));
+                writer.write('\n');
+            }
+        }
+    }
+
+    private void writeWeights(Iterator<WeightPointDto> rows, ExportFormat format, Writer writer) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write('\uFEFF');
+            writer.write("date,weight\n");
+        }
+        while (rows.hasNext()) {
+            WeightPointDto point = rows.next();
+            if (format == ExportFormat.CSV) {
+                writer.write(point.getDate() + "," + nullToEmpty(point.getWeight()) + "\n");
+            } else {
+                writer.write(objectMapper.writeValueAsString(point));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * CSVの1項目としてエスケープする（カンマ・ダブルクォート・改行を含む場合はクォートで囲む）。
+     */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
@@ -0,0 +1,358 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.futoru.dto.FoodImportResult;
+import org.example.futoru.form.FoodImportRow;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * システム標準食品（{@code user_id IS NULL} の FoodItem）を外部ファイルから一括取込するサービスクラス。
+ * <p>
+ * 日本食品標準成分表のような数万件規模のファイルを想定し、以下の方針で処理する：
+ * <ul>
+ * <li>ファイルは1行（1要素）ずつ読み込み、{@link #BATCH_SIZE} 件たまるごとに処理するため、メモリ使用量は件数に依存しない。</li>
+ * <li>食品名で重複を判定する。ファイル内の重複は後の行を優先し、既存の食品と同名の場合は更新（upsert）する。</li>
+ * <li>登録・更新はJPAを介さずJDBCバッチでまとめて送信し、バッチ単位でコミットする。</li>
+ * <li>カロリーが変わった食品は {@link RecipeRecalculationService} で、それを使用しているレシピへ反映する。</li>
+ * </ul>
+ * 対応形式はCSV（1行目がヘッダー、UTF-8）と、オブジェクトの配列からなるJSON。
+ * CSVの列・JSONのキーは {@link FoodImportRow} の項目名に対応する。
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FoodCatalogImportService {
+
+    /** 1回のJDBCバッチ・トランザクションで処理する行数 */
+    static final int BATCH_SIZE = 1000;
+
+    /** 単位を省略した場合の既定値（成分表は可食部100gあたりの値のため） */
+    private static final String DEFAULT_UNIT = "100g";
+
+    /** 区分を省略した場合の既定値 */
+    private static final String DEFAULT_TYPE = "INGREDIENT";
+
+    /** 取込可能な区分 */
+    private static final Set<String> TYPES = Set.of("INGREDIENT", "DISH", "MEAL_SET");
+
+    /** 文字列項目の最大長（food_items の列定義に合わせる） */
+    private static final int MAX_LENGTH = 255;
+
+    /** 1単位あたりのカロリーの上限（桁誤りなどの明らかな異常値を弾くため） */
+    private static final double MAX_CALORIES = 100_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final RecipeRecalculationService recipeRecalculationService;
+    private final FoodCatalogService foodCatalogService;
+
+    /**
+     * ファイルを読み込み、システム標準食品として取り込む。
+     * <p>
+     * 拡張子が {@code .json} の場合はJSON、それ以外はCSVとして読み込む。
+     * バッチ単位でコミットするため、途中で失敗した場合もそれまでのバッチは取り込まれた状態となる
+     * （同じファイルを再実行すれば、取込済みの行は更新なしとして扱われる）。
+     * </p>
+     *
+     * @param path 取込ファイルのパス
+     * @return 処理結果の件数
+     * @throws UncheckedIOException ファイルが読み込めない場合
+     */
+    public FoodImportResult importFile(Path path) {
+        boolean json = path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json");
+        try (InputStream in = Files.newInputStream(path)) {
+            return json ? importJson(in) : importCsv(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import file: " + path, e);
+        }
+    }
+
+    /**
+     * CSV形式（1行目がヘッダー）の入力を取り込む。
+     *
+     * @param in CSVの入力ストリーム（UTF-8）
+     * @return 処理結果の件数
+     */
+    public FoodImportResult importCsv(InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return importRows(new CsvRowIterator(reader));
+    }
+
+    /**
+     * JSON形式（オブジェクトの配列）の入力を取り込む。
+     * 配列全体をメモリに展開せず、要素を1つずつ読み込む。
+     *
+     * @param in JSONの入力ストリーム
+     * @return 処理結果の件数
+     */
+    public FoodImportResult importJson(InputStream in) {
+        try (MappingIterator<FoodImportRow> rows = objectMapper.readerFor(FoodImportRow.class).readValues(in)) {
+            return importRows(rows);
+        }
+    }
+
+    /**
+     * 行を {@link #BATCH_SIZE} 件ずつ検証・重複除去し、バッチ単位のトランザクションで反映する。
+     */
+    private FoodImportResult importRows(Iterator<FoodImportRow> rows) {
+        long startedAt = System.currentTimeMillis();
+        Counters counters = new Counters();
+
+        // 同じバッチ内の重複は後の行で上書きする（挿入順は最初に現れた位置を保つ）
+        Map<String, FoodImportRow> batch = new LinkedHashMap<>();
+        while (rows.hasNext()) {
+            FoodImportRow row = rows.next();
+            counters.read++;
+
+            if (!normalize(row)) {
+                counters.skipped++;
+                continue;
+            }
+            if (batch.put(row.getName(), row) != null) {
+                counters.duplicates++;
+            }
+            if (batch.size() >= BATCH_SIZE) {
+                flush(batch, counters);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, counters);
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        log.info("Food import finished: read={}, inserted={}, updated={}, unchanged={}, duplicates={}, skipped={}, "
+                        + "recipesRecalculated={}, elapsed={}ms",
+                counters.read, counters.inserted, counters.updated, counters.unchanged, counters.duplicates,
+                counters.skipped, counters.recipesRecalculated, elapsed);
+        return new FoodImportResult(counters.read, counters.inserted, counters.updated, counters.unchanged,
+                counters.duplicates, counters.skipped, counters.recipesRecalculated, elapsed);
+    }
+
+    /**
+     * 1バッチ分の行を既存のシステム標準食品と突き合わせ、登録・更新する。
+     * <p>
+     * 既存行の検索は {@code (user_id, name)} インデックスで解決される。
+     * 照合順序によっては大文字・小文字などを区別せずに一致するため、名前の完全一致はJava側で判定する。
+     * ファイル内の前のバッチで登録した名前は、同じ接続から見えるため更新として扱われる。
+     * </p>
+     */
+    private void flush(Map<String, FoodImportRow> batch, Counters counters) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<String, ExistingFood> existing = new HashMap<>(batch.size() * 2);
+            namedParameterJdbcTemplate.query(
+                    "SELECT id, name, calories, unit, type FROM food_items "
+                            + "WHERE user_id IS NULL AND name IN (:names) ORDER BY id",
+                    Map.of("names", batch.keySet()),
+                    rs -> {
+                        ExistingFood food = new ExistingFood(rs.getLong("id"),
+                                rs.getObject("calories", Integer.class), rs.getString("unit"), rs.getString("type"));
+                        // 同名の既存行が複数ある場合は、最も古い行を更新対象とする
+                        existing.putIfAbsent(rs.getString("name"), food);
+                    });
+
+            List<Object[]> inserts = new ArrayList<>();
+            List<Object[]> updates = new ArrayList<>();
+            List<Long> caloriesChanged = new ArrayList<>();
+            for (FoodImportRow row : batch.values()) {
+                int calories = (int) Math.round(row.getCalories());
+                ExistingFood food = existing.get(row.getName());
+                if (food == null) {
+                    inserts.add(new Object[]{row.getName(), calories, row.getUnit(), row.getType()});
+                } else if (!Objects.equals(food.calories(), calories)
+                        || !Objects.equals(food.unit(), row.getUnit())
+                        || !Objects.equals(food.type(), row.getType())) {
+                    updates.add(new Object[]{calories, row.getUnit(), row.getType(), food.id()});
+                    if (!Objects.equals(food.calories(), calories)) {
+                        caloriesChanged.add(food.id());
+                    }
+                } else {
+                    counters.unchanged++;
+                }
+            }
+
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO food_items (user_id, name, calories, unit, type) VALUES (NULL, ?, ?, ?, ?)",
+                        inserts);
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "UPDATE food_items SET calories = ?, unit = ?, type = ? WHERE id = ?", updates);
+            }
+            if (!caloriesChanged.isEmpty()) {
+                counters.recipesRecalculated += recipeRecalculationService.recalculateDependents(caloriesChanged);
+            }
+            if (!inserts.isEmpty() || !updates.isEmpty()) {
+                foodCatalogService.invalidateSystemFoods();
+            }
+
+            counters.inserted += inserts.size();
+            counters.updated += updates.size();
+        });
+
+        log.info("Food import progress: read={}, inserted={}, updated={}, unchanged={}, skipped={}",
+                counters.read, counters.inserted, counters.updated, counters.unchanged, counters.skipped);
+    }
+
+    /**
+     * 行を検証し、前後の空白除去と既定値の補完を行う。
+     *
+     * @return 取り込み可能な行であれば true
+     */
+    private static boolean normalize(FoodImportRow row) {
+        String name = trimToNull(row.getName());
+        Double calories = row.getCalories();
+        String unit = Objects.requireNonNullElse(trimToNull(row.getUnit()), DEFAULT_UNIT);
+        String type = Objects.requireNonNullElse(trimToNull(row.getType()), DEFAULT_TYPE).toUpperCase(Locale.ROOT);
+
+        if (name == null || name.length() > MAX_LENGTH || unit.length() > MAX_LENGTH || !TYPES.contains(type)) {
+            return false;
+        }
+        if (calories == null || !Double.isFinite(calories) || calories < 0 || calories > MAX_CALORIES) {
+            return false;
+        }
+
+        row.setName(name);
+        row.setUnit(unit);
+        row.setType(type);
+        return true;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.strip();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    /**
+     * 取込処理の件数を集計する可変オブジェクト（1回の取込の中でのみ使用する）。
+     */
+    private static final class Counters {
+        long read;
+        long inserted;
+        long updated;
+        long unchanged;
+        long duplicates;
+        long skipped;
+        long recipesRecalculated;
+    }
+
+    /**
+     * 突き合わせ用の既存食品の値。
+     *
+     * @param id       食品ID
+     * @param calories カロリー
+     * @param unit     単位
+     * @param type     区分
+     */
+    private record ExistingFood(long id, Integer calories, String unit, String type) {
+    }
+
+    /**
+     * CSVを1行ずつ {@link FoodImportRow} に変換するイテレーター。
+     * <p>
+     * 1行目をヘッダーとして列名（name, calories, unit, type）の位置を決め、未知の列は無視する。
+     * 値の分割は {@link CsvSupport#parseLine(String)} で行う。
+     * カロリーが数値として解釈できない行は、カロリーを null として返し、検証で読み飛ばす。
+     * </p>
+     */
+    private static final class CsvRowIterator implements Iterator<FoodImportRow> {
+
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private String nextLine;
+
+        CsvRowIterator(BufferedReader reader) {
+            this.reader = reader;
+            String header = readLine();
+            if (header == null) {
+                return;
+            }
+            List<String> names = CsvSupport.parseLine(CsvSupport.stripBom(header));
+            for (int i = 0; i < names.size(); i++) {
+                columns.putIfAbsent(names.get(i).strip().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("calories")) {
+                throw new IllegalArgumentException("CSV header must contain 'name' and 'calories' columns");
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextLine != null;
+        }
+
+        @Override
+        public FoodImportRow next() {
+            if (nextLine == null) {
+                throw new NoSuchElementException();
+            }
+            List<String> values = CsvSupport.parseLine(nextLine);
+            advance();
+            return new FoodImportRow(value(values, "name"), parseCalories(value(values, "calories")),
+                    value(values, "unit"), value(values, "type"));
+        }
+
+        private String value(List<String> values, String column) {
+            Integer index = columns.get(column);
+            return index != null && index < values.size() ? values.get(index) : null;
+        }
+
+        private void advance() {
+            do {
+                nextLine = readLine();
+            } while (nextLine != null && nextLine.isBlank());
+        }
+
+        private String readLine() {
+            try {
+                return reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static Double parseCalories(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                return Double.parseDouble(value.strip());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.FoodItemDto;
+import org.example.futoru.repository.FoodItemRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 食品カタログ（メニュー選択・レシピ作成画面の食品リスト）をメモリ上にキャッシュするサービスクラス。
+ * <p>
+ * 以下の2層構成でキャッシュする：
+ * <ol>
+ * <li>システム標準食品: 全ユーザーで共有する1つの不変スナップショット。変更時に丸ごと差し替える。</li>
+ * <li>My食品: ユーザーごとの小さなリスト。そのユーザーがレシピを作成した時点で破棄する。</li>
+ * </ol>
+ * 各層はバージョン番号を持ち、読み込み中に無効化が行われた場合は古い読み込み結果を保存しない。
+ * 無効化はトランザクションのコミット後に行うため、コミット前の古いデータが再度キャッシュされることもない。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class FoodCatalogService {
+
+    /** My食品をキャッシュするユーザー数の上限（超過時は一旦すべて破棄する） */
+    private static final int MAX_CACHED_USERS = 10_000;
+
+    private final FoodItemRepository foodItemRepository;
+
+    /** システム標準食品の共有スナップショット（未読み込み・無効化後は null） */
+    private final AtomicReference<List<FoodItemDto>> systemFoods = new AtomicReference<>();
+
+    /** システム標準食品の世代番号（無効化のたびに加算） */
+    private final AtomicLong systemVersion = new AtomicLong();
+
+    /** ユーザーIDごとのMy食品キャッシュ */
+    private final ConcurrentMap<Long, List<FoodItemDto>> userFoods = new ConcurrentHashMap<>();
+
+    /** ユーザーIDごとのMy食品の世代番号（無効化のたびに加算） */
+    private final ConcurrentMap<Long, Long> userVersions = new ConcurrentHashMap<>();
+
+    /**
+     * システム標準食品の共有スナップショットを取得する。
+     *
+     * @return ID昇順のシステム標準食品リスト（変更不可）
+     */
+    public List<FoodItemDto> getSystemFoods() {
+        List<FoodItemDto> cached = systemFoods.get();
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = systemVersion.get();
+        List<FoodItemDto> loaded = List.copyOf(foodItemRepository.findSystemFoodDtos());
+
+        // 読み込み中に無効化されていなければスナップショットとして公開する
+        // （公開直後に無効化と競合した場合は、公開を取り消して次回の再読み込みに任せる）
+        if (systemVersion.get() == version && systemFoods.compareAndSet(null, loaded)
+                && systemVersion.get() != version) {
+            systemFoods.compareAndSet(loaded, null);
+        }
+        return loaded;
+    }
+
+    /**
+     * システム標準食品の世代番号を取得する。
+     * <p>
+     * スナップショットが無効化されるたびに増えるため、スナップショットから派生したデータ（検索インデックスなど）が
+     * 最新かどうかの判定に使用できる。派生データを作る場合は、この値を {@link #getSystemFoods()} より先に読むこと
+     * （後に読むと、古いスナップショットを新しい世代番号で扱ってしまう可能性があるため）。
+     * </p>
+     *
+     * @return 現在の世代番号
+     */
+    public long getSystemFoodsGeneration() {
+        return systemVersion.get();
+    }
+
+    /**
+     * 指定されたユーザーのMy食品を取得する。
+     *
+     * @param userId 対象ユーザーのID
+     * @return ID昇順のMy食品リスト（変更不可）
+     */
+    public List<FoodItemDto> getUserFoods(Long userId) {
+        List<FoodItemDto> cached = userFoods.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Long version = userVersions.get(userId);
+        List<FoodItemDto> loaded = List.copyOf(foodItemRepository.findOwnFoodDtos(userId));
+
+        if (userFoods.size() >= MAX_CACHED_USERS) {
+            userFoods.clear();
+        }
+        // 読み込み中に無効化されていなければキャッシュに保存する
+        userVersions.compute(userId, (id, current) -> {
+            if (Objects.equals(current, version)) {
+                userFoods.put(id, loaded);
+            }
+            return current;
+        });
+        return loaded;
+    }
+
+    /**
+     * システム標準食品のスナップショットを破棄する。
+     * 次回の参照時にデータベースから再構築される。
+     * トランザクション内で呼び出された場合は、コミット後に破棄する。
+     */
+    public void invalidateSystemFoods() {
+        TransactionCallbacks.afterCommit(() -> {
+            systemVersion.incrementAndGet();
+            systemFoods.set(null);
+        });
+    }
+
+    /**
+     * 指定されたユーザーのMy食品キャッシュを破棄する。
+     * トランザクション内で呼び出された場合は、コミット後に破棄する。
+     *
+     * @param userId 対象ユーザーのID
+     */
+    public void invalidateUserFoods(Long userId) {
+        TransactionCallbacks.afterCommit(() -> userVersions.compute(userId, (id, current) -> {
+            userFoods.remove(id);
+            return current == null ? 1L : current + 1;
+        }));
+    }
+}
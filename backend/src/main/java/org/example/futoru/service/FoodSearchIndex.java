@@ -0,0 +1,236 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.FoodItemDto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 食品名の部分一致検索を行うための、メモリ上の不変なN-gram（bigram）転置インデックス。
+ * <p>
+ * 食品名と検索語は同じ規則で正規化してから比較する（{@link #normalize(String)}）。
+ * 2文字以上の検索語は、検索語に含まれる全bigramの転置リストを積集合で絞り込み、
+ * 最後に部分一致を確認する。1文字の検索語は文字単位（unigram）の転置リストを使用する。
+ * </p>
+ * <p>
+ * 一度構築したインデックスは変更しないため、複数スレッドから同時に検索してよい。
+ * カタログが変わった場合はインデックスごと作り直す。
+ * </p>
+ */
+public final class FoodSearchIndex {
+
+    /** 検索結果の並び順（完全一致 → 前方一致 → 部分一致、同順位は名前が短い順 → ID順） */
+    private static final Comparator<Hit> RANKING = Comparator
+            .comparingInt(Hit::rank)
+            .thenComparingInt(Hit::length)
+            .thenComparingLong(Hit::id);
+
+    private final List<FoodItemDto> foods;
+    private final String[] normalizedNames;
+    private final Map<Integer, int[]> unigramPostings;
+    private final Map<String, int[]> bigramPostings;
+
+    private FoodSearchIndex(List<FoodItemDto> foods, String[] normalizedNames,
+                            Map<Integer, int[]> unigramPostings, Map<String, int[]> bigramPostings) {
+        this.foods = foods;
+        this.normalizedNames = normalizedNames;
+        this.unigramPostings = unigramPostings;
+        this.bigramPostings = bigramPostings;
+    }
+
+    /**
+     * 食品リストからインデックスを構築する。
+     *
+     * @param foods インデックス対象の食品リスト（構築後に変更しないこと）
+     * @return 構築済みのインデックス
+     */
+    public static FoodSearchIndex build(List<FoodItemDto> foods) {
+        String[] names = new String[foods.size()];
+        Map<Integer, List<Integer>> unigrams = new HashMap<>();
+        Map<String, List<Integer>> bigrams = new HashMap<>();
+
+        for (int doc = 0; doc < foods.size(); doc++) {
+            String name = normalize(foods.get(doc).getName());
+            names[doc] = name;
+
+            Set<Integer> seenUnigrams = new HashSet<>();
+            Set<String> seenBigrams = new HashSet<>();
+            int[] codePoints = name.codePoints().toArray();
+            for (int i = 0; i < codePoints.length; i++) {
+                if (seenUnigrams.add(codePoints[i])) {
+                    unigrams.computeIfAbsent(codePoints[i], k -> new ArrayList<>()).add(doc);
+                }
+                if (i + 1 < codePoints.length) {
+                    String bigram = new String(codePoints, i, 2);
+                    if (seenBigrams.add(bigram)) {
+                        bigrams.computeIfAbsent(bigram, k -> new ArrayList<>()).add(doc);
+                    }
+                }
+            }
+        }
+
+        return new FoodSearchIndex(List.copyOf(foods), names, toArrays(unigrams), toArrays(bigrams));
+    }
+
+    /**
+     * 検索語に部分一致する食品を、関連度の高い順に最大 {@code limit} 件返す。
+     *
+     * @param query 検索語（正規化前）
+     * @param limit 最大件数
+     * @return 一致した食品のリスト
+     */
+    public List<FoodItemDto> search(String query, int limit) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        int[] candidates = findCandidates(normalizedQuery);
+        if (candidates.length == 0) {
+            return List.of();
+        }
+
+        // 上位 limit 件だけを保持する（最も順位の低い要素が先頭に来るヒープ）
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        for (int doc : candidates) {
+            String name = normalizedNames[doc];
+            int position = name.indexOf(normalizedQuery);
+            if (position < 0) {
+                continue;
+            }
+            int rank = name.length() == normalizedQuery.length() ? 0 : position == 0 ? 1 : 2;
+            top.add(new Hit(doc, rank, name.length(), foods.get(doc).getId()));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(RANKING);
+        List<FoodItemDto> result = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            result.add(foods.get(hit.doc()));
+        }
+        return result;
+    }
+
+    /**
+     * インデックス対象の件数を返す。
+     *
+     * @return 食品の件数
+     */
+    public int size() {
+        return foods.size();
+    }
+
+    /**
+     * 検索用に文字列を正規化する。
+     * <ul>
+     * <li>NFKC正規化（半角カナ → 全角カナ、全角英数字 → 半角英数字）</li>
+     * <li>英字の小文字化</li>
+     * <li>カタカナ → ひらがな（「トマト」と「とまと」を同一視する）</li>
+     * <li>空白の除去</li>
+     * </ul>
+     * 漢字はそのまま比較する。
+     *
+     * @param text 正規化対象の文字列（null可）
+     * @return 正規化後の文字列（null の場合は空文字）
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String nfkc = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(nfkc.length());
+        for (int i = 0; i < nfkc.length(); i++) {
+            char c = nfkc.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            // カタカナ（ァ〜ヶ）をひらがな（ぁ〜ゖ）へ変換する
+            if (c >= 'ァ' && c <= 'ヶ') {
+                c = (char) (c - 0x60);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 検索語の全N-gramを含む文書の候補を、転置リストの積集合で求める。
+     */
+    private int[] findCandidates(String normalizedQuery) {
+        int[] codePoints = normalizedQuery.codePoints().toArray();
+        if (codePoints.length == 1) {
+            return unigramPostings.getOrDefault(codePoints[0], new int[0]);
+        }
+
+        List<int[]> postings = new ArrayList<>(codePoints.length - 1);
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            int[] list = bigramPostings.get(new String(codePoints, i, 2));
+            if (list == null) {
+                return new int[0];
+            }
+            postings.add(list);
+        }
+
+        // 短い転置リストから順に積集合をとり、候補を早く絞り込む
+        postings.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = postings.get(0);
+        for (int i = 1; i < postings.size() && result.length > 0; i++) {
+            result = intersect(result, postings.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 昇順にソートされた2つの配列の積集合を求める。
+     */
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                out[n++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * 構築中の可変リストを、検索用のint配列に変換する。
+     */
+    private static <K> Map<K, int[]> toArrays(Map<K, List<Integer>> source) {
+        Map<K, int[]> result = new HashMap<>(source.size() * 2);
+        source.forEach((key, docs) -> result.put(key, docs.stream().mapToInt(Integer::intValue).toArray()));
+        return result;
+    }
+
+    /**
+     * 検索結果の順位付け用の一時データ。
+     *
+     * @param doc    インデックス内の文書番号
+     * @param rank   一致の種類（0: 完全一致, 1: 前方一致, 2: 部分一致）
+     * @param length 正規化後の名前の長さ
+     * @param id     食品ID
+     */
+    private record Hit(int doc, int rank, int length, long id) {
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.FoodItemDto;
+import org.example.futoru.entity.User;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 食品名によるサーバーサイド検索を提供するサービスクラス。
+ * <p>
+ * システム標準食品は {@link FoodCatalogService} の共有スナップショットから {@link FoodSearchIndex} を構築して検索し、
+ * 件数の少ないMy食品は同じ正規化規則で線形に検索する。
+ * インデックスはスナップショットの世代番号（{@link FoodCatalogService#getSystemFoodsGeneration()}）と組で保持し、
+ * 世代番号が変わった場合（システム標準食品が無効化された場合）だけ、次回の検索時に再構築する。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class FoodSearchService {
+
+    /** 1回の検索で返却する最大件数 */
+    public static final int MAX_LIMIT = 100;
+
+    private final FoodCatalogService foodCatalogService;
+    private final UserService userService;
+
+    /** インデックス再構築の排他用ロック（同時に複数スレッドが再構築しないようにする） */
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /** 現在のインデックスと、その構築元となったスナップショットの世代番号 */
+    private volatile IndexHolder holder;
+
+    /**
+     * 検索語に一致する食品を、My食品を優先して最大 {@code limit} 件返す。
+     * <p>
+     * 検索語が空の場合は、My食品（新しい順）とシステム標準食品（ID順）を先頭から返す。
+     * </p>
+     *
+     * @param username 検索するユーザー名
+     * @param query    検索語
+     * @param limit    最大件数（{@link #MAX_LIMIT} で頭打ち）
+     * @return 一致した食品のリスト
+     */
+    public List<FoodItemDto> search(String username, String query, int limit) {
+        User user = userService.getUserByUsername(username);
+        int max = Math.clamp(limit, 1, MAX_LIMIT);
+
+        List<FoodItemDto> ownFoods = foodCatalogService.getUserFoods(user.getId());
+        String normalizedQuery = FoodSearchIndex.normalize(query);
+
+        List<FoodItemDto> result = new ArrayList<>(max);
+        if (normalizedQuery.isEmpty()) {
+            for (int i = ownFoods.size() - 1; i >= 0 && result.size() < max; i--) {
+                result.add(ownFoods.get(i));
+            }
+            List<FoodItemDto> systemFoods = foodCatalogService.getSystemFoods();
+            for (int i = 0; i < systemFoods.size() && result.size() < max; i++) {
+                result.add(systemFoods.get(i));
+            }
+            return result;
+        }
+
+        // My食品は件数が少ないため、インデックスを作らずに同じ正規化規則で走査する
+        for (FoodItemDto food : ownFoods) {
+            if (result.size() >= max) {
+                return result;
+            }
+            if (FoodSearchIndex.normalize(food.getName()).contains(normalizedQuery)) {
+                result.add(food);
+            }
+        }
+
+        result.addAll(currentIndex().search(query, max - result.size()));
+        return result;
+    }
+
+    /**
+     * システム標準食品の最新の世代番号に対応するインデックスを返す。
+     * 世代番号が変わっていれば、スナップショットを取得し直して再構築する。
+     */
+    private FoodSearchIndex currentIndex() {
+        long generation = foodCatalogService.getSystemFoodsGeneration();
+        IndexHolder current = holder;
+        if (current != null && current.generation() == generation) {
+            return current.index();
+        }
+
+        rebuildLock.lock();
+        try {
+            current = holder;
+            if (current == null || current.generation() != generation) {
+                // 世代番号を読んだ後にスナップショットを取得する（構築中に無効化された場合は次回に再構築される）
+                current = new IndexHolder(generation, FoodSearchIndex.build(foodCatalogService.getSystemFoods()));
+                holder = current;
+            }
+            return current.index();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * 構築元のスナップショットの世代番号とインデックスの組。
+     *
+     * @param generation 構築元のスナップショットの世代番号
+     * @param index      構築済みのインデックス
+     */
+    private record IndexHolder(long generation, FoodSearchIndex index) {
+    }
+}
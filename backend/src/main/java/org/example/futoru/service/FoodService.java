@@ -1,8 +1,10 @@
 package org.example.futoru.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.example.futoru.entity.FoodItem;
 import org.example.futoru.entity.MealLog;
+import org.example.futoru.form.MealBatchForm;
 import org.example.futoru.entity.User;
 import org.example.futoru.repository.FoodItemRepository;
 import org.example.futoru.repository.MealLogRepository;
@@ -11,8 +13,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 食事記録および食品マスタに関するビジネスロジックを提供するサービスクラス。
@@ -20,50 +26,24 @@ import java.util.List;
  * 食品データの検索、食事の記録（登録）、削除機能を提供する。
  * 特に食事記録時は、マスタデータの値をコピーして保存する「スナップショット」方式を採用し、
  * 将来マスタが変更・削除されても過去の記録が整合性を保てるように設計されている。
+ * また、記録の追加・削除と同一トランザクション内で日別カロリー集計も更新する。
  * </p>
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = "futoru.service", histogram = true)
 @Transactional
 public class FoodService {
 
+    /** 一括記録で1回に受け付ける最大件数（1リクエストのトランザクションとINSERTの大きさを抑えるため） */
+    public static final int MAX_BATCH_ENTRIES = 100;
+
     private final FoodItemRepository foodItemRepository;
     private final MealLogRepository mealLogRepository;
     private final UserService userService;
-
-    /**
-     * 指定されたユーザーが選択可能な食品リストを取得する。
-     * <p>
-     * 以下の2種類の食品を統合して返却する：
-     * 1. システム標準食品 (全ユーザー共通, user_idがNULL)
-     * 2. ユーザー自身のMy食品 (user_idが現在のユーザー)
-     * </p>
-     *
-     * @param username 現在のユーザー名
-     * @return 利用可能な食品のリスト
-     */
-    public List<FoodItem> getAvailableFoods(String username) {
-        User user = userService.getUserByUsername(username);
-        return foodItemRepository.findAllAvailable(user);
-    }
-
-    /**
-     * ユーザーの「今日」の食事記録一覧を取得する。
-     * サーバーの日時を基準に、当日の 00:00:00 から 23:59:59 までのデータを検索する。
-     *
-     * @param username 現在のユーザー名
-     * @return 今日のMealLogリスト
-     */
-    @Transactional(readOnly = true)
-    public List<MealLog> getTodayMealLogs(String username) {
-        User user = userService.getUserByUsername(username);
-
-        // 当日の範囲を設定 (例: 2025-01-01 00:00:00 ～ 23:59:59)
-        LocalDateTime start = LocalDate.now().atStartOfDay();
-        LocalDateTime end = LocalDate.now().atTime(LocalTime.MAX);
-
-        return mealLogRepository.findByUserAndEatenAtBetween(user, start, end);
-    }
+    private final CalorieSummaryService calorieSummaryService;
+    private final RecipeRecalculationService recipeRecalculationService;
+    private final FoodCatalogService foodCatalogService;
 
     /**
      * 食品マスタ（FoodItem）を選択して食事を記録する。
@@ -83,21 +63,10 @@ public class FoodService {
         FoodItem foodItem = foodItemRepository.findById(foodItemId)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid food item ID"));
 
-        MealLog log = new MealLog();
-        log.setUser(user);
-        log.setFoodItem(foodItem); // マスタとのリンクも一応残す
-
-        // スナップショット保存: マスタの内容が変わっても履歴が変わらないように値をコピー
-        log.setName(foodItem.getName());
-
-        // カロリー計算: 基準値 * 量
-        int totalCalories = (int) (foodItem.getCalories() * amount);
-        log.setCalories(totalCalories);
-
-        log.setAmount(amount);
-        log.setEatenAt(LocalDateTime.now());
+        MealLog log = createMasterMealLog(user, foodItem, amount, LocalDateTime.now());
 
         mealLogRepository.save(log);
+        calorieSummaryService.applyMealDelta(user, log.getEatenAt().toLocalDate(), log.getCalories(), 1);
     }
 
     /**
@@ -111,15 +80,67 @@ public class FoodService {
     public void recordManualMeal(String username, String name, int calories) {
         User user = userService.getUserByUsername(username);
 
-        MealLog log = new MealLog();
-        log.setUser(user);
-        log.setFoodItem(null); // マスタ参照なし
-        log.setName(name);
-        log.setCalories(calories);
-        log.setAmount(1.0); // 手入力の場合は倍率概念がないため便宜上1.0とする
-        log.setEatenAt(LocalDateTime.now());
+        MealLog log = createManualMealLog(user, name, calories, LocalDateTime.now());
 
         mealLogRepository.save(log);
+        calorieSummaryService.applyMealDelta(user, log.getEatenAt().toLocalDate(), calories, 1);
+    }
+
+    /**
+     * 複数の食事（マスタ選択・手入力の混在可）を一括で記録する。
+     * <p>
+     * マスタ食品は {@code findAllById} で1回にまとめて取得し、食事記録はJDBCバッチでまとめてINSERTする。
+     * 日別カロリー集計への反映も、件数に関わらず1回で行う。
+     * 全件が同じ日時で記録され、1件でも不正な項目があれば全体がロールバックされる。
+     * </p>
+     *
+     * @param username 現在のユーザー名
+     * @param entries  記録する食事のリスト
+     * @throws IllegalArgumentException 項目が空または {@value #MAX_BATCH_ENTRIES} 件を超える場合、
+     *                                  存在しない食品IDや名前・カロリーのない手入力項目が含まれる場合
+     */
+    public void recordMeals(String username, List<MealBatchForm.MealEntryDto> entries) {
+        if (entries == null || entries.isEmpty()) {
+            throw new IllegalArgumentException("No meal entries");
+        }
+        if (entries.size() > MAX_BATCH_ENTRIES) {
+            throw new IllegalArgumentException("Too many meal entries (max " + MAX_BATCH_ENTRIES + ")");
+        }
+        User user = userService.getUserByUsername(username);
+
+        List<Long> ids = entries.stream()
+                .map(MealBatchForm.MealEntryDto::getFoodItemId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<Long, FoodItem> foodMap = foodItemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(FoodItem::getId, Function.identity()));
+
+        LocalDateTime eatenAt = LocalDateTime.now();
+        List<MealLog> logs = new ArrayList<>(entries.size());
+        int totalCalories = 0;
+
+        for (MealBatchForm.MealEntryDto entry : entries) {
+            MealLog log;
+            if (entry.getFoodItemId() != null) {
+                FoodItem foodItem = foodMap.get(entry.getFoodItemId());
+                if (foodItem == null) {
+                    throw new IllegalArgumentException("Invalid food item ID: " + entry.getFoodItemId());
+                }
+                log = createMasterMealLog(user, foodItem, entry.getAmount() != null ? entry.getAmount() : 1.0, eatenAt);
+            } else {
+                if (entry.getName() == null || entry.getCalories() == null) {
+                    throw new IllegalArgumentException("Manual entry requires name and calories");
+                }
+                log = createManualMealLog(user, entry.getName(), entry.getCalories(), eatenAt);
+            }
+            logs.add(log);
+            totalCalories += log.getCalories();
+        }
+
+        mealLogRepository.saveAll(logs);
+        calorieSummaryService.applyMealDelta(user, eatenAt.toLocalDate(), totalCalories, logs.size());
     }
 
     /**
@@ -133,12 +154,77 @@ public class FoodService {
      * @throws IllegalArgumentException 指定されたIDのログが存在しない場合
      */
     public void deleteMealLog(Long logId, String username) {
-        MealLog log = mealLogRepository.findById(logId)
+        MealLog log = mealLogRepository.findWithUserById(logId)
                 .orElseThrow(() -> new IllegalArgumentException("Log not found"));
 
         if (!log.getUser().getUsername().equals(username)) {
             throw new SecurityException("You cannot delete this log");
         }
         mealLogRepository.delete(log);
+        calorieSummaryService.applyMealDelta(log.getUser(), log.getEatenAt().toLocalDate(), -log.getCalories(), -1);
+    }
+
+    /**
+     * ユーザーが所有する食品（My食品）のカロリーを変更する。
+     * <p>
+     * 変更した食品を材料として使用しているレシピの合計カロリーも、同一トランザクション内で再計算する。
+     * 過去の食事記録はスナップショットのため変更されない。
+     * </p>
+     *
+     * @param username   現在のユーザー名
+     * @param foodItemId 変更対象の食品ID
+     * @param calories   新しいカロリー (kcal)
+     * @throws IllegalArgumentException 指定されたIDの食品が存在しない場合
+     * @throws SecurityException        他のユーザーの食品、またはシステム標準食品を変更しようとした場合
+     */
+    public void updateFoodCalories(String username, Long foodItemId, int calories) {
+        User user = userService.getUserByUsername(username);
+        FoodItem foodItem = foodItemRepository.findById(foodItemId)
+                .orElseThrow(() -> new IllegalArgumentException("Invalid food item ID"));
+
+        if (foodItem.getUser() == null || !foodItem.getUser().getId().equals(user.getId())) {
+            throw new SecurityException("You cannot edit this food item");
+        }
+        foodItem.setCalories(calories);
+        foodItemRepository.save(foodItem);
+
+        recipeRecalculationService.recalculateDependents(List.of(foodItem.getId()));
+        foodCatalogService.invalidateUserFoods(user.getId());
+    }
+
+    /**
+     * 食品マスタを元に食事記録を生成する（保存はしない）。
+     * <p>
+     * 食品名やカロリーはマスタへの参照だけでなく、ログ自体にも値をコピー（スナップショット保存）する。
+     * </p>
+     */
+    private MealLog createMasterMealLog(User user, FoodItem foodItem, Double amount, LocalDateTime eatenAt) {
+        MealLog log = new MealLog();
+        log.setUser(user);
+        log.setFoodItem(foodItem); // マスタとのリンクも一応残す
+
+        // スナップショット保存: マスタの内容が変わっても履歴が変わらないように値をコピー
+        log.setName(foodItem.getName());
+
+        // カロリー計算: 基準値 * 量
+        log.setCalories((int) (foodItem.getCalories() * amount));
+
+        log.setAmount(amount);
+        log.setEatenAt(eatenAt);
+        return log;
+    }
+
+    /**
+     * 手入力の値から食事記録を生成する（保存はしない）。
+     */
+    private MealLog createManualMealLog(User user, String name, int calories, LocalDateTime eatenAt) {
+        MealLog log = new MealLog();
+        log.setUser(user);
+        log.setFoodItem(null); // マスタ参照なし
+        log.setName(name);
+        log.setCalories(calories);
+        log.setAmount(1.0); // 手入力の場合は倍率概念がないため便宜上1.0とする
+        log.setEatenAt(eatenAt);
+        return log;
     }
 }
\ No newline at end of file
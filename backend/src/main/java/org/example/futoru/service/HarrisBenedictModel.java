@@ -0,0 +1,32 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.EnergyModel;
+import org.example.futoru.dto.EnergyProfile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Harris-Benedict式（1984年のRoza-Shizgalによる改訂版）によるTDEE推定モデル。
+ * <br>
+ * 男性: 88.362 + (13.397 × 体重kg) + (4.799 × 身長cm) - (5.677 × 年齢)
+ * <br>
+ * 女性: 447.593 + (9.247 × 体重kg) + (3.098 × 身長cm) - (4.330 × 年齢)
+ * <p>
+ * 求めた基礎代謝に活動レベルの係数を掛けてTDEEとする。
+ * </p>
+ */
+@Component
+public class HarrisBenedictModel implements EnergyExpenditureModel {
+
+    @Override
+    public EnergyModel getType() {
+        return EnergyModel.HARRIS_BENEDICT;
+    }
+
+    @Override
+    public double estimateTdee(EnergyProfile profile) {
+        double bmr = profile.isMale()
+                ? 88.362 + (13.397 * profile.getWeight()) + (4.799 * profile.getHeight()) - (5.677 * profile.getAge())
+                : 447.593 + (9.247 * profile.getWeight()) + (3.098 * profile.getHeight()) - (4.330 * profile.getAge());
+        return bmr * profile.getActivityMultiplier();
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.EnergyModel;
+import org.example.futoru.dto.EnergyProfile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Katch-McArdle式によるTDEE推定モデル。
+ * <br>
+ * 計算式: 370 + (21.6 × 除脂肪体重kg)、除脂肪体重 = 体重 × (1 - 体脂肪率 / 100)
+ * <p>
+ * 性別・年齢を使わず除脂肪体重から基礎代謝を求めるため、筋肉量の多いユーザーで誤差が小さい。
+ * 体脂肪率が未設定・範囲外の場合は推定できない（{@link Double#NaN} を返す）。
+ * </p>
+ */
+@Component
+public class KatchMcArdleModel implements EnergyExpenditureModel {
+
+    @Override
+    public EnergyModel getType() {
+        return EnergyModel.KATCH_MCARDLE;
+    }
+
+    @Override
+    public double estimateTdee(EnergyProfile profile) {
+        Double bodyFat = profile.getBodyFatPercentage();
+        if (bodyFat == null || bodyFat <= 0 || bodyFat >= 100) {
+            return Double.NaN;
+        }
+        double leanMass = profile.getWeight() * (1 - bodyFat / 100.0);
+        return (370 + 21.6 * leanMass) * profile.getActivityMultiplier();
+    }
+}
@@ -0,0 +1,26 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.EnergyModel;
+import org.example.futoru.dto.EnergyProfile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mifflin-St Jeor式によるTDEE推定モデル（既定）。
+ * <p>
+ * 計算式は {@link BmrService} と共通で、他のモデルで推定できない場合のフォールバックにも使用される。
+ * </p>
+ */
+@Component
+public class MifflinStJeorModel implements EnergyExpenditureModel {
+
+    @Override
+    public EnergyModel getType() {
+        return EnergyModel.MIFFLIN_ST_JEOR;
+    }
+
+    @Override
+    public double estimateTdee(EnergyProfile profile) {
+        return BmrService.bmr(profile.getWeight(), profile.getHeight(), profile.getAge(), profile.isMale())
+                * profile.getActivityMultiplier();
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.RecipeEdgeDto;
+import org.example.futoru.entity.Recipe;
+import org.example.futoru.repository.RecipeRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * レシピの入れ子構造（料理 → セットメニュー …）を有向グラフとして扱い、合計カロリーを解決するサービスクラス。
+ * <p>
+ * 起点となる食品から辿れるレシピ構成を再帰CTEで1回のクエリにまとめて取得し、
+ * メモリ上で末端（レシピを持たない食品・手入力の材料）から順に合計を積み上げる。
+ * 計算済みの料理はメモ化するため、同じ料理が複数のセットから参照されていても1回しか計算しない。
+ * 構成に循環がある場合は計算できないため、例外を送出する。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RecipeGraphResolver {
+
+    private final RecipeRepository recipeRepository;
+
+    /**
+     * 指定された食品を起点に、配下の全レシピの合計カロリーを解決する。
+     * <p>
+     * 戻り値には、部分グラフに含まれるレシピ（材料を持つ食品）すべての合計カロリーが含まれる。
+     * レシピではない食品は含まれないため、呼び出し側で食品に保存されているカロリーを使用すること。
+     * </p>
+     *
+     * @param foodIds 起点となる食品IDのリスト
+     * @return 食品IDをキー、解決済みの合計カロリーを値とするマップ
+     * @throws IllegalStateException レシピ構成に循環がある場合
+     */
+    public Map<Long, Integer> resolveCalories(Collection<Long> foodIds) {
+        if (foodIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, List<RecipeEdgeDto>> children = new HashMap<>();
+        for (RecipeEdgeDto edge : recipeRepository.findSubgraphEdges(foodIds)) {
+            children.computeIfAbsent(edge.getParentFoodId(), k -> new ArrayList<>()).add(edge);
+        }
+
+        Map<Long, Integer> totals = new HashMap<>(children.size() * 2);
+        for (Long foodId : children.keySet()) {
+            resolve(foodId, children, totals);
+        }
+        return totals;
+    }
+
+    /**
+     * 深さ優先の後順（材料を先に、親を後に）で合計カロリーを計算し、{@code totals} に格納する。
+     * <p>
+     * 階層が深くてもスタックオーバーフローしないよう、再帰呼び出しではなく明示的なスタックを使用する。
+     * 1回目に取り出した時点で未計算の材料を積み、2回目に取り出した時点で材料の合計から自身を計算する。
+     * </p>
+     */
+    private void resolve(Long root, Map<Long, List<RecipeEdgeDto>> children, Map<Long, Integer> totals) {
+        Deque<Long> stack = new ArrayDeque<>();
+        Set<Long> onPath = new HashSet<>();
+        stack.push(root);
+
+        while (!stack.isEmpty()) {
+            Long foodId = stack.peek();
+            if (totals.containsKey(foodId)) {
+                stack.pop();
+                continue;
+            }
+
+            if (onPath.add(foodId)) {
+                for (RecipeEdgeDto edge : children.get(foodId)) {
+                    Long childId = edge.getChildFoodId();
+                    if (childId == null || !children.containsKey(childId) || totals.containsKey(childId)) {
+                        continue;
+                    }
+                    if (onPath.contains(childId)) {
+                        throw new IllegalStateException("Recipe cycle detected at food ID: " + childId);
+                    }
+                    stack.push(childId);
+                }
+            } else {
+                int total = 0;
+                for (RecipeEdgeDto edge : children.get(foodId)) {
+                    Long childId = edge.getChildFoodId();
+                    Integer childCalories = childId != null
+                            ? totals.getOrDefault(childId, edge.getChildCalories())
+                            : null;
+                    total += Recipe.calculateCalories(childCalories, edge.getAmount(), edge.getManualCalories());
+                }
+                totals.put(foodId, total);
+                onPath.remove(foodId);
+                stack.pop();
+            }
+        }
+    }
+}
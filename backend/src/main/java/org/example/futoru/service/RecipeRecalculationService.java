@@ -0,0 +1,125 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.repository.FoodItemRepository;
+import org.example.futoru.repository.RecipeRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 食品のカロリー変更を、その食品を材料として使用しているレシピへ反映するサービスクラス。
+ * <p>
+ * レシピの合計カロリーは作成時に親の {@code FoodItem.calories} へ保存されるため、
+ * 材料のカロリーを変更した場合は、それを使用しているレシピ（さらにそれを含むセット…）を再計算する必要がある。
+ * 本サービスは {@code recipes.child_food_id} の逆引きで影響を受けるレシピだけを特定し、
+ * {@link RecipeGraphResolver} で合計を解決し直して、値が変わったものだけを更新する。
+ * </p>
+ * <p>
+ * 食品マスタの一括取込のように多数の食品が一度に変わる場合でも、カタログ全体ではなく
+ * 影響範囲だけを {@link #CHUNK_SIZE} 件ずつ処理するため、IN句の長さや1回の処理量が際限なく増えることはない。
+ * なお、過去の食事記録（MealLog）は記録時点の値を保持する方針のため、ここでは更新しない。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class RecipeRecalculationService {
+
+    /** 1回のクエリ・バッチで扱う食品IDの件数 */
+    static final int CHUNK_SIZE = 1000;
+
+    private final RecipeRepository recipeRepository;
+    private final FoodItemRepository foodItemRepository;
+    private final RecipeGraphResolver recipeGraphResolver;
+    private final FoodCatalogService foodCatalogService;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 指定された食品を（直接・間接に）材料として使用しているレシピの合計カロリーを再計算する。
+     * <p>
+     * 呼び出し元は、変更した食品をこのメソッドの呼び出し前に保存しておくこと
+     * （ネイティブクエリの実行前に永続化コンテキストがフラッシュされ、変更後の値で計算される）。
+     * 再計算結果はJDBCバッチで書き込むため、同じトランザクションで読み込み済みの
+     * 親レシピのエンティティには反映されない。
+     * </p>
+     *
+     * @param changedFoodIds カロリーが変更された食品IDのリスト
+     * @return 再計算の結果、合計カロリーが変わって更新されたレシピの件数
+     * @throws IllegalStateException レシピ構成に循環がある場合
+     */
+    public int recalculateDependents(Collection<Long> changedFoodIds) {
+        Set<Long> affected = new LinkedHashSet<>();
+        for (List<Long> chunk : chunks(changedFoodIds)) {
+            affected.addAll(recipeRepository.findAncestorIds(chunk));
+        }
+        if (affected.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Integer> totals = new HashMap<>(affected.size() * 2);
+        for (List<Long> chunk : chunks(affected)) {
+            totals.putAll(recipeGraphResolver.resolveCalories(chunk));
+        }
+
+        // 値が変わらない行は更新しない（カロリーが未設定の行も更新されるよう、NULLを明示的に扱う）
+        List<Long> foodIds = new ArrayList<>(affected.size());
+        List<Object[]> args = new ArrayList<>(affected.size());
+        for (Long foodId : affected) {
+            Integer total = totals.get(foodId);
+            if (total != null) {
+                foodIds.add(foodId);
+                args.add(new Object[]{total, foodId, total});
+            }
+        }
+        int[] counts = jdbcTemplate.batchUpdate(
+                "UPDATE food_items SET calories = ? WHERE id = ? AND (calories IS NULL OR calories <> ?)", args);
+
+        List<Long> updated = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            // ドライバが件数を返さない場合（SUCCESS_NO_INFO）は、更新されたものとして扱う
+            if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                updated.add(foodIds.get(i));
+            }
+        }
+        if (updated.isEmpty()) {
+            return 0;
+        }
+
+        // 更新したレシピの所有者ごとに、コミット後に食品カタログのキャッシュを破棄する
+        Set<Long> ownerIds = new HashSet<>();
+        for (List<Long> chunk : chunks(updated)) {
+            ownerIds.addAll(foodItemRepository.findOwnerIdsByIdIn(chunk));
+        }
+        for (Long ownerId : ownerIds) {
+            if (ownerId == null) {
+                foodCatalogService.invalidateSystemFoods();
+            } else {
+                foodCatalogService.invalidateUserFoods(ownerId);
+            }
+        }
+        return updated.size();
+    }
+
+    /**
+     * IDのコレクションを {@link #CHUNK_SIZE} 件ずつのリストに分割する。
+     */
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<Long> list = List.copyOf(ids);
+        List<List<Long>> chunks = new ArrayList<>((list.size() + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        for (int from = 0; from < list.size(); from += CHUNK_SIZE) {
+            chunks.add(list.subList(from, Math.min(from + CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.futoru.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.example.futoru.form.RecipeForm;
 import org.example.futoru.entity.FoodItem;
@@ -10,6 +11,7 @@ import org.example.futoru.repository.RecipeRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -21,78 +23,119 @@ import java.util.stream.Collectors;
  * <p>
  * 複数の食材や料理を組み合わせた「レシピ」の作成、および構成要素（Recipe）の紐付けを行う。
  * マスタ食材の参照と手入力情報の両方を一括で処理する。
+ * 複数レシピの一括作成（取込）にも対応する。
  * </p>
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = "futoru.service", histogram = true)
 public class RecipeService {
 
     private final FoodItemRepository foodItemRepository;
     private final RecipeRepository recipeRepository;
     private final UserService userService;
+    private final FoodCatalogService foodCatalogService;
+    private final RecipeGraphResolver recipeGraphResolver;
 
     /**
      * フォームデータをもとに新しいレシピ（親FoodItem）とその構成要素（Recipe）を保存する。
      * <p>
-     * 親となる料理データを作成後、マスタ食材を一括取得して紐付けを行う。
-     * 最後に全材料の合計カロリーを算出し、親データを更新する。
+     * 処理内容は {@link #createRecipes(String, List)} に1件だけ渡した場合と同じ。
      * </p>
      *
      * @param username 作成者のユーザー名
      * @param form     入力データ
+     * @throws IllegalArgumentException 存在しない食品IDが材料に含まれる場合
      */
     @Transactional
     public void createRecipe(String username, RecipeForm form) {
-        User user = userService.getUserByUsername(username);
-
-        FoodItem parentFood = new FoodItem();
-        parentFood.setUser(user);
-        parentFood.setName(form.getName());
-        parentFood.setUnit("人前");
-        parentFood.setType(form.getType() != null ? form.getType() : "DISH");
-        parentFood.setCalories(0);
+        createRecipes(username, List.of(form));
+    }
 
-        foodItemRepository.save(parentFood);
+    /**
+     * 複数のレシピを1つのトランザクションでまとめて作成する（一括取込用）。
+     * <p>
+     * 全レシピで参照されるマスタ食材を1回のクエリで一括取得し、
+     * 材料に料理やセットが含まれる場合は {@link RecipeGraphResolver} で配下の構成まで辿って合計を解決する。
+     * 合計カロリーは親データの保存前に算出するため、親データのINSERTは1レシピにつき1回で済む。
+     * 構成要素（Recipe）はシーケンス採番のため、全レシピ分をまとめてJDBCバッチでINSERTする。
+     * </p>
+     * <p>
+     * 同じ取込内で作成するレシピ同士を材料として参照することはできない（IDが未確定のため）。
+     * いずれかの材料が存在しない場合は、全レシピの作成を取り消す。
+     * </p>
+     *
+     * @param username 作成者のユーザー名
+     * @param forms    入力データのリスト
+     * @return 作成したレシピの件数
+     * @throws IllegalArgumentException 存在しない食品IDが材料に含まれる場合
+     */
+    @Transactional
+    public int createRecipes(String username, List<RecipeForm> forms) {
+        User user = userService.getUserByUsername(username);
 
-        List<Long> ids = form.getIngredients().stream()
+        List<Long> ids = forms.stream()
+                .flatMap(form -> form.getIngredients().stream())
                 .map(RecipeForm.IngredientDto::getFoodItemId)
                 .filter(Objects::nonNull)
+                .distinct()
                 .toList();
 
         Map<Long, FoodItem> foodMap = foodItemRepository.findAllById(ids).stream()
                 .collect(Collectors.toMap(FoodItem::getId, Function.identity()));
 
-        int totalCalories = 0;
+        // 材料がレシピの場合は、保存済みの値ではなく配下の構成から解決した合計を使用する
+        Map<Long, Integer> resolvedCalories = recipeGraphResolver.resolveCalories(foodMap.keySet());
 
-        for (RecipeForm.IngredientDto item : form.getIngredients()) {
-            Recipe recipe = new Recipe();
-            recipe.setParentFood(parentFood);
+        List<Recipe> recipes = new ArrayList<>();
+        for (RecipeForm form : forms) {
+            FoodItem parentFood = new FoodItem();
+            parentFood.setUser(user);
+            parentFood.setName(form.getName());
+            parentFood.setUnit("人前");
+            parentFood.setType(form.getType() != null ? form.getType() : "DISH");
 
-            if (item.getFoodItemId() != null) {
-                FoodItem childFood = foodMap.get(item.getFoodItemId());
+            int totalCalories = 0;
 
-                if (childFood == null) {
-                    throw new RuntimeException("Ingredient not found ID: " + item.getFoodItemId());
-                }
+            for (RecipeForm.IngredientDto item : form.getIngredients()) {
+                Recipe recipe = new Recipe();
+                recipe.setParentFood(parentFood);
+
+                if (item.getFoodItemId() != null) {
+                    FoodItem childFood = foodMap.get(item.getFoodItemId());
 
-                recipe.setChildFood(childFood);
-                recipe.setAmount(item.getAmount() != null ? item.getAmount() : 1.0);
+                    if (childFood == null) {
+                        throw new IllegalArgumentException("Ingredient not found ID: " + item.getFoodItemId());
+                    }
 
-                totalCalories += (int) Math.round(childFood.getCalories() * recipe.getAmount());
+                    recipe.setChildFood(childFood);
+                    recipe.setAmount(item.getAmount() != null ? item.getAmount() : 1.0);
 
-            } else {
-                recipe.setChildFood(null);
-                recipe.setManualName(item.getManualName());
-                recipe.setManualCalories(item.getManualCalories());
-                recipe.setAmount(1.0);
+                    int childCalories = resolvedCalories.getOrDefault(childFood.getId(), childFood.getCalories());
+                    totalCalories += Recipe.calculateCalories(childCalories, recipe.getAmount(), null);
 
-                totalCalories += (item.getManualCalories() != null ? item.getManualCalories() : 0);
+                } else {
+                    recipe.setChildFood(null);
+                    recipe.setManualName(item.getManualName());
+                    recipe.setManualCalories(item.getManualCalories());
+                    recipe.setAmount(1.0);
+
+                    totalCalories += Recipe.calculateCalories(null, recipe.getAmount(), item.getManualCalories());
+                }
+
+                recipes.add(recipe);
             }
 
-            recipeRepository.save(recipe);
+            // 合計が確定してから保存するため、親データのINSERTは1回だけ（食品IDはIDENTITY採番）
+            parentFood.setCalories(totalCalories);
+            foodItemRepository.save(parentFood);
         }
 
-        parentFood.setCalories(totalCalories);
-        foodItemRepository.save(parentFood);
+        // 構成要素はフラッシュ時にJDBCバッチとしてまとめて送信される
+        recipeRepository.saveAll(recipes);
+
+        // 新しいレシピをMy食品一覧に反映させるため、コミット後にキャッシュを破棄する
+        foodCatalogService.invalidateUserFoods(user.getId());
+        return forms.size();
     }
-}
\ No newline at end of file
+}
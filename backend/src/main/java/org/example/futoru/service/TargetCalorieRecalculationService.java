@@ -0,0 +1,176 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.futoru.dto.EnergyModel;
+import org.example.futoru.dto.EnergyProfile;
+import org.example.futoru.entity.AdaptiveEnergyState;
+import org.example.futoru.repository.AdaptiveEnergyStateRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 全ユーザーの目標摂取カロリー（{@code users.target_calories}）を一括で再計算するサービスクラス。
+ * <p>
+ * 計算式や係数を変更した後に、既存ユーザーの保存値をまとめて揃え直すためのバッチ処理。
+ * 以下の方針で、ユーザー数が増えてもメモリ使用量と1回のトランザクションの大きさが一定となるようにする：
+ * <ul>
+ * <li>ユーザーとその最新の体重を1本の結合クエリで取得し、JPAのエンティティは生成しない。</li>
+ * <li>ユーザーIDのキーセットで {@link #BATCH_SIZE} 件ずつ読み進め、バッチごとにコミットする。</li>
+ * <li>既定の推定モデルのユーザーは {@link BmrService#calculateTargetCalories(double, double, int, boolean, double)} の
+ * プリミティブ版で計算し、値が変わったユーザーだけをJDBCバッチで更新する。</li>
+ * <li>他の推定モデルを選択したユーザーは {@link EnergyExpenditureService} で計算する。
+ * 適応型の回帰状態はバッチごとに1回のクエリでまとめて取得する。</li>
+ * </ul>
+ * 体重記録のないユーザー、身長・年齢が未設定のユーザーは対象外となる。
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TargetCalorieRecalculationService {
+
+    /** 1回の読み込み・JDBCバッチ・トランザクションで処理するユーザー数 */
+    static final int BATCH_SIZE = 1000;
+
+    /**
+     * 指定したIDより後のユーザーを、最新の体重（日付が最大の記録）と結合して取得する。
+     * weight_logs の (user_id, date) 一意制約のインデックスで、ユーザーごとの最新日付を解決する。
+     */
+    private static final String SELECT_BATCH = """
+            SELECT u.id, u.username, u.height, u.age, u.gender, u.activity_level, u.target_calories, w.weight,
+                   u.energy_model, u.body_fat_percentage
+            FROM users u
+            JOIN weight_logs w ON w.user_id = u.id
+                AND w.date = (SELECT MAX(w2.date) FROM weight_logs w2 WHERE w2.user_id = u.id)
+            WHERE u.id > ? AND u.height IS NOT NULL AND u.age IS NOT NULL
+            ORDER BY u.id
+            LIMIT ?
+            """;
+
+    private static final String UPDATE_TARGET = "UPDATE users SET target_calories = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserCacheService userCacheService;
+    private final UserDataVersionService userDataVersionService;
+    private final EnergyExpenditureService energyExpenditureService;
+    private final AdaptiveEnergyStateRepository adaptiveEnergyStateRepository;
+
+    /**
+     * 全ユーザーの目標摂取カロリーを再計算し、値が変わったものを更新する。
+     * <p>
+     * バッチ単位でコミットするため、途中で失敗した場合もそれまでのバッチは更新された状態となる
+     * （再実行すれば、更新済みのユーザーは変更なしとして扱われる）。
+     * 更新したユーザーのキャッシュは、各バッチのコミット後に破棄する。
+     * </p>
+     *
+     * @return 目標摂取カロリーを更新したユーザー数
+     */
+    public int recalculateAll() {
+        long startedAt = System.nanoTime();
+        long[] lastId = {0L};
+        int scanned = 0;
+        int updated = 0;
+
+        while (true) {
+            int[] counts = transactionTemplate.execute(status -> recalculateBatch(lastId));
+            if (counts == null || counts[0] == 0) {
+                break;
+            }
+            scanned += counts[0];
+            updated += counts[1];
+            log.info("Target calorie recalculation progress: scanned={}, updated={}, lastUserId={}",
+                    scanned, updated, lastId[0]);
+            if (counts[0] < BATCH_SIZE) {
+                break;
+            }
+        }
+
+        log.info("Target calorie recalculation finished: scanned={}, updated={}, elapsed={}ms",
+                scanned, updated, (System.nanoTime() - startedAt) / 1_000_000);
+        return updated;
+    }
+
+    /**
+     * {@code lastId[0]} より後のユーザーを1バッチ分処理し、{@code lastId[0]} を最後に読んだIDへ進める。
+     *
+     * @return [読み込んだ件数, 更新した件数]
+     */
+    private int[] recalculateBatch(long[] lastId) {
+        List<Object[]> args = new ArrayList<>();
+        List<String> changedUsernames = new ArrayList<>();
+        List<PendingRow> pending = new ArrayList<>();
+        int[] scanned = {0};
+
+        jdbcTemplate.query(SELECT_BATCH, rs -> {
+            long id = rs.getLong(1);
+            double height = rs.getDouble(3);
+            int age = rs.getInt(4);
+            boolean male = BmrService.isMale(rs.getString(5));
+            double activityMultiplier = BmrService.activityMultiplier(rs.getString(6));
+            int current = rs.getInt(7);
+            Integer currentTarget = rs.wasNull() ? null : current;
+            double weight = rs.getDouble(8);
+            EnergyModel model = EnergyModel.from(rs.getString(9));
+
+            if (model == EnergyModel.MIFFLIN_ST_JEOR) {
+                int target = BmrService.calculateTargetCalories(weight, height, age, male, activityMultiplier);
+                if (currentTarget == null || current != target) {
+                    args.add(new Object[]{target, id});
+                    changedUsernames.add(rs.getString(2));
+                }
+            } else {
+                double bodyFat = rs.getDouble(10);
+                pending.add(new PendingRow(id, rs.getString(2), currentTarget, model, weight, height, age, male,
+                        activityMultiplier, rs.wasNull() ? null : bodyFat));
+            }
+            lastId[0] = id;
+            scanned[0]++;
+        }, lastId[0], BATCH_SIZE);
+
+        // 既定以外の推定モデルのユーザー（適応型は回帰状態をまとめて取得する）
+        Map<Long, AdaptiveEnergyState> states = new HashMap<>();
+        List<Long> adaptiveIds = pending.stream()
+                .filter(row -> row.model() == EnergyModel.ADAPTIVE)
+                .map(PendingRow::id)
+                .toList();
+        if (!adaptiveIds.isEmpty()) {
+            for (AdaptiveEnergyState state : adaptiveEnergyStateRepository.findByUserIdIn(adaptiveIds)) {
+                states.put(state.getUser().getId(), state);
+            }
+        }
+        for (PendingRow row : pending) {
+            EnergyProfile profile = new EnergyProfile(row.weight(), row.height(), row.age(), row.male(),
+                    row.activityMultiplier(), row.bodyFatPercentage(), states.get(row.id()));
+            int target = energyExpenditureService.calculateTargetCalories(row.model(), profile);
+            if (row.currentTarget() == null || row.currentTarget() != target) {
+                args.add(new Object[]{target, row.id()});
+                changedUsernames.add(row.username());
+            }
+        }
+
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_TARGET, args);
+            for (String username : changedUsernames) {
+                userCacheService.invalidate(username);
+                userDataVersionService.markModified(username);
+            }
+        }
+        return new int[]{scanned[0], args.size()};
+    }
+
+    /**
+     * 既定以外の推定モデルで計算するユーザーの1行分の値。
+     */
+    private record PendingRow(long id, String username, Integer currentTarget, EnergyModel model,
+                              double weight, double height, int age, boolean male,
+                              double activityMultiplier, Double bodyFatPercentage) {
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.futoru.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 目標摂取カロリーの再計算を、リクエストのトランザクションの外で行うワーカー。
+ * <p>
+ * {@link TargetCaloriesStaleEvent} をコミット後に受け取り、{@value #WORKER_THREADS} 本の仮想スレッドで
+ * {@link UserService#recalculateTargetCalories} を実行する。体重・プロフィールの更新リクエストは
+ * 記録のコミット直後に応答でき、再計算と users テーブルの更新を待たない。
+ * 同時に実行する再計算の数を制限し、コネクションプールをリクエストの処理と取り合わないようにする。
+ * </p>
+ * <p>
+ * キューにはユーザー名ごとに最大1件しか積まない。再計算を待っている間に同じユーザーの更新が続いた場合は、
+ * 1回の再計算にまとめる（再計算は実行時点の最新の記録を読むため、まとめても結果は変わらない）。
+ * 同じユーザーの再計算は同時に実行せず、実行中に届いた更新は、実行後にもう1回再計算する。
+ * 再計算が未完了かどうかは {@link #isPending} で確認でき、ダッシュボードはその間だけ目標値をその場で計算する。
+ * </p>
+ * <p>
+ * キューはメモリ上にのみ保持するため、再計算の要求は発行元のトランザクションのコミット直前に
+ * {@link UserService#markTargetCaloriesStale} でデータベースにも記録し、再計算時に消す。
+ * 停止・異常終了で失われた再計算は、アプリケーションの起動時に記録が残っているユーザーだけを対象に行う
+ * （全ユーザーの一括再計算は {@code --recalculate-targets} の起動オプションで行う）。
+ * </p>
+ */
+@Slf4j
+@Component
+public class TargetCalorieWorker {
+
+    /** 同時に実行する再計算の数 */
+    static final int WORKER_THREADS = 4;
+
+    /** 再計算を待っているユーザー名 */
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    /** 再計算を実行中のユーザー名 */
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(
+            WORKER_THREADS, Thread.ofVirtual().name("target-calorie-worker-", 0).factory());
+
+    private final UserService userService;
+
+    public TargetCalorieWorker(UserService userService, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.userService = userService;
+        meterRegistry.ifAvailable(registry -> Gauge.builder("futoru.target_calories.pending", queued, Set::size)
+                .description("Users waiting for target calorie recalculation")
+                .register(registry));
+    }
+
+    /**
+     * 再計算の要求を、発行元のトランザクションのコミット直前にデータベースへ記録する
+     * （記録は発行元の更新と同時にコミットされ、ロールバックされた場合は残らない）。
+     * トランザクションの外で発行された要求は、その場で記録する。
+     *
+     * @param event 再計算の要求
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void markStale(TargetCaloriesStaleEvent event) {
+        userService.markTargetCaloriesStale(event.username());
+    }
+
+    /**
+     * コミット後に再計算の要求を受け取り、キューに積む（同じユーザーの要求が既に待機中の場合は何もしない）。
+     * トランザクションの外で発行された要求は、その場で受け取る。
+     *
+     * @param event 再計算の要求
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTargetCaloriesStale(TargetCaloriesStaleEvent event) {
+        enqueue(event.username());
+    }
+
+    /**
+     * アプリケーションの起動完了時に、前回の停止時に失われた再計算（データベースに記録が残っているユーザー）をキューに積む。
+     * 起動を遅らせないよう、ワーカーのスレッドで実行する。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        executor.execute(this::recoverStale);
+    }
+
+    /**
+     * 指定されたユーザーの目標摂取カロリーの再計算が未完了かどうかを判定する。
+     *
+     * @param username ユーザー名
+     * @return 再計算の待機中・実行中の場合 true
+     */
+    public boolean isPending(String username) {
+        return queued.contains(username) || running.contains(username);
+    }
+
+    private void enqueue(String username) {
+        if (queued.add(username)) {
+            executor.execute(() -> recalculate(username));
+        }
+    }
+
+    private void recalculate(String username) {
+        // 同じユーザーを実行中の場合は待機中のまま残し、実行中のスレッドが終了後に積み直す
+        if (!running.add(username)) {
+            return;
+        }
+        // 実行中として登録してから待機中を外す（その間に isPending が false にならないようにする）
+        queued.remove(username);
+        try {
+            userService.recalculateTargetCalories(username);
+        } catch (RuntimeException e) {
+            log.warn("Target calorie recalculation failed: user={}", username, e);
+        } finally {
+            running.remove(username);
+            if (queued.contains(username)) {
+                executor.execute(() -> recalculate(username));
+            }
+        }
+    }
+
+    private void recoverStale() {
+        try {
+            List<String> usernames = userService.findTargetCaloriesStaleUsernames();
+            if (!usernames.isEmpty()) {
+                log.info("Recovering target calorie recalculations: users={}", usernames.size());
+            }
+            usernames.forEach(this::enqueue);
+        } catch (RuntimeException e) {
+            log.warn("Target calorie recovery on startup failed", e);
+        }
+    }
+
+    /**
+     * アプリケーションの終了時に、キューに残っている再計算を実行してからスレッドを停止する。
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Target calorie worker did not finish in time: pending={}", queued.size());
+            executor.shutdownNow();
+        }
+    }
+}
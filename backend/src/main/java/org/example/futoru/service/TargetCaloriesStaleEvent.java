@@ -0,0 +1,12 @@
+package org.example.futoru.service;
+
+/**
+ * ユーザーの目標摂取カロリーの再計算が必要になったことを表すドメインイベント。
+ * <p>
+ * 体重の記録やプロフィールの更新時に発行され、コミット後に {@link TargetCalorieWorker} が非同期に処理する。
+ * </p>
+ *
+ * @param username 再計算の対象となるユーザー名
+ */
+public record TargetCaloriesStaleEvent(String username) {
+}
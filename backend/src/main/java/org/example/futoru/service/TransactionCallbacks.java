@@ -0,0 +1,35 @@
+package org.example.futoru.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * トランザクションの完了に合わせて処理を実行するための補助メソッド。
+ * <p>
+ * メモリ上のキャッシュの破棄や版数の更新など、コミット前に行うと古い内容が新しいものとして扱われる処理に使用する。
+ * </p>
+ */
+final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * トランザクションが有効な場合はコミット後に、そうでなければ即座に処理を実行する。
+     * （ロールバックされた場合は実行しない）
+     *
+     * @param action 実行する処理
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ユーザー名からのユーザー取得結果をキャッシュするサービスクラス。
+ * <p>
+ * コントローラーはユーザー名だけをサービスへ渡し、各サービスがそれぞれユーザーを検索するため、
+ * 1回のリクエストで同じ {@code SELECT ... FROM users WHERE username = ?} が何度も発行されていた。
+ * 本サービスは以下の2層構成でこれを1回以下に抑える：
+ * <ol>
+ * <li>リクエスト単位: 同じリクエスト内では同じユーザーのインスタンスを返す。</li>
+ * <li>リクエスト間: 短い有効期限（{@link #TTL}）付きで、全リクエストから共有するスナップショットを保持する。</li>
+ * </ol>
+ * 共有スナップショットは呼び出し元から変更されないよう、取得のたびにコピーを返す
+ * （返却されるエンティティは永続化コンテキストに属さない detached 状態となる）。
+ * プロフィール・目標カロリーの更新時は {@link #invalidate} により、コミット後に両方の層から破棄する。
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class UserCacheService {
+
+    /** 共有スナップショットの有効期限 */
+    static final Duration TTL = Duration.ofSeconds(30);
+
+    /** キャッシュするユーザー数の上限（超過時は一旦すべて破棄する） */
+    private static final int MAX_CACHED_USERS = 10_000;
+
+    /** リクエスト単位のキャッシュを保持するリクエスト属性名 */
+    private static final String REQUEST_ATTRIBUTE = UserCacheService.class.getName() + ".users";
+
+    private final UserRepository userRepository;
+
+    /** ユーザー名ごとの共有スナップショット */
+    private final ConcurrentMap<String, CachedUser> users = new ConcurrentHashMap<>();
+
+    /** ユーザー名ごとの世代番号（無効化のたびに加算） */
+    private final ConcurrentMap<String, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * ユーザー名を指定してユーザーを取得する。
+     * <p>
+     * リクエスト単位のキャッシュ、共有スナップショット、データベースの順に参照する。
+     * 存在しないユーザーはキャッシュしない。
+     * </p>
+     *
+     * @param username ユーザー名
+     * @return 該当するユーザーのOptional（存在しない場合はEmpty）
+     */
+    public Optional<User> findByUsername(String username) {
+        Map<String, User> requestUsers = requestUsers();
+        if (requestUsers != null) {
+            User user = requestUsers.get(username);
+            if (user != null) {
+                return Optional.of(user);
+            }
+        }
+
+        User snapshot = getSnapshot(username);
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        User user = copyOf(snapshot);
+        if (requestUsers != null) {
+            requestUsers.put(username, user);
+        }
+        return Optional.of(user);
+    }
+
+    /**
+     * 指定されたユーザーのキャッシュを破棄する。
+     * トランザクション内で呼び出された場合は、コミット後に破棄する。
+     *
+     * @param username 対象のユーザー名
+     */
+    public void invalidate(String username) {
+        TransactionCallbacks.afterCommit(() -> {
+            versions.compute(username, (name, current) -> {
+                users.remove(name);
+                return current == null ? 1L : current + 1;
+            });
+            Map<String, User> requestUsers = requestUsers();
+            if (requestUsers != null) {
+                requestUsers.remove(username);
+            }
+        });
+    }
+
+    /**
+     * 有効期限内の共有スナップショットを取得し、ない場合はデータベースから読み込んで保存する。
+     */
+    private User getSnapshot(String username) {
+        long now = System.nanoTime();
+        CachedUser cached = users.get(username);
+        if (cached != null && now - cached.expiresAt() < 0) {
+            return cached.user();
+        }
+
+        Long version = versions.get(username);
+        User loaded = userRepository.findByUsername(username).map(UserCacheService::copyOf).orElse(null);
+        if (loaded == null) {
+            return null;
+        }
+
+        if (users.size() >= MAX_CACHED_USERS) {
+            users.clear();
+        }
+        // 読み込み中に無効化されていなければキャッシュに保存する
+        versions.compute(username, (name, current) -> {
+            if (Objects.equals(current, version)) {
+                users.put(name, new CachedUser(loaded, now + TTL.toNanos()));
+            }
+            return current;
+        });
+        return loaded;
+    }
+
+    /**
+     * 現在のリクエストに紐づくキャッシュを取得する（Webリクエスト外では null）。
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, User> requestUsers() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<String, User> map = (Map<String, User>) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (map == null) {
+            map = new HashMap<>();
+            attributes.setAttribute(REQUEST_ATTRIBUTE, map, RequestAttributes.SCOPE_REQUEST);
+        }
+        return map;
+    }
+
+    /**
+     * 永続化コンテキストに属さないユーザーのコピーを作成する。
+     */
+    private static User copyOf(User source) {
+        User copy = new User();
+        copy.setId(source.getId());
+        copy.setUsername(source.getUsername());
+        copy.setPassword(source.getPassword());
+        copy.setRole(source.getRole());
+        copy.setAge(source.getAge());
+        copy.setGender(source.getGender());
+        copy.setHeight(source.getHeight());
+        copy.setActivityLevel(source.getActivityLevel());
+        copy.setTargetCalories(source.getTargetCalories());
+        copy.setEnergyModel(source.getEnergyModel());
+        copy.setBodyFatPercentage(source.getBodyFatPercentage());
+        return copy;
+    }
+
+    /**
+     * 共有スナップショットと有効期限（{@link System#nanoTime()} 基準）の組。
+     */
+    private record CachedUser(User user, long expiresAt) {
+    }
+}
@@ -0,0 +1,98 @@
+package org.example.futoru.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ユーザーごとのデータ（食事・体重・プロフィール）の版数をメモリ上で管理するサービスクラス。
+ * <p>
+ * ダッシュボードや体重APIの応答に付ける {@code ETag} / {@code Last-Modified} の生成に使用する。
+ * 記録の更新時に {@link #markModified} で版数を進め、条件付きリクエスト（{@code If-None-Match} など）の判定は
+ * この版数だけで行うため、変更がなければデータベースにアクセスせずに {@code 304 Not Modified} を返せる。
+ * </p>
+ * <p>
+ * 版数はプロセス全体で単調増加する通し番号から払い出すため、エントリを破棄して作り直しても以前の値とは重複しない。
+ * また、ETagにはプロセスの起動ごとに異なる値を含め、再起動前に発行したETagとも一致しないようにする。
+ * 版数はアプリケーションのインスタンスごとに管理されるため、複数台で動かす場合は同じユーザーを同じインスタンスへ振り分けること。
+ * </p>
+ */
+@Service
+public class UserDataVersionService {
+
+    /** 版数を保持するユーザー数の上限（超過時は一旦すべて破棄する） */
+    private static final int MAX_TRACKED_USERS = 100_000;
+
+    /** ETagに含める、プロセスの起動ごとに異なる値 */
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+
+    /** 版数の払い出しに使用する通し番号 */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** ユーザー名ごとの現在の版数 */
+    private final ConcurrentMap<String, DataVersion> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 指定されたユーザーの現在の版数を取得する（データベースにはアクセスしない）。
+     * <p>
+     * 起動後に一度も更新されていないユーザーは、この時点を最終更新日時として新しい版数を割り当てる。
+     * 応答の内容が版数より古くならないよう、呼び出し元はデータを読み込む前に版数を取得すること。
+     * </p>
+     *
+     * @param username ユーザー名
+     * @return 現在の版数
+     */
+    public DataVersion current(String username) {
+        DataVersion version = versions.get(username);
+        if (version != null) {
+            return version;
+        }
+        if (versions.size() >= MAX_TRACKED_USERS) {
+            versions.clear();
+        }
+        return versions.computeIfAbsent(username, name -> nextVersion());
+    }
+
+    /**
+     * 指定されたユーザーのデータが更新されたことを記録し、版数を進める。
+     * トランザクション内で呼び出された場合は、コミット後に版数を進める
+     * （コミット前に進めると、古い内容が新しい版数で返却される可能性があるため）。
+     *
+     * @param username 対象のユーザー名
+     */
+    public void markModified(String username) {
+        TransactionCallbacks.afterCommit(() -> versions.put(username, nextVersion()));
+    }
+
+    private DataVersion nextVersion() {
+        return new DataVersion(instanceId, sequence.incrementAndGet(), System.currentTimeMillis());
+    }
+
+    /**
+     * ユーザーのデータの版数。
+     *
+     * @param instanceId   版数を払い出したプロセスの識別子
+     * @param version      版数
+     * @param lastModified 最終更新日時（エポックミリ秒）
+     */
+    public record DataVersion(String instanceId, long version, long lastModified) {
+
+        /**
+         * 版数と、応答の内容を左右するその他の値（表示日など）から強いETagを生成する。
+         *
+         * @param variants 応答の内容を左右するその他の値
+         * @return 引用符で囲んだETag
+         */
+        public String eTag(Object... variants) {
+            StringJoiner joiner = new StringJoiner("-", "\"", "\"");
+            joiner.add(instanceId).add(Long.toString(version, 36));
+            for (Object variant : variants) {
+                joiner.add(String.valueOf(variant));
+            }
+            return joiner.toString();
+        }
+    }
+}
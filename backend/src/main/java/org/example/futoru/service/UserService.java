@@ -1,11 +1,14 @@
 package org.example.futoru.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.EnergyModel;
 import org.example.futoru.entity.User;
 import org.example.futoru.entity.WeightLog;
 import org.example.futoru.repository.UserRepository;
 import org.example.futoru.repository.WeightLogRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,22 +17,30 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * ユーザーのアカウント管理およびプロフィール操作を行うサービスクラス。
  * <p>
  * アカウントの登録、更新、検索に加え、Spring Securityの {@link UserDetailsService} を実装し、
  * 認証プロセスにおけるユーザー情報の取得も担当する。
+ * 他のサービスからのユーザー取得は {@link UserCacheService} を経由し、プロフィール更新時にキャッシュを破棄する。
  * </p>
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = "futoru.service", histogram = true)
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final WeightLogRepository weightLogRepository;
-    private final BmrService bmrService;
+    private final EnergyExpenditureService energyExpenditureService;
+    private final AdaptiveEnergyService adaptiveEnergyService;
     private final PasswordEncoder passwordEncoder;
+    private final UserCacheService userCacheService;
+    private final UserDataVersionService userDataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Spring Securityの認証プロセスで使用されるメソッド。
@@ -71,34 +82,12 @@ public class UserService implements UserDetailsService {
         userRepository.save(user);
     }
 
-    /**
-     * ユーザーの初期設定（プロフィール入力）が完了しているか判定する。
-     * <p>
-     * 判定基準:
-     * <ul>
-     * <li>身長が設定されていること</li>
-     * <li>体重ログが少なくとも1件存在すること</li>
-     * </ul>
-     * </p>
-     *
-     * @param username 確認対象のユーザー名
-     * @return プロフィール設定が完了している場合は true、未完了の場合は false
-     * @throws java.util.NoSuchElementException ユーザーが存在しない場合
-     */
-    @Transactional(readOnly = true)
-    public boolean isProfileCompleted(String username) {
-        User user = userRepository.findByUsername(username).orElseThrow();
-
-        boolean hasWeightLog = weightLogRepository.findFirstByUserOrderByDateDesc(user).isPresent();
-
-        return user.getHeight() != null && hasWeightLog;
-    }
-
     /**
      * 初回プロフィール設定時の処理を一括で行う。
      * <p>
      * ユーザー情報の更新、初期体重ログの記録、および基礎代謝に基づく
      * 目標摂取カロリーの算出と保存をトランザクション内で実行する。
+     * 初回は目標カロリーが未設定のため、以降の更新と異なり同期的に計算する。
      * </p>
      *
      * @param username      更新対象のユーザー名
@@ -128,16 +117,19 @@ public class UserService implements UserDetailsService {
         log.setWeight(weight);
         weightLogRepository.save(log);
 
-        int targetCalories = bmrService.calculateTargetCalories(user, weight);
+        int targetCalories = energyExpenditureService.calculateTargetCalories(user, weight);
         user.setTargetCalories(targetCalories);
 
         userRepository.save(user);
+        userCacheService.invalidate(username);
+        userDataVersionService.markModified(username);
     }
 
     /**
      * 既存ユーザーのプロフィール情報を更新する。
      * <p>
-     * 更新された身体情報を元に、目標摂取カロリーの再計算と保存も自動的に行われる。
+     * 更新された身体情報を元に、目標摂取カロリーの再計算と保存も自動的に行われる
+     * （コミット後に {@link TargetCalorieWorker} が非同期に行う）。
      * 体重の更新は含まれない（WeightLogServiceで管理するため）。
      * </p>
      *
@@ -153,27 +145,137 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
 
+        updateProfile(user, height, age, gender, activityLevel,
+                EnergyModel.from(user.getEnergyModel()), user.getBodyFatPercentage());
+    }
+
+    /**
+     * 既存ユーザーのプロフィール情報を、TDEEの推定モデル・体脂肪率を含めて更新する。
+     * <p>
+     * 推定モデルを変更した場合は、適応型モデルの回帰状態を作り直す。
+     * 目標摂取カロリーの再計算はコミット後に {@link TargetCalorieWorker} が非同期に行う。
+     * </p>
+     *
+     * @param username          更新対象のユーザー名
+     * @param height            身長 (cm)
+     * @param age               年齢
+     * @param gender            性別 ("MALE" または "FEMALE")
+     * @param activityLevel     活動レベル
+     * @param energyModel       TDEEの推定モデル
+     * @param bodyFatPercentage 体脂肪率 (%)（未入力の場合は null）
+     * @throws RuntimeException 指定されたユーザーが見つからない場合
+     * @throws IllegalArgumentException 体脂肪率が 0～100 の範囲外の場合
+     */
+    @Transactional
+    public void updateProfile(String username, Double height, Integer age, String gender, ActivityLevel activityLevel,
+                              EnergyModel energyModel, Double bodyFatPercentage) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+
+        updateProfile(user, height, age, gender, activityLevel, energyModel, bodyFatPercentage);
+    }
+
+    /**
+     * プロフィール情報を更新し、目標摂取カロリーの再計算を要求する。
+     */
+    private void updateProfile(User user, Double height, Integer age, String gender, ActivityLevel activityLevel,
+                               EnergyModel energyModel, Double bodyFatPercentage) {
+        if (bodyFatPercentage != null && (bodyFatPercentage <= 0 || bodyFatPercentage >= 100)) {
+            throw new IllegalArgumentException("Body fat percentage must be between 0 and 100");
+        }
+        boolean modelChanged = !Objects.equals(user.getEnergyModel(), energyModel.name());
+
         user.setHeight(height);
         user.setAge(age);
         user.setGender(gender);
         user.setActivityLevel(activityLevel.name());
+        user.setEnergyModel(energyModel.name());
+        user.setBodyFatPercentage(bodyFatPercentage);
 
         userRepository.save(user);
+        if (modelChanged) {
+            adaptiveEnergyService.reset(user);
+        }
 
-        Double currentWeight = weightLogRepository.findFirstByUserOrderByDateDesc(user)
-                .map(WeightLog::getWeight)
-                .orElse(null);
+        userCacheService.invalidate(user.getUsername());
+        userDataVersionService.markModified(user.getUsername());
+        eventPublisher.publishEvent(new TargetCaloriesStaleEvent(user.getUsername()));
+    }
 
-        int targetCalories = bmrService.calculateTargetCalories(user, currentWeight);
-        user.setTargetCalories(targetCalories);
+    /**
+     * 最新の記録から目標摂取カロリーを再計算し、値が変わった場合のみ保存する。
+     * <p>
+     * {@link TargetCalorieWorker} から、体重・プロフィールの更新のコミット後に呼び出される。
+     * 実行時点で最新のユーザー情報・体重を読み直すため、複数の更新をまとめて1回で処理してもよい。
+     * 身長・年齢・体重のいずれかが未設定の場合は何もしない。
+     * 再計算待ちの記録（{@link #markTargetCaloriesStale}）は、ユーザーの行を更新して消してから計算する。
+     * 計算中に他の更新がコミットしようとした場合は、この行ロックで待たされてから再計算待ちを記録し直す。
+     * </p>
+     *
+     * @param username 対象のユーザー名
+     * @throws RuntimeException 指定されたユーザーが見つからない場合
+     */
+    @Transactional
+    public void recalculateTargetCalories(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        userRepository.clearTargetCaloriesStale(user.getId());
 
-        userRepository.save(user);
+        Integer targetCalories = calculateCurrentTargetCalories(user);
+        if (targetCalories != null && !targetCalories.equals(user.getTargetCalories())) {
+            updateTargetCalories(user, targetCalories);
+        }
+    }
+
+    /**
+     * 目標摂取カロリーの再計算が必要であることをデータベースに記録する。
+     * <p>
+     * {@link TargetCaloriesStaleEvent} を発行したトランザクションのコミット直前に {@link TargetCalorieWorker} から呼び出され、
+     * 再計算の前にアプリケーションが停止しても、次回の起動時に再計算できるようにする。
+     * </p>
+     *
+     * @param username 対象のユーザー名
+     */
+    @Transactional
+    public void markTargetCaloriesStale(String username) {
+        userRepository.markTargetCaloriesStale(username);
+    }
+
+    /**
+     * 目標摂取カロリーの再計算を待っているユーザー名を取得する。
+     *
+     * @return ユーザー名のリスト（要求の古い順）
+     */
+    @Transactional(readOnly = true)
+    public List<String> findTargetCaloriesStaleUsernames() {
+        return userRepository.findTargetCaloriesStaleUsernames();
+    }
+
+    /**
+     * 最新の体重とプロフィールから、目標摂取カロリーをその場で計算する（保存はしない）。
+     * <p>
+     * 再計算が未完了の間に、ダッシュボードが最新の目標値を表示するために使用する。
+     * </p>
+     *
+     * @param user 対象ユーザー
+     * @return 目標摂取カロリー。身長・年齢・体重のいずれかが未設定の場合は null
+     */
+    @Transactional(readOnly = true)
+    public Integer calculateCurrentTargetCalories(User user) {
+        if (user.getHeight() == null || user.getAge() == null) {
+            return null;
+        }
+        return weightLogRepository.findFirstByUserOrderByDateDesc(user)
+                .map(log -> energyExpenditureService.calculateTargetCalories(user, log.getWeight()))
+                .orElse(null);
     }
 
     /**
      * ユーザーの目標摂取カロリーを更新する。
      * <p>
-     * 体重記録の更新時など、外部サービスから目標値の更新が必要な場合に呼び出される。
+     * 目標値の再計算結果を保存する場合に呼び出される。
+     * 渡されたユーザーはキャッシュから取得した detached 状態の場合があるため、
+     * merge せずに目標カロリーの列だけを更新する（渡されたインスタンスにも新しい値を設定する）。
      * </p>
      *
      * @param user              更新対象のユーザーエンティティ
@@ -182,7 +284,9 @@ public class UserService implements UserDetailsService {
     @Transactional
     public void updateTargetCalories(User user, int newTargetCalories) {
         user.setTargetCalories(newTargetCalories);
-        userRepository.save(user);
+        userRepository.updateTargetCalories(user.getId(), newTargetCalories);
+        userCacheService.invalidate(user.getUsername());
+        userDataVersionService.markModified(user.getUsername());
     }
 
     /**
@@ -190,6 +294,8 @@ public class UserService implements UserDetailsService {
      * <p>
      * 他のサービス（WeightLogService等）でユーザーIDが必要な場合に使用する。
      * 存在しない場合は例外をスローする。
+     * 結果は {@link UserCacheService} でキャッシュされ、永続化コンテキストに属さない detached 状態で返却される
+     * （関連の設定や検索条件には使用できるが、変更を保存する場合は専用の更新メソッドを使用すること）。
      * </p>
      *
      * @param username 取得したいユーザー名
@@ -198,7 +304,7 @@ public class UserService implements UserDetailsService {
      */
     @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
+        return userCacheService.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
     }
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+package org.example.futoru.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.futoru.dto.WeightImportResult;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.WeightLogRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 体組成計などから出力された体重のCSVを、ユーザーの体重記録として一括取込するサービスクラス。
+ * <p>
+ * 数年分（数千日分）の記録を1回で取り込むことを想定し、以下の方針で処理する：
+ * <ul>
+ * <li>1行目のヘッダーから日付・体重の列を探す。列名が {@code date} / {@code weight} で始まる列を使用し、
+ * 体組成計の出力に含まれる他の列（時刻、BMI、体脂肪率など）は無視する。</li>
+ * <li>同じ日付の行が複数ある場合は後の行を優先する（1日に複数回測定した場合は最後の値となる）。</li>
+ * <li>登録・上書きは1件ずつの記録と同じ {@link WeightLogRepository#UPSERT_SQL}
+ * （{@code (user_id, date)} の一意制約を利用した {@code INSERT ... ON DUPLICATE KEY UPDATE}）を
+ * JDBCバッチで {@link #BATCH_SIZE} 件ずつ送信する。既存の記録を読み込んで突き合わせる必要はない。</li>
+ * <li>全体を1トランザクションで反映し、不正な入力で失敗した場合は何も取り込まれない。</li>
+ * <li>適応型TDEE推定モデルの回帰状態は、1日ずつ差分を反映せずに取込後の履歴から1回で作り直す。</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WeightImportService {
+
+    /** 1回のJDBCバッチで送信する行数 */
+    static final int BATCH_SIZE = 1000;
+
+    /** 1回の取込で受け付ける最大行数（1日1行で約100年分） */
+    static final int MAX_ROWS = 40_000;
+
+    /** 体重の上限 (kg)。グラム単位の値などの明らかな異常値を弾くため */
+    private static final double MAX_WEIGHT = 500;
+
+    /** 日付の形式（"2025-01-05"、"2025/1/5" のどちらにも対応する） */
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("uuuu-M-d");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final UserService userService;
+    private final AdaptiveEnergyService adaptiveEnergyService;
+    private final UserDataVersionService userDataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * CSV形式（1行目がヘッダー、UTF-8）の体重記録を取り込む。
+     * <p>
+     * 既に記録がある日付は、ファイルの値で上書きする。
+     * ユーザーの目標カロリーの再計算は、取込の件数に関わらずコミット後に1回だけ要求する。
+     * </p>
+     *
+     * @param username 取り込むユーザーの名前
+     * @param in       CSVの入力ストリーム
+     * @return 処理結果の件数
+     * @throws IllegalArgumentException ヘッダーに日付・体重の列がない場合、行数が {@link #MAX_ROWS} を超える場合
+     * @throws UncheckedIOException     入力が読み込めない場合
+     */
+    @Transactional
+    public WeightImportResult importCsv(String username, InputStream in) {
+        long startedAt = System.currentTimeMillis();
+        User user = userService.getUserByUsername(username);
+
+        long read = 0;
+        long duplicates = 0;
+        long skipped = 0;
+        // 同じ日付は後の行で上書きする（送信順は最初に現れた位置を保つ）
+        Map<LocalDate, Double> weights = new LinkedHashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV is empty");
+            }
+            List<String> names = CsvSupport.parseLine(CsvSupport.stripBom(header));
+            int dateColumn = findColumn(names, "date");
+            int weightColumn = findColumn(names, "weight");
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (++read > MAX_ROWS) {
+                    throw new IllegalArgumentException("CSV must not exceed " + MAX_ROWS + " rows");
+                }
+                List<String> values = CsvSupport.parseLine(line);
+                LocalDate date = parseDate(value(values, dateColumn));
+                Double weight = parseWeight(value(values, weightColumn));
+                if (date == null || weight == null) {
+                    skipped++;
+                    continue;
+                }
+                if (weights.put(date, weight) != null) {
+                    duplicates++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read weight CSV", e);
+        }
+
+        List<SqlParameterSource> args = new ArrayList<>(Math.min(weights.size(), BATCH_SIZE));
+        for (Map.Entry<LocalDate, Double> entry : weights.entrySet()) {
+            args.add(new MapSqlParameterSource()
+                    .addValue("userId", user.getId())
+                    .addValue("date", entry.getKey())
+                    .addValue("weight", entry.getValue()));
+            if (args.size() >= BATCH_SIZE) {
+                upsert(args);
+            }
+        }
+        if (!args.isEmpty()) {
+            upsert(args);
+        }
+
+        if (!weights.isEmpty()) {
+            if (AdaptiveEnergyService.isAdaptive(user)) {
+                adaptiveEnergyService.reset(user);
+            }
+            userDataVersionService.markModified(username);
+            eventPublisher.publishEvent(new TargetCaloriesStaleEvent(username));
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        log.info("Weight import finished: user={}, read={}, imported={}, duplicates={}, skipped={}, elapsed={}ms",
+                username, read, weights.size(), duplicates, skipped, elapsed);
+        return new WeightImportResult(read, weights.size(), duplicates, skipped, elapsed);
+    }
+
+    /**
+     * 溜めた行をJDBCバッチで送信し、リストを空にする。
+     */
+    private void upsert(List<SqlParameterSource> args) {
+        jdbcTemplate.batchUpdate(WeightLogRepository.UPSERT_SQL, args.toArray(SqlParameterSource[]::new));
+        args.clear();
+    }
+
+    /**
+     * 列名が指定された接頭辞で始まる最初の列の位置を返す（大文字・小文字は区別しない）。
+     */
+    private static int findColumn(List<String> names, String prefix) {
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).strip().toLowerCase(Locale.ROOT).startsWith(prefix)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("CSV header must contain '" + prefix + "' column");
+    }
+
+    private static String value(List<String> values, int index) {
+        return index < values.size() ? values.get(index).strip() : null;
+    }
+
+    /**
+     * 日付を解釈する。日時形式（"2025-01-05 07:30"、"2025-01-05T07:30:00"）の場合は日付部分のみを使用する。
+     *
+     * @return 解釈できない場合は null
+     */
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        int end = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ' ' || c == 'T') {
+                end = i;
+                break;
+            }
+        }
+        try {
+            return LocalDate.parse(value.substring(0, end).replace('/', '-'), DATE_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 体重を解釈する。
+     *
+     * @return 解釈できない場合、0以下または {@link #MAX_WEIGHT} を超える場合は null
+     */
+    private static Double parseWeight(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            double weight = Double.parseDouble(value);
+            return Double.isFinite(weight) && weight > 0 && weight <= MAX_WEIGHT ? weight : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,37 +1,54 @@
 package org.example.futoru.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.example.futoru.dto.WeightPointDto;
 import org.example.futoru.entity.User;
 import org.example.futoru.entity.WeightLog;
 import org.example.futoru.repository.WeightLogRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 体重記録（WeightLog）に関するビジネスロジックを提供するサービスクラス。
  * <p>
  * 日々の体重の記録・更新処理や、
- * ダッシュボードのグラフ表示用にデータを整形して返却する機能を持つ。
+ * ダッシュボードのグラフ表示用に体重推移を間引いて返却する機能を持つ。
  * </p>
  */
 @Service
 @RequiredArgsConstructor
+@Timed(value = "futoru.service", histogram = true)
 public class WeightLogService {
 
+    /** グラフ用の体重推移で返却する最大点数 */
+    public static final int MAX_SERIES_POINTS = 1000;
+
+    /** 期間の開始日を省略した場合の下限（これより前の記録は存在しない前提） */
+    private static final LocalDate EARLIEST_DATE = LocalDate.of(1900, 1, 1);
+
     private final WeightLogRepository weightLogRepository;
     private final UserService userService;
-    private final BmrService bmrService;
+    private final AdaptiveEnergyService adaptiveEnergyService;
+    private final UserDataVersionService userDataVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
 
     /**
      * 指定された日付の体重を記録する。
      * <p>
      * 既に同日の記録が存在する場合は上書き更新し、存在しない場合は新規作成する。
-     * 体重記録の更新に伴い、ユーザーの目標カロリー（BMR）も再計算して更新する。
+     * 登録・更新は {@code (user_id, date)} の一意制約を利用したupsertの1文で行うため、
+     * 同じ日付を同時に登録しても行が重複せず、既存行を読み込む往復も発生しない。
+     * 適応型TDEE推定モデルのユーザーのみ、回帰状態の差分更新に更新前の体重が必要なため、
+     * 行ロック付きで既存の記録を読み込んでから更新する。
+     * ユーザーの目標カロリーの再計算は、コミット後に {@link TargetCalorieWorker} が非同期に行う
+     * （リクエストは体重記録のコミット後すぐに応答する）。
      * </p>
      *
      * @param username 記録するユーザーの名前
@@ -42,19 +59,19 @@ public class WeightLogService {
     public void saveWeightLog(String username, LocalDate date, Double weight) {
         User user = userService.getUserByUsername(username);
 
-        WeightLog log = weightLogRepository.findByUserAndDate(user, date)
-                .orElse(new WeightLog());
-
-        log.setUser(user);
-        log.setDate(date);
-        log.setWeight(weight);
-
-        weightLogRepository.save(log);
-
-        // 体重変化に伴う目標カロリーの再計算
-        int newTargetCalories = bmrService.calculateTargetCalories(user, weight);
-
-        userService.updateTargetCalories(user, newTargetCalories);
+        if (AdaptiveEnergyService.isAdaptive(user)) {
+            Double previousWeight = weightLogRepository.findLockedByUserAndDate(user, date)
+                    .map(WeightLog::getWeight)
+                    .orElse(null);
+            weightLogRepository.upsert(user.getId(), date, weight);
+            adaptiveEnergyService.applyWeightChange(user, date, previousWeight, weight);
+        } else {
+            weightLogRepository.upsert(user.getId(), date, weight);
+        }
+        userDataVersionService.markModified(username);
+
+        // 体重変化に伴う目標カロリーの再計算を要求する
+        eventPublisher.publishEvent(new TargetCaloriesStaleEvent(username));
     }
 
     /**
@@ -71,35 +88,26 @@ public class WeightLogService {
     }
 
     /**
-     * グラフ表示用の日付ラベルリストを取得する。
-     *
-     * @param username 対象ユーザー名
-     * @return "M/d" 形式の日付文字列リスト
-     */
-    public List<String> getGraphLabels(String username) {
-        User user = userService.getUserByUsername(username);
-        List<WeightLog> logs = weightLogRepository.findByUserOrderByDateAsc(user);
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("M/d");
-
-        return logs.stream()
-                .map(log -> log.getDate().format(formatter))
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * グラフ表示用の体重データリストを取得する。
+     * グラフ表示用の体重推移を、指定された点数以内に間引いて取得する。
+     * <p>
+     * 期間内の記録を日付と体重の2列だけ取得し、{@link WeightSeriesDownsampler} で
+     * 1回の走査で間引く。何年分の記録があっても、画面に送る点数は {@code maxPoints} 以下に抑えられる。
+     * </p>
      *
-     * @param username 対象ユーザー名
-     * @return 体重数値のリスト
+     * @param username  対象ユーザー名
+     * @param from      期間の開始日（null の場合は最初の記録から）
+     * @param to        期間の終了日（null の場合は今日まで）
+     * @param maxPoints 最大点数（{@link #MAX_SERIES_POINTS} で頭打ち）
+     * @return 日付昇順の体重データリスト
      */
-    public List<Double> getGraphValues(String username) {
+    @Transactional(readOnly = true)
+    public List<WeightPointDto> getWeightSeries(String username, LocalDate from, LocalDate to, int maxPoints) {
         User user = userService.getUserByUsername(username);
 
-        List<WeightLog> logs = weightLogRepository.findByUserOrderByDateAsc(user);
+        LocalDate end = to != null ? to : LocalDate.now(clock);
+        LocalDate start = from != null ? from : EARLIEST_DATE;
+        List<WeightPointDto> points = weightLogRepository.findPointsByUserAndDateBetween(user, start, end);
 
-        return logs.stream()
-                .map(WeightLog::getWeight)
-                .collect(Collectors.toList());
+        return WeightSeriesDownsampler.downsample(points, Math.clamp(maxPoints, 3, MAX_SERIES_POINTS));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.WeightPointDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 体重推移の時系列データを、グラフの見た目を保ったまま指定点数まで間引くユーティリティクラス。
+ * <p>
+ * LTTB（Largest-Triangle-Three-Buckets）法を使用する。先頭と末尾の点は必ず残し、
+ * 残りの点を {@code maxPoints - 2} 個のバケットに分け、各バケットから
+ * 「前に選んだ点」と「次のバケットの平均点」で作る三角形の面積が最大となる点を1つずつ選ぶ。
+ * 単純な等間隔の間引きと異なり、急な増減（ピーク）が残りやすい。
+ * </p>
+ * <p>
+ * X軸は日付（エポック日）を使用するため、記録の間隔が不規則でも形が歪まない。
+ * 入力を1回走査するだけで計算が終わる（O(n)）。
+ * </p>
+ */
+public final class WeightSeriesDownsampler {
+
+    private WeightSeriesDownsampler() {
+    }
+
+    /**
+     * 時系列データを最大 {@code maxPoints} 点に間引く。
+     *
+     * @param points    日付の昇順に並んだ体重データ（体重が null の点は含めないこと）
+     * @param maxPoints 返却する最大点数（3未満の場合は間引かずに返す）
+     * @return 間引き後の体重データ（元の点数が {@code maxPoints} 以下の場合は入力そのもの）
+     */
+    public static List<WeightPointDto> downsample(List<WeightPointDto> points, int maxPoints) {
+        int size = points.size();
+        if (maxPoints < 3 || size <= maxPoints) {
+            return points;
+        }
+
+        List<WeightPointDto> sampled = new ArrayList<>(maxPoints);
+        sampled.add(points.get(0));
+
+        // 先頭・末尾を除いた点を (maxPoints - 2) 個のバケットに分割する
+        int buckets = maxPoints - 2;
+        int selected = 0;
+
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int start = bucketStart(bucket, buckets, size);
+            int end = bucketStart(bucket + 1, buckets, size);
+
+            // 次のバケットの平均点（最後のバケットでは末尾の点）
+            int nextStart = end;
+            int nextEnd = bucket + 2 <= buckets ? bucketStart(bucket + 2, buckets, size) : size;
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x(points.get(i));
+                avgY += points.get(i).getWeight();
+            }
+            int nextCount = nextEnd - nextStart;
+            avgX /= nextCount;
+            avgY /= nextCount;
+
+            double ax = x(points.get(selected));
+            double ay = points.get(selected).getWeight();
+
+            double maxArea = -1;
+            int maxIndex = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((ax - avgX) * (points.get(i).getWeight() - ay)
+                        - (ax - x(points.get(i))) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+
+            sampled.add(points.get(maxIndex));
+            selected = maxIndex;
+        }
+
+        sampled.add(points.get(size - 1));
+        return sampled;
+    }
+
+    /**
+     * {@code bucket} 番目のバケットの開始位置を求める（{@code bucket == buckets} の場合は末尾の点の位置）。
+     */
+    private static int bucketStart(int bucket, int buckets, int size) {
+        return (int) ((long) bucket * (size - 2) / buckets) + 1;
+    }
+
+    private static double x(WeightPointDto point) {
+        return point.getDate().toEpochDay();
+    }
+}
@@ -0,0 +1,7 @@
+-- 目標摂取カロリーの再計算待ちの印
+-- 体重・プロフィールの更新と同じトランザクションで設定し、再計算時に消す。
+-- 停止・異常終了でメモリ上の再計算キューが失われても、起動時にこの列が設定されたユーザーだけを再計算する。
+
+alter table users add column target_calories_stale_since datetime(6);
+
+create index idx_users_target_calories_stale on users (target_calories_stale_since);
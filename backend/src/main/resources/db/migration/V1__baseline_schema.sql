@@ -0,0 +1,62 @@
+-- ベースラインスキーマ
+-- Flyway導入前に Hibernate (ddl-auto=update) が生成していたテーブル構成と同一。
+-- 既存のデータベースでは spring.flyway.baseline-on-migrate により、このファイルは適用済みとして扱われる。
+
+create table users (
+    id bigint not null auto_increment,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    role varchar(255),
+    age integer,
+    gender varchar(255),
+    height float(53),
+    activity_level varchar(255),
+    target_calories integer,
+    primary key (id),
+    constraint uk_users_username unique (username)
+) engine=InnoDB;
+
+create table food_items (
+    id bigint not null auto_increment,
+    user_id bigint,
+    name varchar(255),
+    calories integer,
+    unit varchar(255),
+    type varchar(255),
+    primary key (id),
+    constraint fk_food_items_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table meal_logs (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    food_item_id bigint,
+    name varchar(255),
+    calories integer,
+    amount float(53),
+    eaten_at datetime(6) not null,
+    primary key (id),
+    constraint fk_meal_logs_user foreign key (user_id) references users (id),
+    constraint fk_meal_logs_food_item foreign key (food_item_id) references food_items (id)
+) engine=InnoDB;
+
+create table recipes (
+    id bigint not null auto_increment,
+    parent_food_id bigint not null,
+    child_food_id bigint,
+    manual_name varchar(255),
+    manual_calories integer,
+    amount float(53),
+    primary key (id),
+    constraint fk_recipes_parent_food foreign key (parent_food_id) references food_items (id),
+    constraint fk_recipes_child_food foreign key (child_food_id) references food_items (id)
+) engine=InnoDB;
+
+create table weight_logs (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    date date not null,
+    weight float(53) not null,
+    primary key (id),
+    constraint fk_weight_logs_user foreign key (user_id) references users (id)
+) engine=InnoDB;
@@ -0,0 +1,13 @@
+-- 日別カロリー集計テーブル
+-- Flyway導入前に Hibernate が作成済みの環境もあるため IF NOT EXISTS とする。
+
+create table if not exists daily_calorie_summaries (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    summary_date date not null,
+    total_calories integer not null,
+    entry_count integer not null,
+    primary key (id),
+    constraint uk_daily_calorie_summaries_user_date unique (user_id, summary_date),
+    constraint fk_daily_calorie_summaries_user foreign key (user_id) references users (id)
+) engine=InnoDB;
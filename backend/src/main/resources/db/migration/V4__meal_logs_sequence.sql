@@ -0,0 +1,13 @@
+-- meal_logs の採番方式を IDENTITY からシーケンス（pooled, 50件単位）に変更する
+-- MySQLはシーケンスを持たないため、Hibernateはこのテーブルでシーケンスを代替する。
+
+create table meal_logs_seq (
+    next_val bigint
+) engine=InnoDB;
+
+-- pooled 方式では取得値から (50 - 1) 引いた値から採番が始まるため、既存の最大IDとの重複を避けるよう余裕を持たせる
+insert into meal_logs_seq (next_val)
+select coalesce(max(id), 0) + 51 from meal_logs;
+
+-- IDはアプリケーション側で採番するため、自動採番を外す（誤ってIDなしでINSERTされた行との重複を防ぐ）
+alter table meal_logs modify id bigint not null;
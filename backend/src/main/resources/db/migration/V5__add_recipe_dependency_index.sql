@@ -0,0 +1,4 @@
+-- recipes: 材料 → それを使用するレシピ（子 → 親）の逆引き用インデックス
+-- 食品のカロリー変更時に、影響を受ける親レシピを再帰的に辿る findAncestorIds を
+-- (child_food_id, parent_food_id) のカバリングインデックスだけで解決する
+create index idx_recipes_child_parent on recipes (child_food_id, parent_food_id);
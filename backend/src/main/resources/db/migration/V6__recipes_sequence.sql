@@ -0,0 +1,13 @@
+-- recipes の採番方式を IDENTITY からシーケンス（pooled, 50件単位）に変更する
+-- レシピ作成・一括取込時に、構成要素のINSERTをJDBCバッチでまとめて送信できるようにするため。
+
+create table recipes_seq (
+    next_val bigint
+) engine=InnoDB;
+
+-- pooled 方式では取得値から (50 - 1) 引いた値から採番が始まるため、既存の最大IDとの重複を避けるよう余裕を持たせる
+insert into recipes_seq (next_val)
+select coalesce(max(id), 0) + 51 from recipes;
+
+-- IDはアプリケーション側で採番するため、自動採番を外す
+alter table recipes modify id bigint not null;
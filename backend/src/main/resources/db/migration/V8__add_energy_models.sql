@@ -0,0 +1,25 @@
+-- TDEE推定モデルのユーザーごとの選択
+-- energy_model が NULL のユーザーは既定の Mifflin-St Jeor式で計算される。
+
+alter table users add column energy_model varchar(30);
+alter table users add column body_fat_percentage float(53);
+
+-- 適応型モデルの回帰状態
+-- 適応型を選択したユーザーについてのみ、体重・食事の記録時に同じトランザクションで差分更新される。
+
+create table adaptive_energy_states (
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    weight_count integer not null,
+    weight_sum float(53) not null,
+    weight_sum_t float(53) not null,
+    weight_sum_tt float(53) not null,
+    weight_sum_y float(53) not null,
+    weight_sum_ty float(53) not null,
+    intake_days integer not null,
+    intake_sum float(53) not null,
+    intake_sum_calories float(53) not null,
+    primary key (id),
+    constraint uk_adaptive_energy_states_user unique (user_id),
+    constraint fk_adaptive_energy_states_user foreign key (user_id) references users (id)
+) engine=InnoDB;
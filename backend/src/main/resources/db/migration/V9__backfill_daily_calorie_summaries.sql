@@ -0,0 +1,12 @@
+-- 日別カロリー集計の欠けている日を補完する
+-- 集計行は食事記録時に INSERT ... ON DUPLICATE KEY UPDATE で差分加算されるため、
+-- 食事記録のある日には必ず集計行が存在している必要がある（V2 導入前の記録の日を、食事記録から集計して作成する）。
+
+insert into daily_calorie_summaries (user_id, summary_date, total_calories, entry_count)
+select m.user_id, date(m.eaten_at), coalesce(sum(m.calories), 0), count(*)
+from meal_logs m
+where not exists (select 1
+                  from daily_calorie_summaries s
+                  where s.user_id = m.user_id
+                    and s.summary_date = date(m.eaten_at))
+group by m.user_id, date(m.eaten_at);
@@ -0,0 +1,123 @@
+package org.example.futoru;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Flywayのマイグレーション（V1〜最新）を適用したスキーマが、エンティティ定義と一致することを検証するテスト。
+ * <p>
+ * 他のテストはエンティティ定義からスキーマを生成する（create-drop）ため、マイグレーションSQLの誤りを検出できない。
+ * ここでは別のインメモリDBにマイグレーションを適用し、本番と同じ {@code ddl-auto=validate} で起動する。
+ * MySQL方言で検証するため、V4・V6 のシーケンス代替テーブルもHibernateが本番で参照する形で確認される。
+ * データベース製品に依存する V3・V7・V10 は、テスト用の {@code db/vendor/h2} にある同じ内容のH2用SQLを適用する。
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:futoru_migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"
+})
+class FlywayMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Test
+    void allMigrationsAreAppliedAndValidatedAgainstEntities() {
+        // コンテキストの起動（ddl-auto=validate）に成功した時点で、スキーマとエンティティは一致している
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current().getVersion().getVersion())
+                .isEqualTo(flyway.info().all()[flyway.info().all().length - 1].getVersion().getVersion());
+    }
+
+    @Test
+    void migrationsCarryExistingRowsOver() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:futoru_migration_data;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        // Flyway導入前（V2 まで）のデータを用意する
+        migrate(dataSource, "2");
+        jdbc.update("INSERT INTO users (id, username, password, target_calories) VALUES (1, 'alice', 'x', 2000)");
+        jdbc.update("INSERT INTO food_items (id, name, calories) VALUES (1, 'ごはん', 250)");
+        // 2026-10-14（水）と 2026-10-15（木）は同じ週、2026-11-02（月）は翌月
+        jdbc.update("INSERT INTO meal_logs (id, user_id, name, calories, amount, eaten_at) VALUES "
+                + "(1, 1, 'a', 1500, 1.0, '2026-10-14 08:00:00'), (2, 1, 'b', 800, 1.0, '2026-10-14 19:00:00'), "
+                + "(3, 1, 'c', 1200, 1.0, '2026-10-15 12:00:00'), (12, 1, 'd', 2100, 1.0, '2026-11-02 12:00:00')");
+        jdbc.update("INSERT INTO recipes (id, parent_food_id, child_food_id, amount) VALUES (7, 1, 1, 1.0)");
+        // 同一日付の重複した体重記録（V3 の一意制約の前に、IDが最大の行だけ残る）
+        jdbc.update("INSERT INTO weight_logs (id, user_id, date, weight) VALUES "
+                + "(1, 1, '2026-10-14', 60.0), (2, 1, '2026-10-14', 60.5), (3, 1, '2026-10-15', 61.0)");
+
+        migrate(dataSource, null);
+
+        assertThat(jdbc.queryForList("SELECT id FROM weight_logs ORDER BY id", Long.class)).containsExactly(2L, 3L);
+
+        // V4・V6: シーケンス代替テーブルは既存の最大IDから採番が重ならない値で始まり、IDの自動採番は外されている
+        assertThat(jdbc.queryForObject("SELECT next_val FROM meal_logs_seq", Long.class)).isEqualTo(12 + 51);
+        assertThat(jdbc.queryForObject("SELECT next_val FROM recipes_seq", Long.class)).isEqualTo(7 + 51);
+        assertThatThrownBy(() -> jdbc.update(
+                "INSERT INTO meal_logs (user_id, calories, eaten_at) VALUES (1, 100, '2026-10-16 12:00:00')"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        // V8・V11: 追加された列は既存ユーザーでは未設定
+        Map<String, Object> user = jdbc.queryForMap(
+                "SELECT energy_model, body_fat_percentage, target_calories_stale_since FROM users WHERE id = 1");
+        assertThat(user.values()).containsOnlyNulls();
+
+        // V9・V10: 日別集計は食事記録から補完され、その日の目標カロリーとして現在の目標値が入る
+        List<Map<String, Object>> summaries = jdbc.queryForList(
+                "SELECT summary_date, total_calories, entry_count, target_calories FROM daily_calorie_summaries "
+                        + "WHERE user_id = 1 ORDER BY summary_date");
+        assertThat(summaries).extracting(row -> row.get("summary_date").toString())
+                .containsExactly("2026-10-14", "2026-10-15", "2026-11-02");
+        assertThat(summaries).extracting(row -> ((Number) row.get("total_calories")).intValue())
+                .containsExactly(2300, 1200, 2100);
+        assertThat(summaries).extracting(row -> ((Number) row.get("target_calories")).intValue())
+                .containsOnly(2000);
+
+        // V10: 週・月の集計は日別集計から作り直される（週は月曜日、月は1日始まり）
+        assertThat(rollup(jdbc, "WEEK", LocalDate.of(2026, 10, 12))).containsExactly(3500L, 2L, 1L);
+        assertThat(rollup(jdbc, "WEEK", LocalDate.of(2026, 11, 2))).containsExactly(2100L, 1L, 1L);
+        assertThat(rollup(jdbc, "MONTH", LocalDate.of(2026, 10, 1))).containsExactly(3500L, 2L, 1L);
+        assertThat(rollup(jdbc, "MONTH", LocalDate.of(2026, 11, 1))).containsExactly(2100L, 1L, 1L);
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM calorie_rollups", Integer.class)).isEqualTo(4);
+    }
+
+    /**
+     * テスト用のDBに、アプリケーションと同じ設定のマイグレーションを指定バージョンまで適用する。
+     */
+    private void migrate(DriverManagerDataSource dataSource, String target) {
+        Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(dataSource)
+                .target(target != null ? target : "latest")
+                .load()
+                .migrate();
+    }
+
+    /**
+     * 集計行の合計カロリー・記録日数・目標達成日数を取得する。
+     */
+    private List<Long> rollup(JdbcTemplate jdbc, String periodType, LocalDate periodStart) {
+        return jdbc.queryForObject(
+                "SELECT total_calories, days_logged, days_on_target FROM calorie_rollups "
+                        + "WHERE user_id = 1 AND period_type = ? AND period_start = ?",
+                (rs, rowNum) -> List.of(rs.getLong(1), rs.getLong(2), rs.getLong(3)),
+                periodType, periodStart);
+    }
+}
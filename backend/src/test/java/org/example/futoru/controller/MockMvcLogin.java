@@ -0,0 +1,52 @@
+package org.example.futoru.controller;
+
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+
+/**
+ * MockMvc のテストで、画面と同じ手順でログインするためのヘルパー。
+ */
+public final class MockMvcLogin {
+
+    private static final Pattern FORM_CSRF = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+    private static final Pattern META_CSRF = Pattern.compile("<meta name=\"_csrf\" content=\"([^\"]+)\"");
+
+    private MockMvcLogin() {
+    }
+
+    /**
+     * ログイン画面のフォームからログインし、認証済みのセッションを返す。
+     */
+    public static MockHttpSession login(MockMvc mockMvc, String username, String password) throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        String loginPage = mockMvc.perform(get("/login").session(session))
+                .andReturn().getResponse().getContentAsString();
+        Matcher matcher = FORM_CSRF.matcher(loginPage);
+        assertThat(matcher.find()).isTrue();
+
+        mockMvc.perform(post("/login").session(session)
+                        .param("username", username)
+                        .param("password", password)
+                        .param("_csrf", matcher.group(1)))
+                .andExpect(redirectedUrl("/"));
+        return session;
+    }
+
+    /**
+     * ログイン後の画面に埋め込まれたCSRFトークンを取得する（更新系のリクエストに使用する）。
+     */
+    public static String csrfToken(MockMvc mockMvc, MockHttpSession session) throws Exception {
+        String page = mockMvc.perform(get("/").session(session)).andReturn().getResponse().getContentAsString();
+        Matcher matcher = META_CSRF.matcher(page);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+}
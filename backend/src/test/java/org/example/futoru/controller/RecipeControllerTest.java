@@ -0,0 +1,97 @@
+package org.example.futoru.controller;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.futoru.controller.MockMvcLogin.csrfToken;
+import static org.example.futoru.controller.MockMvcLogin.login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * レシピの一括取込（{@code /recipe/import}）の応答を検証するテスト。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecipeControllerTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String username;
+
+    private MockHttpSession session;
+
+    private String csrf;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, PASSWORD);
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+        session = login(mockMvc, username, PASSWORD);
+        csrf = csrfToken(mockMvc, session);
+    }
+
+    @Test
+    void importCreatesEveryRecipe() throws Exception {
+        mockMvc.perform(post("/recipe/import").session(session).param("_csrf", csrf)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"name": "朝食セット", "type": "SET", "ingredients": [
+                                    {"manualName": "トースト", "manualCalories": 250},
+                                    {"manualName": "目玉焼き", "manualCalories": 100}]},
+                                  {"name": "プロテイン", "ingredients": [
+                                    {"manualName": "プロテイン", "manualCalories": 120}]}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("success"))
+                .andExpect(jsonPath("$.created").value(2));
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT f.calories FROM food_items f JOIN users u ON u.id = f.user_id "
+                        + "WHERE u.username = ? ORDER BY f.id", Integer.class, username))
+                .containsExactly(350, 120);
+    }
+
+    @Test
+    void unknownIngredientIsBadRequest() throws Exception {
+        mockMvc.perform(post("/recipe/import").session(session).param("_csrf", csrf)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"name": "朝食セット", "ingredients": [{"manualName": "トースト", "manualCalories": 250}]},
+                                  {"name": "謎の定食", "ingredients": [{"foodItemId": 9223372036854775807}]}
+                                ]
+                                """))
+                .andExpect(status().isBadRequest());
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM food_items f JOIN users u ON u.id = f.user_id WHERE u.username = ?",
+                Integer.class, username))
+                .isZero();
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.futoru.controller;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.example.futoru.controller.MockMvcLogin.csrfToken;
+import static org.example.futoru.controller.MockMvcLogin.login;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ダッシュボード画面の条件付きリクエスト（{@code ETag} による {@code 304 Not Modified}）を検証するテスト。
+ * <p>
+ * 日付の切り替わりを再現するため、{@link Clock} を現在時刻から任意にずらせるモックに差し替える。
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class WebControllerTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoBean
+    private Clock clock;
+
+    /** 時計を現在時刻から進める量 */
+    private Duration offset = Duration.ZERO;
+
+    private String username;
+
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(clock.getZone()).thenReturn(ZoneId.systemDefault());
+        when(clock.instant()).thenAnswer(invocation -> Instant.now().plus(offset));
+
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, PASSWORD);
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+        session = login(mockMvc, username, PASSWORD);
+    }
+
+    @Test
+    void unchangedDashboardIsNotModified() throws Exception {
+        String eTag = fetchETag(session);
+
+        mockMvc.perform(get("/").session(session).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    void mealRecordChangesETag() throws Exception {
+        String eTag = fetchETag(session);
+
+        mockMvc.perform(post("/api/food/manual").session(session)
+                        .param("name", "おにぎり")
+                        .param("calories", "200")
+                        .param("_csrf", csrfToken(mockMvc, session)))
+                .andExpect(status().isOk());
+
+        assertReRendered(session, eTag);
+    }
+
+    @Test
+    void weightRecordChangesETag() throws Exception {
+        String eTag = fetchETag(session);
+
+        mockMvc.perform(post("/weight/add").session(session)
+                        .param("date", LocalDate.now().toString())
+                        .param("weight", "61.5")
+                        .param("_csrf", csrfToken(mockMvc, session)))
+                .andExpect(status().is3xxRedirection());
+
+        assertReRendered(session, eTag);
+    }
+
+    @Test
+    void dateRolloverChangesETag() throws Exception {
+        String eTag = fetchETag(session);
+
+        offset = Duration.ofDays(1);
+
+        assertReRendered(session, eTag);
+    }
+
+    @Test
+    void newSessionChangesETag() throws Exception {
+        String eTag = fetchETag(session);
+
+        MockHttpSession newSession = login(mockMvc, username, PASSWORD);
+
+        assertReRendered(newSession, eTag);
+    }
+
+    /**
+     * ダッシュボードを表示し、応答の ETag を返す。
+     */
+    private String fetchETag(MockHttpSession session) throws Exception {
+        String eTag = mockMvc.perform(get("/").session(session))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotBlank();
+        return eTag;
+    }
+
+    /**
+     * 以前の ETag を付けて要求しても {@code 304} にならず、新しい ETag で再描画されることを検証する。
+     */
+    private void assertReRendered(MockHttpSession session, String previousETag) throws Exception {
+        String eTag = mockMvc.perform(get("/").session(session).header(HttpHeaders.IF_NONE_MATCH, previousETag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotBlank().isNotEqualTo(previousETag);
+    }
+}
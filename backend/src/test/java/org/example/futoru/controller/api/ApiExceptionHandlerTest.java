@@ -0,0 +1,88 @@
+package org.example.futoru.controller.api;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.example.futoru.controller.MockMvcLogin.csrfToken;
+import static org.example.futoru.controller.MockMvcLogin.login;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * APIの不正な入力が {@code 500} ではなく {@code 400 Bad Request} として返却されることを検証するテスト。
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ApiExceptionHandlerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserService userService;
+
+    private MockHttpSession session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, "password123");
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+        session = login(mockMvc, username, "password123");
+    }
+
+    @Test
+    void unknownTrendPeriodIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/trends").param("period", "year").session(session))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void trendRangeInReverseIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/trends").param("from", "2025-02-01").param("to", "2025-01-01").session(session))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void tooManyTrendPeriodsAreBadRequest() throws Exception {
+        mockMvc.perform(get("/api/trends").param("from", "2000-01-01").param("to", "2025-01-01").session(session))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void unknownExportFormatIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/export").param("format", "xlsx").session(session))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void unknownExportTargetIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/export").param("type", "recipes").session(session))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void weightCsvWithoutWeightColumnIsBadRequest() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "weights.csv", "text/csv",
+                "date,kg\n2025-01-01,60.0\n".getBytes(StandardCharsets.UTF_8));
+
+        mockMvc.perform(multipart("/api/weight/import").file(file)
+                        .param("_csrf", csrfToken(mockMvc, session))
+                        .session(session))
+                .andExpect(status().isBadRequest());
+    }
+}
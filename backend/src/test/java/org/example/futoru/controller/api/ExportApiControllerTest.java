@@ -0,0 +1,77 @@
+package org.example.futoru.controller.api;
+
+import org.example.futoru.dto.ExportFormat;
+import org.example.futoru.service.ExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link ExportApiController} の同時実行数の制限を検証する単体テスト。
+ * 出力処理はモックで置き換え、ラッチで出力中の状態を作る。
+ */
+class ExportApiControllerTest {
+
+    private final ExportService exportService = mock(ExportService.class);
+    private final ExportApiController controller = new ExportApiController(exportService);
+    private final UserDetails userDetails = User.withUsername("alice").password("password").build();
+
+    @Test
+    void exportsBeyondTheLimitAreRejectedUntilOneFinishes() throws Exception {
+        CountDownLatch started = new CountDownLatch(ExportApiController.MAX_CONCURRENT_EXPORTS);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(exportService).export(anyString(), eq(ExportService.MEALS), eq(ExportFormat.CSV), any());
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(ExportApiController.MAX_CONCURRENT_EXPORTS)) {
+            for (int i = 0; i < ExportApiController.MAX_CONCURRENT_EXPORTS; i++) {
+                futures.add(executor.submit(() -> {
+                    controller.export(ExportService.MEALS, "csv", userDetails, new MockHttpServletResponse());
+                    return null;
+                }));
+            }
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // 上限に達している間は、DB接続を取得する前に 429 を返す
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            assertThatThrownBy(() -> controller.export(ExportService.MEALS, "csv", userDetails, rejected))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+            assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+
+            release.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        // 終了した出力の枠は解放される
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.export(ExportService.MEALS, "csv", userDetails, response);
+        assertThat(response.getContentType()).startsWith("text/csv");
+    }
+}
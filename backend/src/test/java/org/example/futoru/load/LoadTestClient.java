@@ -0,0 +1,118 @@
+package org.example.futoru.load;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 負荷テストでアプリケーションを操作するHTTPクライアント。
+ * <p>
+ * セッションCookieを保持し、フォームログインと、CSRFトークン付きのPOSTを行う。
+ * CSRFトークンはログイン画面のhiddenパラメータ、またはダッシュボードのmetaタグから取得する。
+ * リダイレクトは追跡しない（ログイン成否やPRGの応答そのものを計測するため）。
+ * </p>
+ */
+final class LoadTestClient {
+
+    private static final Pattern FORM_CSRF = Pattern.compile("name=\"_csrf\"[^>]*value=\"([^\"]+)\"");
+    private static final Pattern META_CSRF = Pattern.compile("<meta name=\"_csrf\" content=\"([^\"]+)\"");
+
+    private final String baseUrl;
+
+    private final HttpClient client;
+
+    private volatile String csrfToken;
+
+    LoadTestClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+
+    /**
+     * フォームログインを行う。
+     *
+     * @param username ユーザー名
+     * @param password パスワード
+     * @throws IllegalStateException ログインに失敗した場合
+     */
+    void login(String username, String password) throws IOException, InterruptedException {
+        String loginPage = get("/login").body();
+        csrfToken = extract(FORM_CSRF, loginPage);
+
+        HttpResponse<String> response = post("/login", Map.of("username", username, "password", password));
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || location.contains("error")) {
+            throw new IllegalStateException("Login failed for " + username + ": " + response.statusCode() + " " + location);
+        }
+    }
+
+    /**
+     * 画面（HTML）を取得し、ページに埋め込まれたCSRFトークンを以降のPOSTに使用する。
+     *
+     * @param path パス
+     * @return レスポンス
+     */
+    HttpResponse<String> getPage(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = get(path);
+        Matcher matcher = META_CSRF.matcher(response.body());
+        if (matcher.find()) {
+            csrfToken = matcher.group(1);
+        }
+        return response;
+    }
+
+    /**
+     * GETリクエストを送信する。
+     *
+     * @param path パス（クエリ文字列を含めてよい）
+     * @return レスポンス
+     */
+    HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * CSRFトークンを付けて、フォーム形式のPOSTリクエストを送信する。
+     *
+     * @param path   パス
+     * @param params フォームパラメータ
+     * @return レスポンス
+     */
+    HttpResponse<String> post(String path, Map<String, String> params) throws IOException, InterruptedException {
+        Map<String, String> form = new LinkedHashMap<>(params);
+        form.put("_csrf", csrfToken);
+        String body = form.entrySet().stream()
+                .map(e -> encode(e.getKey()) + "=" + encode(e.getValue()))
+                .collect(Collectors.joining("&"));
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String extract(Pattern pattern, String html) {
+        Matcher matcher = pattern.matcher(html);
+        if (!matcher.find()) {
+            throw new IllegalStateException("CSRF token not found");
+        }
+        return matcher.group(1);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.futoru.load;
+
+import org.example.futoru.FutoruApplication;
+import org.example.futoru.dto.FoodItemDto;
+import org.example.futoru.service.FoodCatalogService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 合成データを投入した組み込みDB（H2）に対して、利用者の一連の操作を同時に実行する負荷テスト。
+ * <p>
+ * {@link SyntheticDataGenerator} で食品マスタとユーザーごとの履歴を生成した後、
+ * ユーザーごとに1クライアントを割り当て、以下のシナリオを繰り返す：
+ * ログイン → ダッシュボード表示 → 食事の追加 → 食事の削除 → 体重の記録。
+ * 各ステップの p50 / p99 レイテンシと、全体のスループットを出力する。
+ * </p>
+ * <p>
+ * 通常のビルドでは実行されず、{@code ./mvnw test -Pload-test} で実行する。
+ * 規模はシステムプロパティで変更できる（例: {@code -Dload.users=100 -Dload.days=365 -Dload.iterations=20}）。
+ * </p>
+ */
+@Tag("load")
+class ScenarioLoadTest {
+
+    private static final int USERS = Integer.getInteger("load.users", 50);
+    private static final int HISTORY_DAYS = Integer.getInteger("load.days", 180);
+    private static final int CATALOG_SIZE = Integer.getInteger("load.foods", 2000);
+    private static final int ITERATIONS = Integer.getInteger("load.iterations", 10);
+
+    private static final String PASSWORD = "password123";
+
+    private static final List<String> STEPS = List.of("login", "dashboard", "addMeal", "deleteMeal", "addWeight");
+
+    private final Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void runScenario() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FutoruApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run()) {
+            long generationStart = System.nanoTime();
+            SyntheticDataGenerator generator = new SyntheticDataGenerator(context, 42L);
+            generator.generateCatalog(CATALOG_SIZE);
+            List<String> usernames = generator.generateUsers(USERS, HISTORY_DAYS, PASSWORD);
+            System.out.printf("Generated %d foods, %d users x %d days in %d ms%n",
+                    CATALOG_SIZE, USERS, HISTORY_DAYS, (System.nanoTime() - generationStart) / 1_000_000);
+
+            List<Long> foodIds = context.getBean(FoodCatalogService.class).getSystemFoods().stream()
+                    .map(FoodItemDto::getId)
+                    .toList();
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            AtomicInteger errors = new AtomicInteger();
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>(usernames.size());
+                for (int u = 0; u < usernames.size(); u++) {
+                    String username = usernames.get(u);
+                    Random random = new Random(u);
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < ITERATIONS; i++) {
+                            try {
+                                runOnce(baseUrl, username, foodIds.get(random.nextInt(foodIds.size())), 60 + random.nextDouble() * 10);
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                                System.err.println(username + ": " + e.getMessage());
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            report(elapsed);
+            assertThat(errors.get()).isZero();
+        }
+    }
+
+    /**
+     * シナリオを1回実行する。
+     */
+    private void runOnce(String baseUrl, String username, Long foodItemId, double weight) throws Exception {
+        LoadTestClient client = new LoadTestClient(baseUrl);
+
+        long t = System.nanoTime();
+        client.login(username, PASSWORD);
+        record("login", t);
+
+        t = System.nanoTime();
+        expectStatus(client.getPage("/"), 200);
+        record("dashboard", t);
+
+        t = System.nanoTime();
+        HttpResponse<String> added = client.post("/api/food/add", Map.of("foodItemId", foodItemId.toString(), "amount", "1.5"));
+        expectStatus(added, 200);
+        record("addMeal", t);
+
+        long newestId = -1;
+        for (JsonNode meal : objectMapper.readTree(added.body()).get("history")) {
+            newestId = Math.max(newestId, meal.get("id").asLong());
+        }
+
+        t = System.nanoTime();
+        expectStatus(client.post("/api/food/delete/" + newestId, Map.of()), 200);
+        record("deleteMeal", t);
+
+        t = System.nanoTime();
+        expectStatus(client.post("/weight/add", Map.of("date", LocalDate.now().toString(), "weight", String.format("%.1f", weight))), 302);
+        record("addWeight", t);
+    }
+
+    private void expectStatus(HttpResponse<String> response, int expected) {
+        if (response.statusCode() != expected) {
+            throw new IllegalStateException(response.request().uri().getPath() + " returned " + response.statusCode());
+        }
+    }
+
+    private void record(String step, long startNanos) {
+        latencies.computeIfAbsent(step, key -> new ConcurrentLinkedQueue<>()).add(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * ステップごとのレイテンシ（p50 / p99）と、全体のスループットを出力する。
+     */
+    private void report(long elapsedNanos) {
+        long total = 0;
+        System.out.printf("%-12s %8s %10s %10s%n", "step", "count", "p50(ms)", "p99(ms)");
+        for (String step : STEPS) {
+            long[] values = latencies.getOrDefault(step, new ConcurrentLinkedQueue<>()).stream()
+                    .mapToLong(Long::longValue).sorted().toArray();
+            total += values.length;
+            if (values.length == 0) {
+                continue;
+            }
+            System.out.printf("%-12s %8d %10.1f %10.1f%n", step, values.length,
+                    percentile(values, 0.50) / 1e6, percentile(values, 0.99) / 1e6);
+        }
+        System.out.printf("throughput: %.1f req/s (%d requests in %.1f s)%n",
+                total * 1e9 / elapsedNanos, total, elapsedNanos / 1e9);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+}
@@ -0,0 +1,225 @@
+package org.example.futoru.load;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.FoodItemDto;
+import org.example.futoru.entity.FoodItem;
+import org.example.futoru.entity.MealLog;
+import org.example.futoru.entity.User;
+import org.example.futoru.entity.WeightLog;
+import org.example.futoru.form.RecipeForm;
+import org.example.futoru.repository.FoodItemRepository;
+import org.example.futoru.repository.MealLogRepository;
+import org.example.futoru.repository.WeightLogRepository;
+import org.example.futoru.service.CalorieSummaryService;
+import org.example.futoru.service.FoodCatalogImportService;
+import org.example.futoru.service.FoodCatalogService;
+import org.example.futoru.service.RecipeService;
+import org.example.futoru.service.UserService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 負荷テスト用の合成データ（ユーザー、体重・食事の履歴、食品マスタ、レシピ）を生成するクラス。
+ * <p>
+ * 乱数のシードを固定しているため、同じ引数で実行すれば同じ内容のデータが生成される。
+ * 体重は緩やかに増加しつつ日々揺らぎ、食事は1日3〜5回（朝・昼・夕・間食）の時刻に、
+ * システム標準食品・My食品（レシピ）・手入力を混在させて記録する。
+ * 日別・週別・月別の集計も、アプリケーションと同じサービスを通して更新する。
+ * </p>
+ */
+final class SyntheticDataGenerator {
+
+    /** 食品マスタの名前の元になる食品名 */
+    private static final String[] FOOD_NAMES = {
+            "白米", "玄米", "食パン", "オートミール", "うどん", "パスタ", "鶏むね肉", "鶏もも肉", "豚ロース", "牛もも肉",
+            "サーモン", "サバ", "卵", "納豆", "豆腐", "牛乳", "ヨーグルト", "チーズ", "バナナ", "りんご",
+            "ブロッコリー", "ほうれん草", "じゃがいも", "さつまいも", "アボカド", "アーモンド", "ピーナッツバター", "プロテイン"
+    };
+
+    /** {@link #FOOD_NAMES} の各食品の100gあたりのおおよそのカロリー */
+    private static final int[] FOOD_CALORIES = {
+            156, 152, 248, 350, 95, 150, 105, 190, 248, 130,
+            133, 211, 142, 184, 73, 61, 56, 310, 93, 53,
+            37, 18, 59, 126, 176, 609, 599, 380
+    };
+
+    /** 1ユーザーあたりに作成するレシピ（My食品）の数 */
+    private static final int RECIPES_PER_USER = 3;
+
+    /** 体重を記録する日の割合 */
+    private static final double WEIGHT_LOG_RATE = 0.8;
+
+    private final UserService userService;
+    private final RecipeService recipeService;
+    private final FoodCatalogImportService foodCatalogImportService;
+    private final FoodCatalogService foodCatalogService;
+    private final CalorieSummaryService calorieSummaryService;
+    private final FoodItemRepository foodItemRepository;
+    private final MealLogRepository mealLogRepository;
+    private final WeightLogRepository weightLogRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random;
+
+    SyntheticDataGenerator(ApplicationContext context, long seed) {
+        this.userService = context.getBean(UserService.class);
+        this.recipeService = context.getBean(RecipeService.class);
+        this.foodCatalogImportService = context.getBean(FoodCatalogImportService.class);
+        this.foodCatalogService = context.getBean(FoodCatalogService.class);
+        this.calorieSummaryService = context.getBean(CalorieSummaryService.class);
+        this.foodItemRepository = context.getBean(FoodItemRepository.class);
+        this.mealLogRepository = context.getBean(MealLogRepository.class);
+        this.weightLogRepository = context.getBean(WeightLogRepository.class);
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+        this.random = new Random(seed);
+    }
+
+    /**
+     * システム標準食品を指定件数だけ取り込む（食品名は基本の食品名に連番を付けたもの）。
+     *
+     * @param count 取り込む件数
+     */
+    void generateCatalog(int count) {
+        StringBuilder csv = new StringBuilder("name,calories,unit,type\n");
+        for (int i = 0; i < count; i++) {
+            int base = i % FOOD_NAMES.length;
+            int calories = (int) Math.round(FOOD_CALORIES[base] * (0.8 + random.nextDouble() * 0.4));
+            csv.append(FOOD_NAMES[base]).append(' ').append(i / FOOD_NAMES.length + 1)
+                    .append(',').append(calories).append(",100g,INGREDIENT\n");
+        }
+        foodCatalogImportService.importCsv(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * プロフィール設定済みのユーザーを作成し、過去 {@code historyDays} 日分の体重・食事の履歴を生成する。
+     * <p>
+     * 事前に {@link #generateCatalog} でシステム標準食品を用意しておくこと。
+     * 当日分の記録は生成しない（負荷テストのシナリオで記録するため）。
+     * </p>
+     *
+     * @param count       作成するユーザー数
+     * @param historyDays 履歴を生成する日数
+     * @param password    全ユーザー共通のパスワード
+     * @return 作成したユーザー名のリスト
+     */
+    List<String> generateUsers(int count, int historyDays, String password) {
+        List<FoodItemDto> catalog = foodCatalogService.getSystemFoods();
+        if (catalog.isEmpty()) {
+            throw new IllegalStateException("System food catalog is empty");
+        }
+
+        List<String> usernames = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String username = String.format("load-user-%04d", i);
+            double startWeight = 50 + random.nextDouble() * 20;
+            userService.registerUser(username, password);
+            userService.saveInitialProfile(username, 155 + random.nextDouble() * 30, startWeight,
+                    18 + random.nextInt(30), random.nextBoolean() ? "MALE" : "FEMALE",
+                    ActivityLevel.values()[random.nextInt(ActivityLevel.values().length)]);
+
+            createRecipes(username, catalog);
+            User user = userService.getUserByUsername(username);
+            List<FoodItem> foods = foodItemRepository.findAllById(
+                    pickFoodIds(catalog, foodCatalogService.getUserFoods(user.getId())));
+            transactionTemplate.executeWithoutResult(status -> generateHistory(user, foods, historyDays, startWeight));
+            usernames.add(username);
+        }
+        return usernames;
+    }
+
+    /**
+     * システム標準食品を組み合わせたレシピ（My食品）を作成する。
+     */
+    private void createRecipes(String username, List<FoodItemDto> catalog) {
+        List<RecipeForm> forms = new ArrayList<>(RECIPES_PER_USER);
+        for (int r = 0; r < RECIPES_PER_USER; r++) {
+            List<RecipeForm.IngredientDto> ingredients = new ArrayList<>();
+            for (int i = 0, n = 2 + random.nextInt(4); i < n; i++) {
+                RecipeForm.IngredientDto ingredient = new RecipeForm.IngredientDto();
+                ingredient.setFoodItemId(catalog.get(random.nextInt(catalog.size())).getId());
+                ingredient.setAmount(0.5 + random.nextInt(4) * 0.5);
+                ingredients.add(ingredient);
+            }
+            RecipeForm form = new RecipeForm();
+            form.setName("自炊メニュー" + (r + 1));
+            form.setType("DISH");
+            form.setIngredients(ingredients);
+            forms.add(form);
+        }
+        recipeService.createRecipes(username, forms);
+    }
+
+    /**
+     * ユーザーがよく食べる食品（システム標準食品の一部と、自分のレシピ）のIDを選ぶ。
+     */
+    private List<Long> pickFoodIds(List<FoodItemDto> catalog, List<FoodItemDto> ownFoods) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(catalog.get(random.nextInt(catalog.size())).getId());
+        }
+        ownFoods.forEach(food -> ids.add(food.getId()));
+        return ids;
+    }
+
+    /**
+     * 過去の体重・食事の記録と、日別・週別・月別の集計を生成する。
+     */
+    private void generateHistory(User user, List<FoodItem> foods, int historyDays, double startWeight) {
+        LocalDate today = LocalDate.now();
+        List<WeightLog> weightLogs = new ArrayList<>();
+        double weight = startWeight - historyDays * 0.03;
+
+        for (int d = historyDays; d >= 1; d--) {
+            LocalDate date = today.minusDays(d);
+            weight += 0.03 + random.nextGaussian() * 0.2;
+            if (random.nextDouble() < WEIGHT_LOG_RATE) {
+                WeightLog log = new WeightLog();
+                log.setUser(user);
+                log.setDate(date);
+                log.setWeight(Math.round(weight * 10) / 10.0);
+                weightLogs.add(log);
+            }
+
+            List<MealLog> meals = generateMeals(user, foods, date);
+            mealLogRepository.saveAll(meals);
+            int total = meals.stream().mapToInt(MealLog::getCalories).sum();
+            calorieSummaryService.applyMealDelta(user, date, total, meals.size());
+        }
+        weightLogRepository.saveAll(weightLogs);
+    }
+
+    /**
+     * 1日分の食事（朝・昼・夕と、ときどき間食）を生成する。
+     */
+    private List<MealLog> generateMeals(User user, List<FoodItem> foods, LocalDate date) {
+        List<MealLog> meals = new ArrayList<>(5);
+        int[] hours = {7, 12, 19, 15, 22};
+        int mealCount = 3 + random.nextInt(3);
+        for (int m = 0; m < mealCount; m++) {
+            MealLog log = new MealLog();
+            log.setUser(user);
+            log.setEatenAt(date.atTime(LocalTime.of(hours[m], random.nextInt(60))));
+            if (random.nextInt(10) == 0) {
+                log.setName("外食");
+                log.setCalories(400 + random.nextInt(600));
+                log.setAmount(1.0);
+            } else {
+                FoodItem food = foods.get(random.nextInt(foods.size()));
+                double amount = 0.5 + random.nextInt(5) * 0.5;
+                log.setFoodItem(food);
+                log.setName(food.getName());
+                log.setCalories((int) (food.getCalories() * amount));
+                log.setAmount(amount);
+            }
+            meals.add(log);
+        }
+        return meals;
+    }
+}
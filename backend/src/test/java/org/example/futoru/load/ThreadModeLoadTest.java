@@ -0,0 +1,150 @@
+package org.example.futoru.load;
+
+import org.example.futoru.FutoruApplication;
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.service.FoodService;
+import org.example.futoru.service.UserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * リクエスト処理をプラットフォームスレッドで行う場合と仮想スレッドで行う場合のスループットを比較する負荷テスト。
+ * <p>
+ * 同じ設定（コネクションプールの大きさ、Tomcatのスレッド数上限）でアプリケーションを2回起動し、
+ * {@link #CLIENTS} 個のクライアントから認証済みのAPIを同時に呼び出して、処理件数/秒とレイテンシを出力する。
+ * 通常のビルドでは実行されず、{@code ./mvnw test -Pload-test} で実行する。
+ * </p>
+ * <p>
+ * テスト用のH2はDB待ちがほとんど発生しないため差が出にくい。実環境に近い比較を行う場合は、
+ * {@code -Dspring.datasource.url=jdbc:mysql://...} などでMySQLを指定して実行する。
+ * </p>
+ */
+@Tag("load")
+class ThreadModeLoadTest {
+
+    /** 同時に接続するクライアント数（Tomcatのスレッド数上限より多くする） */
+    private static final int CLIENTS = 400;
+
+    /** 1クライアントあたりのリクエスト数 */
+    private static final int REQUESTS_PER_CLIENT = 25;
+
+    /** プラットフォームスレッド時のTomcatのスレッド数上限 */
+    private static final int TOMCAT_MAX_THREADS = 50;
+
+    private static final String USERNAME = "load-user";
+    private static final String PASSWORD = "password123";
+
+    @Test
+    void compareThreadModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    /**
+     * 指定されたスレッドモードでアプリケーションを起動し、負荷をかけた結果を返す。
+     */
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FutoruApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "logging.level.root=WARN")
+                .run()) {
+            prepareUser(context);
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            LoadTestClient client = new LoadTestClient(baseUrl);
+            client.login(USERNAME, PASSWORD);
+
+            // ウォームアップ（JITコンパイル・キャッシュの初期化）
+            for (int i = 0; i < 200; i++) {
+                client.get("/api/trends");
+            }
+
+            AtomicInteger errors = new AtomicInteger();
+            long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+            AtomicInteger index = new AtomicInteger();
+
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>(CLIENTS);
+                for (int c = 0; c < CLIENTS; c++) {
+                    futures.add(executor.submit(() -> {
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            String path = r % 2 == 0 ? "/api/trends?period=month" : "/api/weight/series";
+                            long requestStart = System.nanoTime();
+                            try {
+                                HttpResponse<String> response = client.get(path);
+                                if (response.statusCode() != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (IOException | InterruptedException e) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[index.getAndIncrement()] = System.nanoTime() - requestStart;
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new Result(virtualThreads ? "virtual" : "platform",
+                    latencies.length * 1_000_000_000.0 / elapsed,
+                    Duration.ofNanos(latencies[latencies.length / 2]),
+                    Duration.ofNanos(latencies[(int) (latencies.length * 0.95)]),
+                    errors.get());
+        }
+    }
+
+    /**
+     * 負荷テスト用のユーザーと、推移・体重データの元になる記録を用意する。
+     */
+    private void prepareUser(ConfigurableApplicationContext context) {
+        UserService userService = context.getBean(UserService.class);
+        userService.registerUser(USERNAME, PASSWORD);
+        userService.saveInitialProfile(USERNAME, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+        FoodService foodService = context.getBean(FoodService.class);
+        for (int i = 0; i < 10; i++) {
+            foodService.recordManualMeal(USERNAME, "食事" + i, 500);
+        }
+    }
+
+    /**
+     * 1回の負荷テストの結果。
+     */
+    private record Result(String mode, double requestsPerSecond, Duration median, Duration p95, int errors) {
+
+        @Override
+        public String toString() {
+            return String.format("%-8s %8.1f req/s  median=%4dms  p95=%4dms  errors=%d",
+                    mode, requestsPerSecond, median.toMillis(), p95.toMillis(), errors);
+        }
+    }
+}
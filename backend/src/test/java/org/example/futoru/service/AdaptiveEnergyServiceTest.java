@@ -0,0 +1,176 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.EnergyModel;
+import org.example.futoru.entity.AdaptiveEnergyState;
+import org.example.futoru.entity.MealLog;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.AdaptiveEnergyStateRepository;
+import org.example.futoru.repository.MealLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 記録のたびに差分更新される適応型TDEE推定モデルの回帰状態を検証するテスト。
+ */
+@SpringBootTest
+class AdaptiveEnergyServiceTest {
+
+    /** 記録する日数 */
+    private static final int DAYS = 60;
+
+    /** 同時に記録する体重の件数 */
+    private static final int CONCURRENT_WRITES = 4;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private WeightLogService weightLogService;
+
+    @Autowired
+    private FoodService foodService;
+
+    @Autowired
+    private CalorieSummaryService calorieSummaryService;
+
+    @Autowired
+    private AdaptiveEnergyService adaptiveEnergyService;
+
+    @Autowired
+    private AdaptiveTdeeModel adaptiveTdeeModel;
+
+    @Autowired
+    private MealLogRepository mealLogRepository;
+
+    @Autowired
+    private AdaptiveEnergyStateRepository stateRepository;
+
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, "password123");
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+        userService.updateProfile(username, 170.0, 25, "MALE", ActivityLevel.MID, EnergyModel.ADAPTIVE, null);
+    }
+
+    @Test
+    void incrementalStateEqualsFullRebuild() {
+        LocalDate today = LocalDate.now();
+        List<Long> mealIds = new ArrayList<>();
+        for (int i = 0; i < DAYS; i++) {
+            LocalDate date = today.minusDays(DAYS - 1 - i);
+            weightLogService.saveWeightLog(username, date, 60.0 + i * 0.05);
+            mealIds.add(recordMeal(date, 2000 + i * 10));
+        }
+        // 既存の体重の上書きと、食事の削除（その日の記録が0件になる）も差分で反映される
+        weightLogService.saveWeightLog(username, today.minusDays(10), 65.0);
+        weightLogService.saveWeightLog(username, today, 58.5);
+        foodService.deleteMealLog(mealIds.get(5), username);
+        foodService.recordManualMeal(username, "間食", 300);
+
+        User user = userService.getUserByUsername(username);
+        AdaptiveEnergyState incremental = adaptiveEnergyService.findState(user).orElseThrow();
+        adaptiveEnergyService.reset(user);
+        AdaptiveEnergyState rebuilt = adaptiveEnergyService.findState(user).orElseThrow();
+
+        assertThat(incremental.getWeightCount()).isEqualTo(rebuilt.getWeightCount()).isEqualTo(DAYS);
+        assertThat(incremental.getIntakeDays()).isEqualTo(rebuilt.getIntakeDays()).isEqualTo(DAYS - 1);
+        assertClose(incremental.getWeightSum(), rebuilt.getWeightSum());
+        assertClose(incremental.getWeightSumT(), rebuilt.getWeightSumT());
+        assertClose(incremental.getWeightSumTt(), rebuilt.getWeightSumTt());
+        assertClose(incremental.getWeightSumY(), rebuilt.getWeightSumY());
+        assertClose(incremental.getWeightSumTy(), rebuilt.getWeightSumTy());
+        assertClose(incremental.getIntakeSum(), rebuilt.getIntakeSum());
+        assertClose(incremental.getIntakeSumCalories(), rebuilt.getIntakeSumCalories());
+    }
+
+    @Test
+    void syntheticWeightTrendYieldsExpectedTdee() {
+        // 毎日2500kcalを摂取し、体重が1日0.02kgずつ増える場合 TDEE = 2500 - 7700 × 0.02 = 2346
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < DAYS; i++) {
+            LocalDate date = today.minusDays(DAYS - 1 - i);
+            weightLogService.saveWeightLog(username, date, 60.0 + i * 0.02);
+            recordMeal(date, 2500);
+        }
+
+        User user = userService.getUserByUsername(username);
+        AdaptiveEnergyState state = adaptiveEnergyService.findState(user).orElseThrow();
+        double tdee = adaptiveTdeeModel.estimateTdee(EnergyExpenditureService.profileOf(user, 61.2, state));
+
+        assertThat(tdee).isCloseTo(2500 - AdaptiveTdeeModel.KCAL_PER_KG * 0.02, within(0.01));
+    }
+
+    @Test
+    void resetRemovesStateWhenLeavingAdaptive() {
+        assertThat(adaptiveEnergyService.findState(userService.getUserByUsername(username))).isPresent();
+
+        userService.updateProfile(username, 170.0, 25, "MALE", ActivityLevel.MID, EnergyModel.MIFFLIN_ST_JEOR, null);
+
+        assertThat(adaptiveEnergyService.findState(userService.getUserByUsername(username))).isEmpty();
+    }
+
+    @Test
+    void concurrentWritesCreateMissingStateOnce() throws Exception {
+        User user = userService.getUserByUsername(username);
+        stateRepository.delete(adaptiveEnergyService.findState(user).orElseThrow());
+
+        CyclicBarrier barrier = new CyclicBarrier(CONCURRENT_WRITES);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_WRITES)) {
+            for (int i = 0; i < CONCURRENT_WRITES; i++) {
+                int offset = i;
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    // 日付を分けて、体重記録の行ロックで直列化されないようにする
+                    weightLogService.saveWeightLog(username, LocalDate.now().minusDays(offset), 60.0 + offset);
+                    return null;
+                }));
+            }
+            // 回帰状態の作成が競合しても、一意制約違反やデッドロックで失敗する記録がない
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        AdaptiveEnergyState state = adaptiveEnergyService.findState(user).orElseThrow();
+        assertThat(state.getWeightCount()).isEqualTo(CONCURRENT_WRITES);
+    }
+
+    /**
+     * 指定日の食事を記録する（画面からは当日分のみ記録できるため、記録処理と同じ手順で直接保存する）。
+     */
+    private Long recordMeal(LocalDate date, int calories) {
+        User user = userService.getUserByUsername(username);
+        MealLog log = new MealLog();
+        log.setUser(user);
+        log.setName("食事");
+        log.setCalories(calories);
+        log.setAmount(1.0);
+        log.setEatenAt(date.atTime(12, 0));
+        mealLogRepository.save(log);
+        calorieSummaryService.applyMealDelta(user, date, calories, 1);
+        return log.getId();
+    }
+
+    private static void assertClose(double actual, double expected) {
+        assertThat(actual).isCloseTo(expected, within(Math.abs(expected) * 1e-9));
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.EnergyProfile;
+import org.example.futoru.entity.AdaptiveEnergyState;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.function.IntToDoubleFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * {@link AdaptiveTdeeModel} の推定と、推定できない場合のフォールバック（NaN）を検証する単体テスト。
+ * 回帰状態は {@link AdaptiveEnergyService} と同じ重み付けで、テスト内で組み立てる。
+ */
+class AdaptiveTdeeModelTest {
+
+    private final AdaptiveTdeeModel model = new AdaptiveTdeeModel();
+
+    @Test
+    void decayWeightDoublesEveryHalfLife() {
+        assertThat(AdaptiveEnergyService.decayWeight(0)).isEqualTo(1.0);
+        assertThat(AdaptiveEnergyService.decayWeight(30)).isCloseTo(2.0, within(1e-12));
+        assertThat(AdaptiveEnergyService.decayWeight(-30)).isCloseTo(0.5, within(1e-12));
+        // 上限日でも倍精度浮動小数点数の範囲に収まる（t² を掛けた累積和も含めて）
+        long latest = AdaptiveEnergyService.daysSinceEpoch(AdaptiveEnergyService.LATEST_DATE);
+        assertThat(AdaptiveEnergyService.decayWeight(latest) * latest * latest * 1000).isFinite();
+    }
+
+    @Test
+    void linearTrendYieldsIntakeMinusStoredEnergy() {
+        // 2400kcal/日を摂取し、体重が1日0.01kgずつ増える → TDEE = 2400 - 77 = 2323
+        AdaptiveEnergyState state = state(28, i -> 65.0 + i * 0.01, 28, 2400);
+
+        assertThat(model.estimateTdee(profile(state))).isCloseTo(2323.0, within(1e-6));
+    }
+
+    @Test
+    void missingStateIsNotEstimated() {
+        assertThat(model.estimateTdee(profile(null))).isNaN();
+    }
+
+    @Test
+    void tooFewRecordsAreNotEstimated() {
+        assertThat(model.estimateTdee(profile(state(AdaptiveTdeeModel.MIN_WEIGHT_COUNT - 1, i -> 60.0, 28, 2400))))
+                .isNaN();
+        assertThat(model.estimateTdee(profile(state(28, i -> 60.0, AdaptiveTdeeModel.MIN_INTAKE_DAYS - 1, 2400))))
+                .isNaN();
+    }
+
+    @Test
+    void recordsBunchedOnFewDaysAreNotEstimated() {
+        // 5件の体重が連続した5日間に固まっていると、日付の分散が小さく傾きが不安定
+        assertThat(model.estimateTdee(profile(state(5, i -> 60.0 + i, 28, 2400)))).isNaN();
+    }
+
+    @Test
+    void implausibleEstimateIsNotUsed() {
+        // 1日0.5kgずつ減る（TDEE = 2400 + 3850）ような推定値は採用しない
+        assertThat(model.estimateTdee(profile(state(28, i -> 80.0 - i * 0.5, 28, 2400)))).isNaN();
+    }
+
+    /**
+     * 今日までの連続した日に体重・摂取カロリーを記録した場合の回帰状態を作成する。
+     */
+    private static AdaptiveEnergyState state(int weightDays, IntToDoubleFunction weightOfDay,
+                                             int intakeDays, int calories) {
+        long today = AdaptiveEnergyService.daysSinceEpoch(LocalDate.now());
+        AdaptiveEnergyState state = new AdaptiveEnergyState();
+
+        double sum = 0, sumT = 0, sumTt = 0, sumY = 0, sumTy = 0;
+        for (int i = 0; i < weightDays; i++) {
+            long t = today - weightDays + 1 + i;
+            double a = AdaptiveEnergyService.decayWeight(t);
+            double y = weightOfDay.applyAsDouble(i);
+            sum += a;
+            sumT += a * t;
+            sumTt += a * t * t;
+            sumY += a * y;
+            sumTy += a * t * y;
+        }
+        state.setWeightCount(weightDays);
+        state.setWeightSum(sum);
+        state.setWeightSumT(sumT);
+        state.setWeightSumTt(sumTt);
+        state.setWeightSumY(sumY);
+        state.setWeightSumTy(sumTy);
+
+        double intakeSum = 0;
+        for (int i = 0; i < intakeDays; i++) {
+            intakeSum += AdaptiveEnergyService.decayWeight(today - i);
+        }
+        state.setIntakeDays(intakeDays);
+        state.setIntakeSum(intakeSum);
+        state.setIntakeSumCalories(intakeSum * calories);
+        return state;
+    }
+
+    private static EnergyProfile profile(AdaptiveEnergyState state) {
+        return new EnergyProfile(65.0, 170.0, 25, true, 1.55, null, state);
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.CalorieTotalDto;
+import org.example.futoru.dto.CalorieTrendDto;
+import org.example.futoru.dto.TrendPeriod;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.CalorieRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 週・月単位の摂取カロリー推移（{@code /api/trends}）の集計と取得を検証するテスト。
+ * <p>
+ * 日付を自由に指定するため、食事記録を経由せずに日別集計の変更（{@link CalorieRollupService#applyDayChange}）を直接反映する。
+ * 2026-03-01 は日曜日で、2026-02-23（月）からの週は2月と3月にまたがる。
+ * </p>
+ */
+@SpringBootTest
+class CalorieRollupServiceTest {
+
+    /** 記録のない日の集計値 */
+    private static final CalorieTotalDto EMPTY = new CalorieTotalDto(0L, 0L, null);
+
+    @Autowired
+    private CalorieRollupService calorieRollupService;
+
+    @Autowired
+    private CalorieRollupRepository rollupRepository;
+
+    @Autowired
+    private UserService userService;
+
+    private String username;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, "password123");
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+        user = userService.getUserByUsername(username);
+    }
+
+    @Test
+    void weeksStartOnMondayAndMonthsOnTheFirst() {
+        record(LocalDate.of(2026, 2, 28), 1000, 900);
+        record(LocalDate.of(2026, 3, 1), 2000, 2500);
+        record(LocalDate.of(2026, 3, 2), 3000, 2500);
+
+        assertThat(trends(TrendPeriod.WEEK, LocalDate.of(2026, 2, 23), LocalDate.of(2026, 3, 8)))
+                .extracting(CalorieTrendDto::getPeriodStart, CalorieTrendDto::getTotalCalories,
+                        CalorieTrendDto::getDaysLogged, CalorieTrendDto::getDaysOnTarget)
+                .containsExactly(
+                        tuple(LocalDate.of(2026, 2, 23), 3000L, 2, 1),
+                        tuple(LocalDate.of(2026, 3, 2), 3000L, 1, 1));
+        assertThat(trends(TrendPeriod.MONTH, LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 31)))
+                .extracting(CalorieTrendDto::getPeriodStart, CalorieTrendDto::getTotalCalories,
+                        CalorieTrendDto::getDaysLogged, CalorieTrendDto::getDaysOnTarget)
+                .containsExactly(
+                        tuple(LocalDate.of(2026, 2, 1), 1000L, 1, 1),
+                        tuple(LocalDate.of(2026, 3, 1), 5000L, 2, 1));
+    }
+
+    @Test
+    void periodsWithoutRecordsAreFilledWithZero() {
+        record(LocalDate.of(2026, 1, 7), 1800, 2000);
+        record(LocalDate.of(2026, 1, 28), 2200, 2000);
+
+        List<CalorieTrendDto> trends = trends(TrendPeriod.WEEK, LocalDate.of(2026, 1, 5), LocalDate.of(2026, 2, 1));
+
+        assertThat(trends).extracting(CalorieTrendDto::getPeriodStart).containsExactly(
+                LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 12), LocalDate.of(2026, 1, 19), LocalDate.of(2026, 1, 26));
+        assertThat(trends).extracting(CalorieTrendDto::getTotalCalories).containsExactly(1800L, 0L, 0L, 2200L);
+        assertThat(trends).extracting(CalorieTrendDto::getDaysLogged).containsExactly(1, 0, 0, 1);
+        assertThat(trends).extracting(CalorieTrendDto::getDaysOnTarget).containsExactly(0, 0, 0, 1);
+    }
+
+    @Test
+    void deletingEveryMealOfAPeriodBringsItBackToZero() {
+        LocalDate date = LocalDate.of(2026, 4, 15);
+        CalorieTotalDto twoMeals = new CalorieTotalDto(2500L, 2L, 2400);
+        CalorieTotalDto oneMeal = new CalorieTotalDto(1000L, 1L, 2400);
+        CalorieTotalDto noMeals = new CalorieTotalDto(0L, 0L, 2400);
+        calorieRollupService.applyDayChange(user, date, EMPTY, twoMeals);
+
+        // 1件削除すると目標を下回るが、記録のある日としては残る
+        calorieRollupService.applyDayChange(user, date, twoMeals, oneMeal);
+        for (TrendPeriod period : TrendPeriod.values()) {
+            CalorieTrendDto trend = trends(period, date, date).getFirst();
+            assertThat(trend.getTotalCalories()).isEqualTo(1000L);
+            assertThat(trend.getDaysLogged()).isEqualTo(1);
+            assertThat(trend.getDaysOnTarget()).isZero();
+        }
+
+        calorieRollupService.applyDayChange(user, date, oneMeal, noMeals);
+        for (TrendPeriod period : TrendPeriod.values()) {
+            CalorieTrendDto trend = trends(period, date, date).getFirst();
+            assertThat(trend.getTotalCalories()).isZero();
+            assertThat(trend.getDaysLogged()).isZero();
+            assertThat(trend.getDaysOnTarget()).isZero();
+            assertThat(trend.getAverageCalories()).isZero();
+            assertThat(trend.getAdherenceRate()).isZero();
+        }
+    }
+
+    @Test
+    void adherenceUsesTheTargetStoredForEachDay() {
+        // 同じ摂取量でも、その日に保存された目標カロリーで達成を判定する
+        record(LocalDate.of(2026, 5, 4), 2300, 2200);
+        record(LocalDate.of(2026, 5, 5), 2300, 2400);
+        record(LocalDate.of(2026, 5, 6), 2300, 2300);
+        // 目標カロリーが未設定の日は、記録日数には含めるが達成とはみなさない
+        record(LocalDate.of(2026, 5, 7), 2300, null);
+
+        // ユーザーの現在の目標カロリーは判定に影響しない
+        userService.updateTargetCalories(user, 5000);
+
+        CalorieTrendDto week = trends(TrendPeriod.WEEK, LocalDate.of(2026, 5, 4), LocalDate.of(2026, 5, 4)).getFirst();
+        assertThat(week.getDaysLogged()).isEqualTo(4);
+        assertThat(week.getDaysOnTarget()).isEqualTo(2);
+        assertThat(week.getAdherenceRate()).isEqualTo(50);
+        assertThat(week.getAverageCalories()).isEqualTo(2300);
+    }
+
+    @Test
+    void requestedPeriodsAreCappedAt520() {
+        LocalDate to = LocalDate.of(2026, 3, 2);
+
+        assertThat(trends(TrendPeriod.WEEK, to.minusWeeks(519), to)).hasSize(CalorieRollupService.MAX_PERIOD_COUNT);
+        assertThat(trends(TrendPeriod.MONTH, to.minusMonths(519), to)).hasSize(CalorieRollupService.MAX_PERIOD_COUNT);
+        assertThatThrownBy(() -> trends(TrendPeriod.WEEK, to.minusWeeks(520), to))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> trends(TrendPeriod.MONTH, to.minusMonths(520), to))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fromAfterToIsRejected() {
+        assertThatThrownBy(() -> trends(TrendPeriod.WEEK, LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 8)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void defaultRangeEndsWithThePeriodContainingToday() {
+        // 水曜日の時点では、その週の月曜日から始まる期間までを返す
+        Clock clock = Clock.fixed(LocalDate.of(2026, 3, 4).atStartOfDay(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+        CalorieRollupService service = new CalorieRollupService(rollupRepository, userService, clock);
+
+        List<CalorieTrendDto> weeks = service.getTrends(username, TrendPeriod.WEEK, null, null);
+        List<CalorieTrendDto> months = service.getTrends(username, TrendPeriod.MONTH, null, null);
+
+        assertThat(weeks).hasSize(CalorieRollupService.DEFAULT_PERIOD_COUNT);
+        assertThat(weeks.getFirst().getPeriodStart()).isEqualTo(LocalDate.of(2025, 12, 15));
+        assertThat(weeks.getLast().getPeriodStart()).isEqualTo(LocalDate.of(2026, 3, 2));
+        assertThat(months).hasSize(CalorieRollupService.DEFAULT_PERIOD_COUNT);
+        assertThat(months.getFirst().getPeriodStart()).isEqualTo(LocalDate.of(2025, 4, 1));
+        assertThat(months.getLast().getPeriodStart()).isEqualTo(LocalDate.of(2026, 3, 1));
+    }
+
+    /**
+     * 記録のなかった日に、1件の食事が記録されたものとして集計へ反映する。
+     */
+    private void record(LocalDate date, long calories, Integer targetCalories) {
+        calorieRollupService.applyDayChange(user, date, EMPTY, new CalorieTotalDto(calories, 1L, targetCalories));
+    }
+
+    private List<CalorieTrendDto> trends(TrendPeriod period, LocalDate from, LocalDate to) {
+        return calorieRollupService.getTrends(username, period, from, to);
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.CalorieTrendDto;
+import org.example.futoru.dto.TrendPeriod;
+import org.example.futoru.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 食事記録に伴う日別・週・月単位の集計の更新を検証するテスト。
+ */
+@SpringBootTest
+class CalorieSummaryServiceTest {
+
+    /** 同時に記録する食事の件数 */
+    private static final int CONCURRENT_MEALS = 4;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FoodService foodService;
+
+    @Autowired
+    private CalorieSummaryService calorieSummaryService;
+
+    @Autowired
+    private CalorieRollupService calorieRollupService;
+
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, "password123");
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+    }
+
+    @Test
+    void concurrentFirstMealsOfTheDayAreAllCounted() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(CONCURRENT_MEALS);
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_MEALS)) {
+            for (int i = 0; i < CONCURRENT_MEALS; i++) {
+                futures.add(executor.submit(() -> {
+                    barrier.await();
+                    foodService.recordManualMeal(username, "おにぎり", 200);
+                    return null;
+                }));
+            }
+            // 集計行の作成が競合しても、一意制約違反で失敗する記録がない
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        User user = userService.getUserByUsername(username);
+        assertThat(calorieSummaryService.getDailyCalories(user, LocalDate.now())).isEqualTo(200 * CONCURRENT_MEALS);
+    }
+
+    @Test
+    void targetChangeBetweenMealsDoesNotShiftDaysOnTarget() {
+        User user = userService.getUserByUsername(username);
+        int target = user.getTargetCalories();
+
+        // 最初の食事の時点の目標に届いていない
+        foodService.recordManualMeal(username, "朝食", target - 100);
+        // 目標を下げた後の食事で新しい目標は超えるが、その日の判定は最初の記録時点の目標で行う
+        userService.updateTargetCalories(user, target - 50);
+        foodService.recordManualMeal(username, "間食", 50);
+
+        for (TrendPeriod period : TrendPeriod.values()) {
+            List<CalorieTrendDto> trends = calorieRollupService.getTrends(username, period, LocalDate.now(), null);
+            assertThat(trends).hasSize(1);
+            CalorieTrendDto trend = trends.getFirst();
+            assertThat(trend.getTotalCalories()).isEqualTo(target - 50);
+            assertThat(trend.getDaysLogged()).isEqualTo(1);
+            assertThat(trend.getDaysOnTarget()).isZero();
+        }
+    }
+}
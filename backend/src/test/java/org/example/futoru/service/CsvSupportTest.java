@@ -0,0 +1,43 @@
+package org.example.futoru.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CSVの1行の分割（ダブルクォートの扱い）とBOMの除去を検証するテスト。
+ */
+class CsvSupportTest {
+
+    @Test
+    void plainValuesAreSplitByComma() {
+        assertThat(CsvSupport.parseLine("りんご,52,100g")).containsExactly("りんご", "52", "100g");
+    }
+
+    @Test
+    void emptyValuesAreKept() {
+        assertThat(CsvSupport.parseLine(",52,")).containsExactly("", "52", "");
+    }
+
+    @Test
+    void quotedValueMayContainComma() {
+        assertThat(CsvSupport.parseLine("\"カレー, 大盛り\",900")).containsExactly("カレー, 大盛り", "900");
+    }
+
+    @Test
+    void doubledQuoteInQuotedValueIsUnescaped() {
+        assertThat(CsvSupport.parseLine("\"いわゆる\"\"特盛\"\"\",1200"))
+                .containsExactly("いわゆる\"特盛\"", "1200");
+    }
+
+    @Test
+    void quotedEmptyValueIsEmpty() {
+        assertThat(CsvSupport.parseLine("\"\",52")).containsExactly("", "52");
+    }
+
+    @Test
+    void bomIsStrippedOnlyAtTheStart() {
+        assertThat(CsvSupport.stripBom("\uFEFFname,calories")).isEqualTo("name,calories");
+        assertThat(CsvSupport.stripBom("name,calories")).isEqualTo("name,calories");
+    }
+}
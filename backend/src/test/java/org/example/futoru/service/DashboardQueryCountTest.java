@@ -0,0 +1,174 @@
+package org.example.futoru.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.DashboardViewDto;
+import org.example.futoru.entity.FoodItem;
+import org.example.futoru.entity.MealLog;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.FoodItemRepository;
+import org.example.futoru.repository.MealLogRepository;
+import org.example.futoru.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ダッシュボード表示および食事記録まわりで発行されるSQL文の数を、Hibernateの統計情報で検証するテスト。
+ * <p>
+ * 関連の遅延ロード化とDTO射影により、記録件数に比例してSQLが増えない（N+1にならない）ことを確認する。
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DashboardQueryCountTest {
+
+    /** 記録する食事の件数（N+1が発生すればこの件数に比例してSQLが増える） */
+    private static final int MEAL_COUNT = 5;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FoodService foodService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private MealLogRepository mealLogRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TargetCalorieWorker targetCalorieWorker;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, "password123");
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+
+        // 食品ごとに別の所有者・別の食品を参照させ、関連の解決がSQLの増加として現れるようにする
+        User owner = userService.getUserByUsername(username);
+        for (int i = 0; i < MEAL_COUNT; i++) {
+            FoodItem food = new FoodItem();
+            food.setUser(i % 2 == 0 ? owner : null);
+            food.setName("食品" + i);
+            food.setCalories(100 + i);
+            food.setUnit("個");
+            food.setType("INGREDIENT");
+            foodItemRepository.save(food);
+
+            foodService.recordMealFromMaster(username, food.getId(), 1.0);
+        }
+    }
+
+    @Test
+    void dashboardIsBuiltWithConstantNumberOfStatements() {
+        statistics.clear();
+
+        DashboardViewDto view = dashboardService.buildDashboard(username);
+
+        assertThat(view.isProfileCompleted()).isTrue();
+        assertThat(view.getHistory()).hasSize(MEAL_COUNT);
+        assertThat(view.getDashboard().getCurrentCalories()).isEqualTo(100 + 101 + 102 + 103 + 104);
+        // 体重記録の有無、食事履歴、日別集計の3文のみ（ユーザーはキャッシュから取得される）
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void foodUpdateResponseIsBuiltWithConstantNumberOfStatements() {
+        statistics.clear();
+
+        dashboardService.buildFoodUpdateResponse(username);
+
+        // 食事履歴、日別集計の2文のみ（ユーザーはキャッシュから取得される）
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void userLookupIsCachedUntilProfileIsUpdated() throws InterruptedException {
+        statistics.clear();
+
+        userService.getUserByUsername(username);
+        userService.getUserByUsername(username);
+
+        // キャッシュ済みのため、ユーザーの検索は発生しない
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        int previousTarget = userService.getUserByUsername(username).getTargetCalories();
+        userService.updateProfile(username, 180.0, 30, "MALE", ActivityLevel.HIGH);
+
+        // 更新のコミット後にキャッシュが破棄され、新しい値が返される
+        assertThat(userService.getUserByUsername(username).getHeight()).isEqualTo(180.0);
+
+        // 目標カロリーはコミット後にワーカーが再計算して保存する
+        // （テストメソッド内はリクエスト単位のキャッシュが残るため、リポジトリから直接確認する）
+        awaitTargetCalorieWorker();
+        assertThat(userRepository.findByUsername(username).orElseThrow().getTargetCalories())
+                .isGreaterThan(previousTarget);
+    }
+
+    @Test
+    void mealLogEntityQueryDoesNotLoadAssociations() {
+        User user = userService.getUserByUsername(username);
+        statistics.clear();
+
+        List<MealLog> logs = mealLogRepository.findByUserAndEatenAtBetween(
+                user, LocalDate.now().atStartOfDay(), LocalDate.now().atTime(LocalTime.MAX));
+
+        assertThat(logs).hasSize(MEAL_COUNT);
+        // 食品・食品の所有者を個別に取得する追加のSELECTが発生しない
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(MEAL_COUNT);
+    }
+
+    @Test
+    void deleteLoadsOwnerInSameStatement() {
+        User user = userService.getUserByUsername(username);
+        Long logId = mealLogRepository.findHistoryByUserAndEatenAtBetween(
+                user, LocalDate.now().atStartOfDay(), LocalDate.now().atTime(LocalTime.MAX)).getFirst().getId();
+        statistics.clear();
+
+        mealLogRepository.findWithUserById(logId).orElseThrow();
+
+        // 食事記録と所有者を結合した1文のみ（食品・食品の所有者は取得しない）
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(2);
+    }
+
+    /**
+     * 目標カロリーの再計算ワーカーが、対象ユーザーの処理を終えるまで待つ。
+     */
+    private void awaitTargetCalorieWorker() throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (targetCalorieWorker.isPending(username)) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
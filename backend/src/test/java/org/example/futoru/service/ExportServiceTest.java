@@ -0,0 +1,91 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.ExportFormat;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link ExportService} の出力内容と、ストリームクエリのフェッチサイズを検証するテスト。
+ */
+@SpringBootTest
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FoodService foodService;
+
+    @Autowired
+    private WeightLogService weightLogService;
+
+    @Test
+    void exportsMealsAsCsvInEatenOrder() throws Exception {
+        String username = createUser();
+        foodService.recordManualMeal(username, "カレー, 辛口", 800);
+        foodService.recordManualMeal(username, "サラダ", 120);
+
+        String[] lines = export(username, ExportService.MEALS, ExportFormat.CSV).split("\n");
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo("\uFEFFid,eaten_at,name,calories,amount");
+        assertThat(lines[1]).contains(",\"カレー, 辛口\",800,");
+        assertThat(lines[2]).contains(",サラダ,120,");
+    }
+
+    @Test
+    void exportsWeightsAsJsonLinesInDateOrder() throws Exception {
+        String username = createUser();
+        LocalDate today = LocalDate.now();
+        weightLogService.saveWeightLog(username, today.minusDays(1), 61.5);
+
+        String[] lines = export(username, ExportService.WEIGHTS, ExportFormat.NDJSON).split("\n");
+
+        assertThat(lines).containsExactly(
+                "{\"date\":\"" + today.minusDays(1) + "\",\"weight\":61.5}",
+                "{\"date\":\"" + today + "\",\"weight\":60.0}");
+    }
+
+    @Test
+    void onlyMySqlStreamsRowByRow() throws Exception {
+        assertThat(ExportService.streamingFetchSize(connectionTo("MySQL"))).isEqualTo(Integer.MIN_VALUE);
+        assertThat(ExportService.streamingFetchSize(connectionTo("H2"))).isEqualTo(ExportService.FETCH_SIZE);
+    }
+
+    private String export(String username, String target, ExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(username, target, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static Connection connectionTo(String productName) throws Exception {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(productName);
+        return connection;
+    }
+
+    private String createUser() {
+        String username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, "password123");
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+        return username;
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.FoodImportResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 食品マスタの一括取込（行の検証、ファイル内の重複、既存の食品との突き合わせ）を検証するテスト。
+ * <p>
+ * システム標準食品は全テストで共有されるため、食品名にはテストごとに異なる接頭辞を付ける。
+ * </p>
+ */
+@SpringBootTest
+class FoodCatalogImportServiceTest {
+
+    @Autowired
+    private FoodCatalogImportService foodCatalogImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "food-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+    }
+
+    @Test
+    void invalidRowsAreSkippedAndDefaultsAreFilled() {
+        FoodImportResult result = importCsv("""
+                name,calories,unit,type
+                %1$sりんご,52.6,,
+                %1$sカレー,700, 1皿 ,dish
+                ,100,,
+                %1$s負の値,-1,,
+                %1$s数値でない,abc,,
+                %1$s未知の区分,100,,DRINK
+                %1$s%2$s,100,,
+                """.formatted(prefix, "x".repeat(255)));
+
+        assertThat(result.getRead()).isEqualTo(7);
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(5);
+        // カロリーは四捨五入し、単位・区分の省略時は既定値を補う
+        assertThat(findFood("りんご")).containsEntry("CALORIES", 53)
+                .containsEntry("UNIT", "100g").containsEntry("TYPE", "INGREDIENT");
+        assertThat(findFood("カレー")).containsEntry("CALORIES", 700)
+                .containsEntry("UNIT", "1皿").containsEntry("TYPE", "DISH");
+    }
+
+    @Test
+    void headerWithoutCaloriesColumnIsRejected() {
+        assertThatThrownBy(() -> importCsv("""
+                name,kcal
+                %sりんご,52
+                """.formatted(prefix)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("calories");
+    }
+
+    @Test
+    void duplicateNamesInFileKeepTheLastRow() {
+        FoodImportResult result = importCsv("""
+                name,calories
+                %1$sバナナ,80
+                %1$sみかん,45
+                %1$sバナナ,86
+                """.formatted(prefix));
+
+        assertThat(result.getInserted()).isEqualTo(2);
+        assertThat(result.getDuplicates()).isEqualTo(1);
+        assertThat(findFoods("バナナ")).singleElement().satisfies(food -> assertThat(food).containsEntry("CALORIES", 86));
+    }
+
+    @Test
+    void reimportUpdatesOnlyChangedFoods() {
+        importCsv("""
+                name,calories
+                %1$s白米,168
+                %1$s玄米,165
+                """.formatted(prefix));
+
+        FoodImportResult result = importJson("""
+                [
+                  {"name": "%1$s白米", "calories": 168},
+                  {"name": "%1$s玄米", "calories": 152},
+                  {"name": "%1$s雑穀米", "calories": 160}
+                ]
+                """.formatted(prefix));
+
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(result.getUpdated()).isEqualTo(1);
+        assertThat(result.getUnchanged()).isEqualTo(1);
+        assertThat(findFoods("玄米")).singleElement().satisfies(food -> assertThat(food).containsEntry("CALORIES", 152));
+    }
+
+    private FoodImportResult importCsv(String csv) {
+        return foodCatalogImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private FoodImportResult importJson(String json) {
+        return foodCatalogImportService.importJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<Map<String, Object>> findFoods(String name) {
+        return jdbcTemplate.queryForList(
+                "SELECT calories, unit, type FROM food_items WHERE user_id IS NULL AND name = ?", prefix + name);
+    }
+
+    private Map<String, Object> findFood(String name) {
+        List<Map<String, Object>> foods = findFoods(name);
+        assertThat(foods).hasSize(1);
+        return foods.getFirst();
+    }
+}
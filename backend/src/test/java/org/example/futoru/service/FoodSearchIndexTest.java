@@ -0,0 +1,71 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.FoodItemDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 食品名の正規化と、インデックスによる検索結果の並び順を検証する単体テスト。
+ */
+class FoodSearchIndexTest {
+
+    @Test
+    void halfWidthKanaAndKatakanaAreNormalizedToHiragana() {
+        assertThat(FoodSearchIndex.normalize("ﾄﾏﾄ")).isEqualTo("とまと");
+        assertThat(FoodSearchIndex.normalize("トマト")).isEqualTo("とまと");
+        // 半角の濁点・半濁点は直前の文字と結合する
+        assertThat(FoodSearchIndex.normalize("ｶﾞﾘﾊﾟﾝ")).isEqualTo("がりぱん");
+    }
+
+    @Test
+    void fullWidthAlphanumericsAreLowercasedAndSpacesRemoved() {
+        assertThat(FoodSearchIndex.normalize("ＢＬＴ サンド　２")).isEqualTo("bltさんど2");
+        assertThat(FoodSearchIndex.normalize("鶏 むね肉")).isEqualTo("鶏むね肉");
+        assertThat(FoodSearchIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void queryMatchesRegardlessOfKanaWidthAndScript() {
+        FoodSearchIndex index = FoodSearchIndex.build(List.of(food(1, "ミニトマト"), food(2, "きゅうり")));
+
+        assertThat(ids(index.search("とまと", 10))).containsExactly(1L);
+        assertThat(ids(index.search("ﾄﾏﾄ", 10))).containsExactly(1L);
+        assertThat(ids(index.search("ト", 10))).containsExactly(1L);
+        assertThat(index.search("なす", 10)).isEmpty();
+    }
+
+    @Test
+    void exactMatchComesFirstThenPrefixThenSubstring() {
+        FoodSearchIndex index = FoodSearchIndex.build(List.of(
+                food(1, "トマトソース"),
+                food(2, "ミニトマト"),
+                food(3, "トマト"),
+                food(4, "トマトジュース"),
+                food(5, "黒トマト"),
+                food(6, "青トマト")));
+
+        // 同じ順位の中では名前が短い順、同じ長さならID順
+        assertThat(ids(index.search("トマト", 10))).containsExactly(3L, 1L, 4L, 5L, 6L, 2L);
+    }
+
+    @Test
+    void limitKeepsTheBestRankedFoods() {
+        FoodSearchIndex index = FoodSearchIndex.build(List.of(
+                food(1, "ミニトマト"),
+                food(2, "トマトソース"),
+                food(3, "トマト")));
+
+        assertThat(ids(index.search("トマト", 2))).containsExactly(3L, 2L);
+    }
+
+    private static FoodItemDto food(long id, String name) {
+        return new FoodItemDto(id, name, 100, "100g", "INGREDIENT");
+    }
+
+    private static List<Long> ids(List<FoodItemDto> foods) {
+        return foods.stream().map(FoodItemDto::getId).toList();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.FoodItemDto;
+import org.example.futoru.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 検索インデックスがシステム標準食品の世代番号に従って再構築されることを検証する単体テスト。
+ */
+class FoodSearchServiceTest {
+
+    private static final String USERNAME = "searcher";
+
+    private final FoodCatalogService foodCatalogService = mock(FoodCatalogService.class);
+    private final UserService userService = mock(UserService.class);
+    private final FoodSearchService foodSearchService = new FoodSearchService(foodCatalogService, userService);
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername(USERNAME);
+        when(userService.getUserByUsername(USERNAME)).thenReturn(user);
+        when(foodCatalogService.getUserFoods(1L)).thenReturn(List.of());
+    }
+
+    @Test
+    void indexIsReusedWhileGenerationIsUnchanged() {
+        when(foodCatalogService.getSystemFoodsGeneration()).thenReturn(3L);
+        // スナップショットが公開されずに毎回読み込まれる場合も、内容の等しい別インスタンスが返る
+        when(foodCatalogService.getSystemFoods()).thenAnswer(invocation -> new ArrayList<>(List.of(food(1, "トマト"))));
+
+        assertThat(foodSearchService.search(USERNAME, "トマト", 10)).hasSize(1);
+        assertThat(foodSearchService.search(USERNAME, "とまと", 10)).hasSize(1);
+
+        verify(foodCatalogService, times(1)).getSystemFoods();
+    }
+
+    @Test
+    void indexIsRebuiltWhenGenerationChanges() {
+        when(foodCatalogService.getSystemFoodsGeneration()).thenReturn(3L);
+        when(foodCatalogService.getSystemFoods()).thenReturn(List.of(food(1, "トマト")));
+        assertThat(foodSearchService.search(USERNAME, "なす", 10)).isEmpty();
+
+        when(foodCatalogService.getSystemFoodsGeneration()).thenReturn(4L);
+        when(foodCatalogService.getSystemFoods()).thenReturn(List.of(food(1, "トマト"), food(2, "焼きなす")));
+
+        assertThat(foodSearchService.search(USERNAME, "なす", 10))
+                .extracting(FoodItemDto::getId)
+                .containsExactly(2L);
+    }
+
+    private static FoodItemDto food(long id, String name) {
+        return new FoodItemDto(id, name, 100, "100g", "INGREDIENT");
+    }
+}
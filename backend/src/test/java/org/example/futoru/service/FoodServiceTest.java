@@ -0,0 +1,157 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.entity.FoodItem;
+import org.example.futoru.entity.User;
+import org.example.futoru.form.MealBatchForm;
+import org.example.futoru.repository.FoodItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 複数の食事の一括記録（{@link FoodService#recordMeals}）を検証するテスト。
+ */
+@SpringBootTest
+class FoodServiceTest {
+
+    @Autowired
+    private FoodService foodService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    private CalorieSummaryService calorieSummaryService;
+
+    private String username;
+
+    private User user;
+
+    /** 記録に使用するMy食品（100g あたり 200kcal） */
+    private FoodItem rice;
+
+    @BeforeEach
+    void setUp() {
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, "password123");
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+        user = userService.getUserByUsername(username);
+
+        rice = new FoodItem();
+        rice.setUser(user);
+        rice.setName("ごはん");
+        rice.setCalories(200);
+        rice.setUnit("100g");
+        rice.setType("INGREDIENT");
+        rice = foodItemRepository.save(rice);
+    }
+
+    @Test
+    void mixedBatchStoresEveryEntryWithOneSummaryDelta() {
+        foodService.recordMeals(username, List.of(
+                masterEntry(rice.getId(), 1.5),
+                manualEntry("味噌汁", 60),
+                masterEntry(rice.getId(), null)));
+
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT name, calories, amount FROM meal_logs WHERE user_id = ? ORDER BY id", user.getId()))
+                .extracting(row -> row.get("name"), row -> ((Number) row.get("calories")).intValue(),
+                        row -> ((Number) row.get("amount")).doubleValue())
+                .containsExactly(
+                        tuple("ごはん", 300, 1.5),
+                        tuple("味噌汁", 60, 1.0),
+                        tuple("ごはん", 200, 1.0));
+        // 日別集計への反映は件数に関わらず1回で、合計カロリーと件数をまとめて加算する
+        verify(calorieSummaryService, times(1)).applyMealDelta(any(User.class), any(LocalDate.class), anyInt(), anyInt());
+        verify(calorieSummaryService).applyMealDelta(any(User.class), eq(LocalDate.now()), eq(560), eq(3));
+        assertThat(calorieSummaryService.getDailyCalories(user, LocalDate.now())).isEqualTo(560);
+    }
+
+    @Test
+    void invalidFoodIdRollsBackTheWholeBatch() {
+        assertThatThrownBy(() -> foodService.recordMeals(username, List.of(
+                manualEntry("味噌汁", 60),
+                masterEntry(rice.getId(), 1.0),
+                masterEntry(Long.MAX_VALUE, 1.0))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(mealLogCount()).isZero();
+        verify(calorieSummaryService, never()).applyMealDelta(any(), any(), anyInt(), anyInt());
+        assertThat(calorieSummaryService.getDailyCalories(user, LocalDate.now())).isZero();
+    }
+
+    @Test
+    void failureAfterInsertRollsBackTheWholeBatch() {
+        // 食事記録のINSERT後、日別集計の更新で失敗した場合も記録は残らない
+        doThrow(new IllegalStateException("summary update failed"))
+                .when(calorieSummaryService).applyMealDelta(any(), any(), anyInt(), anyInt());
+
+        assertThatThrownBy(() -> foodService.recordMeals(username, List.of(
+                manualEntry("味噌汁", 60),
+                masterEntry(rice.getId(), 1.0))))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(mealLogCount()).isZero();
+    }
+
+    @Test
+    void batchesOverTheLimitAreRejected() {
+        List<MealBatchForm.MealEntryDto> entries = new ArrayList<>();
+        for (int i = 0; i <= FoodService.MAX_BATCH_ENTRIES; i++) {
+            entries.add(manualEntry("間食" + i, 10));
+        }
+
+        assertThatThrownBy(() -> foodService.recordMeals(username, entries))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(mealLogCount()).isZero();
+
+        // 上限ちょうどの件数は記録できる
+        foodService.recordMeals(username, entries.subList(0, FoodService.MAX_BATCH_ENTRIES));
+        assertThat(mealLogCount()).isEqualTo(FoodService.MAX_BATCH_ENTRIES);
+    }
+
+    private int mealLogCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM meal_logs WHERE user_id = ?", Integer.class,
+                user.getId());
+    }
+
+    private static MealBatchForm.MealEntryDto masterEntry(Long foodItemId, Double amount) {
+        MealBatchForm.MealEntryDto entry = new MealBatchForm.MealEntryDto();
+        entry.setFoodItemId(foodItemId);
+        entry.setAmount(amount);
+        return entry;
+    }
+
+    private static MealBatchForm.MealEntryDto manualEntry(String name, int calories) {
+        MealBatchForm.MealEntryDto entry = new MealBatchForm.MealEntryDto();
+        entry.setName(name);
+        entry.setCalories(calories);
+        return entry;
+    }
+}
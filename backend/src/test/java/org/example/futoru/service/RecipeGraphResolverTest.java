@@ -0,0 +1,92 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.RecipeEdgeDto;
+import org.example.futoru.repository.RecipeRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link RecipeGraphResolver} のメモリ上での合計カロリーの解決を検証する単体テスト。
+ * レシピ構成の取得はモックで置き換え、与えた辺だけからグラフを組み立てる。
+ */
+class RecipeGraphResolverTest {
+
+    private static final long SET_MENU = 1L;
+    private static final long DISH_B = 2L;
+    private static final long DISH_C = 3L;
+    private static final long SAUCE = 4L;
+    private static final long RICE = 5L;
+
+    private final RecipeRepository recipeRepository = mock(RecipeRepository.class);
+    private final RecipeGraphResolver resolver = new RecipeGraphResolver(recipeRepository);
+
+    @Test
+    void diamondSharesTheResolvedTotal() {
+        // セット → 料理B・料理C → 共通のソース → ご飯（レシピではない食品、100kcal）
+        givenEdges(
+                edge(1, SET_MENU, DISH_B, 0, null, 1.0),
+                edge(2, SET_MENU, DISH_C, 0, null, 1.0),
+                edge(3, DISH_B, SAUCE, 0, null, 1.0),
+                edge(4, DISH_C, SAUCE, 0, null, 2.0),
+                edge(5, SAUCE, RICE, 100, null, 1.0));
+
+        Map<Long, Integer> totals = resolver.resolveCalories(List.of(SET_MENU));
+
+        // 子のカロリーは保存済みの値（0）ではなく、解決済みの合計が使われる
+        assertThat(totals).containsExactlyInAnyOrderEntriesOf(Map.of(
+                SAUCE, 100,
+                DISH_B, 100,
+                DISH_C, 200,
+                SET_MENU, 300));
+        verify(recipeRepository, times(1)).findSubgraphEdges(anyCollection());
+    }
+
+    @Test
+    void cycleIsRejected() {
+        givenEdges(
+                edge(1, SET_MENU, DISH_B, 0, null, 1.0),
+                edge(2, DISH_B, DISH_C, 0, null, 1.0),
+                edge(3, DISH_C, SET_MENU, 0, null, 1.0));
+
+        assertThatThrownBy(() -> resolver.resolveCalories(List.of(SET_MENU)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cycle");
+    }
+
+    @Test
+    void missingChildCountsAsZeroAndManualIngredientsAreAdded() {
+        // 削除済みの食品を参照する材料（カロリーが取得できない）と、手入力の材料
+        givenEdges(
+                edge(1, DISH_B, RICE, null, null, 1.0),
+                edge(2, DISH_B, null, null, 50, null));
+
+        Map<Long, Integer> totals = resolver.resolveCalories(List.of(DISH_B));
+
+        assertThat(totals).containsExactlyInAnyOrderEntriesOf(Map.of(DISH_B, 50));
+    }
+
+    @Test
+    void noRootsMeansNoQuery() {
+        assertThat(resolver.resolveCalories(List.of())).isEmpty();
+        verify(recipeRepository, times(0)).findSubgraphEdges(anyCollection());
+    }
+
+    private void givenEdges(RecipeEdgeDto... edges) {
+        when(recipeRepository.findSubgraphEdges(anyCollection())).thenReturn(List.of(edges));
+    }
+
+    private static RecipeEdgeDto edge(long id, long parentFoodId, Long childFoodId,
+                                      Integer childCalories, Integer manualCalories, Double amount) {
+        return new RecipeEdgeDto(id, parentFoodId, childFoodId, childCalories, manualCalories, amount);
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.futoru.service;
+
+import org.example.futoru.entity.FoodItem;
+import org.example.futoru.entity.Recipe;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.FoodItemRepository;
+import org.example.futoru.repository.RecipeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 材料のカロリー変更を、それを使用しているレシピへ反映する処理を検証するテスト。
+ */
+@SpringBootTest
+class RecipeRecalculationServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeRecalculationService recipeRecalculationService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, "password123");
+        user = userService.getUserByUsername(username);
+    }
+
+    @Test
+    void changedIngredientIsPropagatedToAllAncestors() {
+        FoodItem rice = saveFood("ご飯", 100);
+        FoodItem dish = saveFood("丼", 200);
+        FoodItem setMenu = saveFood("丼セット", 250);
+        saveIngredient(dish, rice, 2.0);
+        saveIngredient(setMenu, dish, 1.0);
+        saveManualIngredient(setMenu, "味噌汁", 50);
+
+        rice.setCalories(150);
+        foodItemRepository.save(rice);
+        int updated = recipeRecalculationService.recalculateDependents(List.of(rice.getId()));
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(caloriesOf(dish)).isEqualTo(300);
+        assertThat(caloriesOf(setMenu)).isEqualTo(350);
+    }
+
+    @Test
+    void recipeWithoutStoredCaloriesIsUpdated() {
+        FoodItem rice = saveFood("ご飯", 100);
+        FoodItem dish = saveFood("おにぎり", null);
+        saveIngredient(dish, rice, 1.0);
+
+        int updated = recipeRecalculationService.recalculateDependents(List.of(rice.getId()));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(caloriesOf(dish)).isEqualTo(100);
+    }
+
+    @Test
+    void unchangedTotalsAreNotCounted() {
+        FoodItem rice = saveFood("ご飯", 100);
+        FoodItem dish = saveFood("丼", 200);
+        FoodItem otherDish = saveFood("お茶漬け", 80);
+        saveIngredient(dish, rice, 2.0);
+        saveIngredient(otherDish, rice, 0.5);
+
+        // お茶漬けは保存済みの値（80）と再計算結果（50）が異なるが、丼は変わらない
+        int updated = recipeRecalculationService.recalculateDependents(List.of(rice.getId()));
+
+        assertThat(updated).isEqualTo(1);
+        assertThat(caloriesOf(dish)).isEqualTo(200);
+        assertThat(caloriesOf(otherDish)).isEqualTo(50);
+        assertThat(recipeRecalculationService.recalculateDependents(List.of(rice.getId()))).isZero();
+    }
+
+    @Test
+    void foodWithoutDependentsUpdatesNothing() {
+        FoodItem rice = saveFood("ご飯", 100);
+
+        assertThat(recipeRecalculationService.recalculateDependents(List.of(rice.getId()))).isZero();
+    }
+
+    private FoodItem saveFood(String name, Integer calories) {
+        FoodItem food = new FoodItem();
+        food.setUser(user);
+        food.setName(name);
+        food.setCalories(calories);
+        food.setUnit("人前");
+        food.setType("DISH");
+        return foodItemRepository.save(food);
+    }
+
+    private void saveIngredient(FoodItem parent, FoodItem child, double amount) {
+        Recipe recipe = new Recipe();
+        recipe.setParentFood(parent);
+        recipe.setChildFood(child);
+        recipe.setAmount(amount);
+        recipeRepository.save(recipe);
+    }
+
+    private void saveManualIngredient(FoodItem parent, String name, int calories) {
+        Recipe recipe = new Recipe();
+        recipe.setParentFood(parent);
+        recipe.setManualName(name);
+        recipe.setManualCalories(calories);
+        recipe.setAmount(1.0);
+        recipeRepository.save(recipe);
+    }
+
+    private Integer caloriesOf(FoodItem food) {
+        return foodItemRepository.findById(food.getId()).orElseThrow().getCalories();
+    }
+}
@@ -0,0 +1,156 @@
+package org.example.futoru.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.entity.FoodItem;
+import org.example.futoru.entity.Recipe;
+import org.example.futoru.entity.User;
+import org.example.futoru.form.RecipeForm;
+import org.example.futoru.repository.FoodItemRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * レシピの一括作成（{@link RecipeService#createRecipes}、{@code /recipe/import}）を検証するテスト。
+ * <p>
+ * 親データのINSERT回数は、Hibernateの統計情報（エンティティごとのINSERT・UPDATE件数）で確認する。
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RecipeServiceTest {
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private String username;
+
+    private User user;
+
+    /** 材料のMy食品（100g あたり 200kcal） */
+    private FoodItem rice;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, "password123");
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+        user = userService.getUserByUsername(username);
+
+        rice = new FoodItem();
+        rice.setUser(user);
+        rice.setName("ごはん");
+        rice.setCalories(200);
+        rice.setUnit("100g");
+        rice.setType("INGREDIENT");
+        rice = foodItemRepository.save(rice);
+    }
+
+    @Test
+    void importResolvesNestedRecipesAndInsertsEachParentOnce() {
+        // おにぎり = ごはん 0.5 + 海苔 10kcal = 110kcal
+        recipeService.createRecipe(username, recipe("おにぎり", null, masterIngredient(rice.getId(), 0.5),
+                manualIngredient("海苔", 10)));
+        long riceBallId = foodId("おにぎり");
+        // 保存済みの合計が古くなっていても、材料のレシピは配下の構成から解決した合計を使用する
+        jdbcTemplate.update("UPDATE food_items SET calories = 999 WHERE id = ?", riceBallId);
+
+        statistics.clear();
+        int created = recipeService.createRecipes(username, List.of(
+                recipe("おにぎり定食", "SET", masterIngredient(riceBallId, 2.0), manualIngredient("味噌汁", 60)),
+                recipe("大盛りごはん", null, masterIngredient(rice.getId(), 1.5))));
+
+        assertThat(created).isEqualTo(2);
+        // 合計を確定してから保存するため、親データはレシピごとに1回のINSERTだけでUPDATEは発行されない
+        EntityStatistics foodStatistics = statistics.getEntityStatistics(FoodItem.class.getName());
+        assertThat(foodStatistics.getInsertCount()).isEqualTo(2);
+        assertThat(foodStatistics.getUpdateCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Recipe.class.getName()).getInsertCount()).isEqualTo(3);
+
+        Map<String, Object> set = jdbcTemplate.queryForMap(
+                "SELECT calories, type, unit FROM food_items WHERE user_id = ? AND name = 'おにぎり定食'", user.getId());
+        assertThat(set).containsEntry("calories", 280).containsEntry("type", "SET").containsEntry("unit", "人前");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT calories FROM food_items WHERE user_id = ? AND name = '大盛りごはん'", Integer.class, user.getId()))
+                .isEqualTo(300);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT r.child_food_id, r.manual_name, r.manual_calories, r.amount FROM recipes r "
+                        + "JOIN food_items f ON f.id = r.parent_food_id WHERE f.user_id = ? AND f.name = 'おにぎり定食' "
+                        + "ORDER BY r.id", user.getId()))
+                .extracting(row -> row.get("child_food_id"), row -> row.get("manual_name"),
+                        row -> row.get("manual_calories"), row -> ((Number) row.get("amount")).doubleValue())
+                .containsExactly(
+                        tuple(riceBallId, null, null, 2.0),
+                        tuple(null, "味噌汁", 60, 1.0));
+    }
+
+    @Test
+    void unknownIngredientRejectsTheWholeImport() {
+        assertThatThrownBy(() -> recipeService.createRecipes(username, List.of(
+                recipe("大盛りごはん", null, masterIngredient(rice.getId(), 1.5)),
+                recipe("謎の定食", null, masterIngredient(Long.MAX_VALUE, 1.0)))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM food_items WHERE user_id = ?", Integer.class, user.getId()))
+                .as("材料のMy食品のみ")
+                .isEqualTo(1);
+    }
+
+    private long foodId(String name) {
+        return jdbcTemplate.queryForObject("SELECT id FROM food_items WHERE user_id = ? AND name = ?", Long.class,
+                user.getId(), name);
+    }
+
+    static RecipeForm recipe(String name, String type, RecipeForm.IngredientDto... ingredients) {
+        RecipeForm form = new RecipeForm();
+        form.setName(name);
+        form.setType(type);
+        form.setIngredients(Arrays.asList(ingredients));
+        return form;
+    }
+
+    static RecipeForm.IngredientDto masterIngredient(Long foodItemId, Double amount) {
+        RecipeForm.IngredientDto ingredient = new RecipeForm.IngredientDto();
+        ingredient.setFoodItemId(foodItemId);
+        ingredient.setAmount(amount);
+        return ingredient;
+    }
+
+    static RecipeForm.IngredientDto manualIngredient(String name, int calories) {
+        RecipeForm.IngredientDto ingredient = new RecipeForm.IngredientDto();
+        ingredient.setManualName(name);
+        ingredient.setManualCalories(calories);
+        return ingredient;
+    }
+}
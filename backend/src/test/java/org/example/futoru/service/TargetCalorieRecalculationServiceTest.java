@@ -0,0 +1,87 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 目標摂取カロリーの一括再計算が、1人ずつの計算（{@link EnergyExpenditureService#calculateTargetCalories(User, Double)}）と
+ * 同じ値を保存することを検証するテスト。
+ * <p>
+ * 既定の推定モデルはプリミティブ版、それ以外のモデルは {@link EnergyExpenditureService} と経路が分かれるため、両方を含める。
+ * </p>
+ */
+@SpringBootTest
+class TargetCalorieRecalculationServiceTest {
+
+    /** DBに保存された性別の表記（表記ゆれと未設定を含む） */
+    private static final String[] GENDERS = {"MALE", "FEMALE", "female", "男性", "女性", null};
+
+    /** DBに保存された活動レベルの表記（大文字・小文字の違い、不正値、未設定を含む） */
+    private static final String[] ACTIVITY_LEVELS = {"LOW", "MID", "HIGH", "high", "UNKNOWN", null};
+
+    /** DBに保存された推定モデル（未設定、既定以外のモデル、体脂肪率がなく既定のモデルに戻る場合を含む） */
+    private static final String[] ENERGY_MODELS = {null, "HARRIS_BENEDICT", "KATCH_MCARDLE", "KATCH_MCARDLE",
+            "MIFFLIN_ST_JEOR", "HARRIS_BENEDICT"};
+
+    /** DBに保存された体脂肪率 (%) */
+    private static final Double[] BODY_FAT_PERCENTAGES = {null, null, 18.5, null, 25.0, null};
+
+    @Autowired
+    private TargetCalorieRecalculationService recalculationService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private EnergyExpenditureService energyExpenditureService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void recalculateAllStoresSameTargetAsPerUserCalculation() {
+        String prefix = "user-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        String[] usernames = new String[GENDERS.length];
+        double[] latestWeights = new double[GENDERS.length];
+        for (int i = 0; i < GENDERS.length; i++) {
+            usernames[i] = prefix + i;
+            userService.registerUser(usernames[i], "password123");
+            userService.saveInitialProfile(usernames[i], 150.0 + 7.5 * i, 45.0, 20 + 9 * i, "MALE", ActivityLevel.MID);
+
+            // プロフィールの値を直接書き換え、保存済みの目標値を古い値にする（再計算のイベントは発行しない）
+            jdbcTemplate.update("UPDATE users SET gender = ?, activity_level = ?, energy_model = ?, "
+                            + "body_fat_percentage = ?, target_calories = 0 WHERE username = ?",
+                    GENDERS[i], ACTIVITY_LEVELS[i], ENERGY_MODELS[i], BODY_FAT_PERCENTAGES[i], usernames[i]);
+            // 最新の記録の体重で計算されること（初回の記録より後の日付に記録を追加する）
+            latestWeights[i] = 48.3 + 6.1 * i;
+            jdbcTemplate.update("INSERT INTO weight_logs (user_id, date, weight) "
+                            + "SELECT id, ?, ? FROM users WHERE username = ?",
+                    LocalDate.now().plusDays(1), latestWeights[i], usernames[i]);
+            userCacheService.invalidate(usernames[i]);
+        }
+
+        int updated = recalculationService.recalculateAll();
+
+        assertThat(updated).isGreaterThanOrEqualTo(usernames.length);
+        for (int i = 0; i < usernames.length; i++) {
+            User user = userService.getUserByUsername(usernames[i]);
+            Integer stored = jdbcTemplate.queryForObject(
+                    "SELECT target_calories FROM users WHERE username = ?", Integer.class, usernames[i]);
+            assertThat(stored)
+                    .as("gender=%s, activityLevel=%s, energyModel=%s", GENDERS[i], ACTIVITY_LEVELS[i], ENERGY_MODELS[i])
+                    .isEqualTo(energyExpenditureService.calculateTargetCalories(user, latestWeights[i]));
+        }
+    }
+}
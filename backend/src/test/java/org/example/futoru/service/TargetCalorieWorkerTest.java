@@ -0,0 +1,110 @@
+package org.example.futoru.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link TargetCalorieWorker} の再計算のまとめ方と、起動時の再計算待ちの回復を検証する単体テスト。
+ * 再計算の処理はモックで置き換え、ラッチで実行中の状態を作る。
+ */
+class TargetCalorieWorkerTest {
+
+    private static final String USERNAME = "alice";
+
+    private final UserService userService = mock(UserService.class);
+
+    @SuppressWarnings("unchecked")
+    private final TargetCalorieWorker worker = new TargetCalorieWorker(userService, mock(ObjectProvider.class));
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        worker.shutdown();
+    }
+
+    @Test
+    void updatesDuringRecalculationAreCoalescedIntoOneMoreRun() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(userService).recalculateTargetCalories(USERNAME);
+
+        worker.onTargetCaloriesStale(new TargetCaloriesStaleEvent(USERNAME));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(worker.isPending(USERNAME)).isTrue();
+
+        // 実行中に届いた複数の要求は、実行後の1回にまとめられる
+        for (int i = 0; i < 3; i++) {
+            worker.onTargetCaloriesStale(new TargetCaloriesStaleEvent(USERNAME));
+        }
+        assertThat(worker.isPending(USERNAME)).isTrue();
+        release.countDown();
+
+        verify(userService, timeout(5000).times(2)).recalculateTargetCalories(USERNAME);
+        awaitIdle(USERNAME);
+        verify(userService, times(2)).recalculateTargetCalories(USERNAME);
+    }
+
+    @Test
+    void sameUserIsNeverRecalculatedConcurrently() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        int[] concurrent = {0, 0};
+        doAnswer(invocation -> {
+            synchronized (concurrent) {
+                concurrent[1] = Math.max(concurrent[1], ++concurrent[0]);
+            }
+            release.await(5, TimeUnit.SECONDS);
+            synchronized (concurrent) {
+                concurrent[0]--;
+            }
+            return null;
+        }).when(userService).recalculateTargetCalories(USERNAME);
+
+        // 空いているスレッドがあっても、同じユーザーの2回目は1回目の終了を待つ
+        for (int i = 0; i < TargetCalorieWorker.WORKER_THREADS * 2; i++) {
+            worker.onTargetCaloriesStale(new TargetCaloriesStaleEvent(USERNAME));
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        awaitIdle(USERNAME);
+        synchronized (concurrent) {
+            assertThat(concurrent[1]).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void staleUsersAreRecalculatedOnStartup() {
+        when(userService.findTargetCaloriesStaleUsernames()).thenReturn(List.of(USERNAME, "bob"));
+
+        worker.onApplicationReady();
+
+        // 再計算待ちの記録が残っているユーザーだけを再計算する
+        verify(userService, timeout(5000)).recalculateTargetCalories(USERNAME);
+        verify(userService, timeout(5000)).recalculateTargetCalories("bob");
+        verify(userService, times(1)).findTargetCaloriesStaleUsernames();
+    }
+
+    private void awaitIdle(String username) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (worker.isPending(username)) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.EnergyModel;
+import org.example.futoru.dto.WeightImportResult;
+import org.example.futoru.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 体重のCSV一括取込（ヘッダーの解釈、日付・体重の解釈、重複・範囲外の行の扱い）を検証するテスト。
+ */
+@SpringBootTest
+class WeightImportServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private WeightImportService weightImportService;
+
+    @Autowired
+    private WeightLogService weightLogService;
+
+    @Autowired
+    private AdaptiveEnergyService adaptiveEnergyService;
+
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, "password123");
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+    }
+
+    @Test
+    void columnsAreFoundByPrefixAmongOtherColumns() {
+        // 体組成計の出力のように、BOM・クォート・余分な列を含むヘッダー
+        WeightImportResult result = importCsv("""
+                \uFEFF"Time","Weight(kg)","BMI","Date (yyyy/mm/dd)"
+                07:30,61.2,21.2,2025/01/05
+                """);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(weightLogService.getWeightByDate(username, LocalDate.of(2025, 1, 5))).isEqualTo(61.2);
+    }
+
+    @Test
+    void datesWithoutPaddingAndDateTimesAreAccepted() {
+        WeightImportResult result = importCsv("""
+                date,weight
+                2025/1/5,61.0
+                2025-01-06 07:30,61.1
+                2025-01-07T07:30:00,61.2
+                """);
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getSkipped()).isZero();
+        assertThat(weightLogService.getWeightByDate(username, LocalDate.of(2025, 1, 5))).isEqualTo(61.0);
+        assertThat(weightLogService.getWeightByDate(username, LocalDate.of(2025, 1, 6))).isEqualTo(61.1);
+        assertThat(weightLogService.getWeightByDate(username, LocalDate.of(2025, 1, 7))).isEqualTo(61.2);
+    }
+
+    @Test
+    void laterRowWinsForDuplicateDates() {
+        WeightImportResult result = importCsv("""
+                date,weight
+                2025-02-01,61.0
+                2025-02-01 21:00,61.8
+                2025-02-02,62.0
+                """);
+
+        assertThat(result.getRead()).isEqualTo(3);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getDuplicates()).isEqualTo(1);
+        assertThat(weightLogService.getWeightByDate(username, LocalDate.of(2025, 2, 1))).isEqualTo(61.8);
+    }
+
+    @Test
+    void invalidOrOutOfRangeRowsAreSkipped() {
+        WeightImportResult result = importCsv("""
+                date,weight
+                2025-03-01,0
+                2025-03-02,-60
+                2025-03-03,60500
+                2025-03-04,abc
+                2025-13-01,60.0
+                ,60.0
+                2025-03-05
+
+                2025-03-06,60.4
+                """);
+
+        assertThat(result.getRead()).isEqualTo(8);
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getSkipped()).isEqualTo(7);
+        assertThat(weightLogService.getWeightByDate(username, LocalDate.of(2025, 3, 3))).isNull();
+        assertThat(weightLogService.getWeightByDate(username, LocalDate.of(2025, 3, 6))).isEqualTo(60.4);
+    }
+
+    @Test
+    void importingTheSameFileTwiceIsIdempotent() {
+        String csv = """
+                date,weight
+                2025-04-01,61.0
+                2025-04-02,61.5
+                """;
+        importCsv(csv);
+        WeightImportResult again = importCsv(csv);
+
+        assertThat(again.getImported()).isEqualTo(2);
+        assertThat(weightLogService.getWeightByDate(username, LocalDate.of(2025, 4, 2))).isEqualTo(61.5);
+        assertThat(weightLogService.getWeightSeries(username, LocalDate.of(2025, 4, 1), LocalDate.of(2025, 4, 30), 100))
+                .hasSize(2);
+    }
+
+    @Test
+    void headerWithoutWeightColumnIsRejected() {
+        assertThatThrownBy(() -> importCsv("date,kg\n2025-01-01,60.0\n"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> importCsv(""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void filesOverTheRowLimitAreRejectedAsAWhole() {
+        StringBuilder csv = new StringBuilder("date,weight\n");
+        LocalDate date = LocalDate.of(1930, 1, 1);
+        for (int i = 0; i <= WeightImportService.MAX_ROWS; i++) {
+            csv.append(date.plusDays(i)).append(",60.0\n");
+        }
+
+        assertThatThrownBy(() -> importCsv(csv.toString()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(weightLogService.getWeightByDate(username, date)).isNull();
+    }
+
+    @Test
+    void importUnderAdaptiveModelRebuildsTheState() {
+        userService.updateProfile(username, 170.0, 25, "MALE", ActivityLevel.MID, EnergyModel.ADAPTIVE, null);
+
+        importCsv("""
+                date,weight
+                2025-05-01,61.0
+                2025-05-02,61.2
+                2025-05-03,61.4
+                """);
+
+        User user = userService.getUserByUsername(username);
+        // 初期登録時の今日の記録 + 取り込んだ3日分
+        assertThat(adaptiveEnergyService.findState(user).orElseThrow().getWeightCount()).isEqualTo(4);
+    }
+
+    private WeightImportResult importCsv(String csv) {
+        return weightImportService.importCsv(username, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.ActivityLevel;
+import org.example.futoru.dto.EnergyModel;
+import org.example.futoru.entity.AdaptiveEnergyState;
+import org.example.futoru.entity.User;
+import org.example.futoru.repository.UserRepository;
+import org.example.futoru.repository.WeightLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 体重の記録（同じ日付は上書き）と、それに伴う適応型TDEE推定モデルの回帰状態の更新を検証するテスト。
+ */
+@SpringBootTest
+class WeightLogServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 3, 1);
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private WeightLogService weightLogService;
+
+    @Autowired
+    private AdaptiveEnergyService adaptiveEnergyService;
+
+    @Autowired
+    private WeightLogRepository weightLogRepository;
+
+    @Autowired
+    private TargetCalorieWorker targetCalorieWorker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        userService.registerUser(username, "password123");
+        userService.saveInitialProfile(username, 170.0, 60.0, 25, "MALE", ActivityLevel.MID);
+    }
+
+    @Test
+    void savingTheSameDateAgainOverwritesTheRecord() {
+        weightLogService.saveWeightLog(username, DATE, 61.0);
+        weightLogService.saveWeightLog(username, DATE, 61.0);
+        weightLogService.saveWeightLog(username, DATE, 62.5);
+
+        User user = userService.getUserByUsername(username);
+        assertThat(weightLogService.getWeightByDate(username, DATE)).isEqualTo(62.5);
+        // 初期登録時の今日の記録と、上書きした1件のみ
+        assertThat(weightLogRepository.findPointsByUserAndDateBetween(user, DATE, LocalDate.now())).hasSize(2);
+    }
+
+    @Test
+    void overwritingUnderAdaptiveModelReplacesThePreviousWeightInTheState() {
+        userService.updateProfile(username, 170.0, 25, "MALE", ActivityLevel.MID, EnergyModel.ADAPTIVE, null);
+
+        weightLogService.saveWeightLog(username, DATE, 61.0);
+        weightLogService.saveWeightLog(username, DATE, 63.0);
+        weightLogService.saveWeightLog(username, DATE, 63.0);
+
+        // 上書き時は更新前の体重との差分だけが加算され、作り直した場合と一致する
+        User user = userService.getUserByUsername(username);
+        AdaptiveEnergyState incremental = adaptiveEnergyService.findState(user).orElseThrow();
+        adaptiveEnergyService.reset(user);
+        AdaptiveEnergyState rebuilt = adaptiveEnergyService.findState(user).orElseThrow();
+
+        assertThat(incremental.getWeightCount()).isEqualTo(rebuilt.getWeightCount()).isEqualTo(2);
+        assertThat(incremental.getWeightSumY())
+                .isCloseTo(rebuilt.getWeightSumY(), within(rebuilt.getWeightSumY() * 1e-9));
+        assertThat(incremental.getWeightSumTy())
+                .isCloseTo(rebuilt.getWeightSumTy(), within(Math.abs(rebuilt.getWeightSumTy()) * 1e-9));
+    }
+
+    @Test
+    void recalculationClearsTheStaleRecordLeftByTheWeightUpdate() throws InterruptedException {
+        int before = userService.getUserByUsername(username).getTargetCalories();
+
+        weightLogService.saveWeightLog(username, LocalDate.now(), 70.0);
+        awaitRecalculated();
+
+        // テストのスレッドにはリクエスト単位のキャッシュがあるため、保存値はデータベースから読む
+        assertThat(userRepository.findByUsername(username).orElseThrow().getTargetCalories()).isGreaterThan(before);
+        assertThat(userService.findTargetCaloriesStaleUsernames()).doesNotContain(username);
+    }
+
+    @Test
+    void staleRecordSurvivesUntilRecalculated() {
+        // 再計算の前に停止した場合と同じく、記録だけが残った状態
+        userService.markTargetCaloriesStale(username);
+        assertThat(userService.findTargetCaloriesStaleUsernames()).contains(username);
+
+        userService.recalculateTargetCalories(username);
+
+        assertThat(userService.findTargetCaloriesStaleUsernames()).doesNotContain(username);
+    }
+
+    private void awaitRecalculated() throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (targetCalorieWorker.isPending(username)) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.futoru.service;
+
+import org.example.futoru.dto.WeightPointDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 体重推移の間引き（LTTB法）の点数・端点・ピークの扱いを検証する単体テスト。
+ */
+class WeightSeriesDownsamplerTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void seriesWithinMaxPointsIsReturnedAsIs() {
+        List<WeightPointDto> points = daily(120, i -> 60.0 + i * 0.01);
+
+        assertThat(WeightSeriesDownsampler.downsample(points, 120)).isSameAs(points);
+        assertThat(WeightSeriesDownsampler.downsample(points, 500)).isSameAs(points);
+    }
+
+    @Test
+    void maxPointsBelowThreeDisablesDownsampling() {
+        List<WeightPointDto> points = daily(10, i -> 60.0);
+
+        assertThat(WeightSeriesDownsampler.downsample(points, 2)).isSameAs(points);
+    }
+
+    @Test
+    void outputHasExactlyMaxPointsWithFirstAndLastKept() {
+        List<WeightPointDto> points = daily(1000, i -> 60.0 + Math.sin(i / 20.0));
+
+        for (int maxPoints : new int[]{3, 50, 120, 999}) {
+            List<WeightPointDto> sampled = WeightSeriesDownsampler.downsample(points, maxPoints);
+
+            assertThat(sampled).hasSize(maxPoints);
+            assertThat(sampled.getFirst()).isSameAs(points.getFirst());
+            assertThat(sampled.getLast()).isSameAs(points.getLast());
+            // 元の点から選ばれ、日付の昇順が保たれる
+            assertThat(points).containsAll(sampled);
+            assertThat(sampled).extracting(WeightPointDto::getDate).isSortedAccordingTo(LocalDate::compareTo)
+                    .doesNotHaveDuplicates();
+        }
+    }
+
+    @Test
+    void spikeIsKept() {
+        // ほぼ一定の体重の中に、1日だけ大きく増えた記録がある
+        List<WeightPointDto> points = daily(365, i -> i == 200 ? 65.0 : 60.0 + (i % 3) * 0.05);
+
+        List<WeightPointDto> sampled = WeightSeriesDownsampler.downsample(points, 30);
+
+        assertThat(sampled).contains(points.get(200));
+    }
+
+    /**
+     * 1日1件の体重データを生成する。
+     */
+    private static List<WeightPointDto> daily(int days, IntToDoubleFunction weight) {
+        List<WeightPointDto> points = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            points.add(new WeightPointDto(START.plusDays(i), weight.applyAsDouble(i)));
+        }
+        return points;
+    }
+}